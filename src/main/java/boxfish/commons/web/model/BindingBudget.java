@@ -0,0 +1,120 @@
+package boxfish.commons.web.model;
+
+import static java.lang.String.format;
+
+import boxfish.commons.web.model.BindingLimits.Limit;
+
+/**
+ * Tracks a single binding (a model and everything nested in it)
+ * against its {@link BindingLimits}, as the sanitizers walk the input.
+ * It's not thread-safe, as a binding happens in a single thread.
+ *
+ * @author Hudson Mendes
+ *
+ */
+public final class BindingBudget {
+    private final BindingLimits limits;
+    private int nodes;
+
+    BindingBudget(final BindingLimits limits) {
+        this.limits = limits;
+    }
+
+    /**
+     * Counts one more value being bound.
+     *
+     * @throws BindingLimitExceededException if there are too many values.
+     */
+    public void node() {
+        if (++nodes > limits.getMaxTotalNodes())
+            throw exceeded(Limit.TOTAL_NODES, format("The input has more than %d values.", limits.getMaxTotalNodes()));
+    }
+
+    /**
+     * Checks the depth of a model or list being bound.
+     *
+     * @param depth the depth, 1 being the bound model.
+     * @throws BindingLimitExceededException if it's nested too deep.
+     */
+    public void depth(final int depth) {
+        if (depth > limits.getMaxDepth())
+            throw exceeded(Limit.DEPTH, format("The input nests more than %d levels.", limits.getMaxDepth()));
+    }
+
+    /**
+     * Checks the number of fields of a model being bound.
+     *
+     * @param count the number of fields.
+     * @throws BindingLimitExceededException if there are too many fields.
+     */
+    public void fields(final int count) {
+        if (count > limits.getMaxFieldsPerModel())
+            throw exceeded(Limit.FIELDS_PER_MODEL, format("The input has a model with more than %d fields.", limits.getMaxFieldsPerModel()));
+    }
+
+    /**
+     * Checks the number of elements of a list being bound.
+     *
+     * @param count the number of elements.
+     * @throws BindingLimitExceededException if there are too many elements.
+     */
+    public void elements(final int count) {
+        if (count > limits.getMaxListElements())
+            throw exceeded(Limit.LIST_ELEMENTS, format("The input has a list with more than %d elements.", limits.getMaxListElements()));
+    }
+
+    /**
+     * Checks the UTF-8 length of a String being bound, only
+     * counting its bytes when its length alone can't tell.
+     *
+     * @param text the String (or field name).
+     * @throws BindingLimitExceededException if the String is too long.
+     */
+    public void string(final CharSequence text) {
+        final int maximum = limits.getMaxStringBytes();
+        final int length = text.length();
+        if (length <= maximum / 3)
+            return;
+
+        long bytes = length;
+        if (length <= maximum)
+            for (int i = 0; i < length && bytes <= maximum; i++) {
+                final char c = text.charAt(i);
+                if (c >= 0x800 && !Character.isSurrogate(c))
+                    bytes += 2;
+                else if (c >= 0x80)
+                    bytes += 1;
+            }
+
+        if (bytes > maximum)
+            throw exceeded(Limit.STRING_BYTES, format("The input has a String longer than %d bytes.", maximum));
+    }
+
+    /**
+     * Creates an empty model nested in the binding.
+     *
+     * @param depth the depth of the model.
+     * @return the model, which keeps binding within this budget.
+     */
+    public RestModel newRestModel(final int depth) {
+        return new RestModel().withinBudget(this, depth);
+    }
+
+    /**
+     * How many values have been bound so far.
+     *
+     * @return the number of values.
+     */
+    public int getNodes() {
+        return nodes;
+    }
+
+    BindingLimits getLimits() {
+        return limits;
+    }
+
+    private BindingLimitExceededException exceeded(final Limit limit, final String message) {
+        limits.reject(limit);
+        return new BindingLimitExceededException(limit, message);
+    }
+}
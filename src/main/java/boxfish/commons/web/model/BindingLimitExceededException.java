@@ -0,0 +1,30 @@
+package boxfish.commons.web.model;
+
+import boxfish.commons.web.model.BindingLimits.Limit;
+
+/**
+ * Thrown when the input being bound into a model goes beyond
+ * one of the limits set for the binding, which is then abandoned
+ * instead of being logged and skipped field by field.
+ *
+ * @author Hudson Mendes
+ *
+ */
+public class BindingLimitExceededException extends IllegalArgumentException {
+    private static final long serialVersionUID = 1L;
+    private final Limit limit;
+
+    public BindingLimitExceededException(final Limit limit, final String message) {
+        super(message);
+        this.limit = limit;
+    }
+
+    /**
+     * The limit that has been crossed.
+     *
+     * @return the limit.
+     */
+    public Limit getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,187 @@
+package boxfish.commons.web.model;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Immutable and thread-safe bounds of the input that can be bound
+ * into a model: how deep it can nest, how many fields a model and
+ * how many elements a list can have, how many values (nodes) it can
+ * have in total and how long its Strings can be (in UTF-8 bytes).
+ * They're enforced while the input is sanitized, failing as soon as
+ * a bound is crossed, and every such failure is counted.
+ *
+ * <pre>
+ * private static final BindingLimits LIMITS = bindingLimits()
+ *     .maxDepth(8)
+ *     .maxTotalNodes(10000)
+ *     .maxStringBytes(65536);
+ *
+ * final RestModel input = newRestModel().limitBindingTo(LIMITS);
+ * </pre>
+ *
+ * @author Hudson Mendes
+ *
+ */
+public final class BindingLimits {
+    private static final int UNLIMITED = Integer.MAX_VALUE;
+
+    /**
+     * The bounds that can be crossed while binding.
+     */
+    public enum Limit {
+        DEPTH,
+        FIELDS_PER_MODEL,
+        LIST_ELEMENTS,
+        TOTAL_NODES,
+        STRING_BYTES,
+        DISCARDED_FIELDS
+    }
+
+    /**
+     * Limits that don't bound anything yet.
+     *
+     * @return the limits.
+     */
+    public static BindingLimits bindingLimits() {
+        return new BindingLimits(UNLIMITED, UNLIMITED, UNLIMITED, UNLIMITED, UNLIMITED);
+    }
+
+    private final int maxDepth;
+    private final int maxFieldsPerModel;
+    private final int maxListElements;
+    private final int maxTotalNodes;
+    private final int maxStringBytes;
+    private final Map<Limit, LongAdder> rejections = new EnumMap<>(Limit.class);
+
+    private BindingLimits(
+            final int maxDepth,
+            final int maxFieldsPerModel,
+            final int maxListElements,
+            final int maxTotalNodes,
+            final int maxStringBytes) {
+        this.maxDepth = maxDepth;
+        this.maxFieldsPerModel = maxFieldsPerModel;
+        this.maxListElements = maxListElements;
+        this.maxTotalNodes = maxTotalNodes;
+        this.maxStringBytes = maxStringBytes;
+        for (final Limit limit : Limit.values())
+            rejections.put(limit, new LongAdder());
+    }
+
+    /**
+     * Limits like these, but bounding how many levels of nested
+     * models and lists there can be (the bound model is the first).
+     *
+     * @param maxDepth the maximum depth, at least 1.
+     * @return the new limits.
+     */
+    public BindingLimits maxDepth(final int maxDepth) {
+        if (maxDepth < 1)
+            throw new IllegalArgumentException("'maxDepth' must be at least 1.");
+
+        return new BindingLimits(maxDepth, maxFieldsPerModel, maxListElements, maxTotalNodes, maxStringBytes);
+    }
+
+    /**
+     * Limits like these, but bounding how many fields each model can have.
+     *
+     * @param maxFieldsPerModel the maximum of fields.
+     * @return the new limits.
+     */
+    public BindingLimits maxFieldsPerModel(final int maxFieldsPerModel) {
+        if (maxFieldsPerModel < 0)
+            throw new IllegalArgumentException("'maxFieldsPerModel' can't be negative.");
+
+        return new BindingLimits(maxDepth, maxFieldsPerModel, maxListElements, maxTotalNodes, maxStringBytes);
+    }
+
+    /**
+     * Limits like these, but bounding how many elements each list can have.
+     *
+     * @param maxListElements the maximum of elements.
+     * @return the new limits.
+     */
+    public BindingLimits maxListElements(final int maxListElements) {
+        if (maxListElements < 0)
+            throw new IllegalArgumentException("'maxListElements' can't be negative.");
+
+        return new BindingLimits(maxDepth, maxFieldsPerModel, maxListElements, maxTotalNodes, maxStringBytes);
+    }
+
+    /**
+     * Limits like these, but bounding how many values (including
+     * nested models and lists) can be bound into the model altogether.
+     *
+     * @param maxTotalNodes the maximum of values.
+     * @return the new limits.
+     */
+    public BindingLimits maxTotalNodes(final int maxTotalNodes) {
+        if (maxTotalNodes < 1)
+            throw new IllegalArgumentException("'maxTotalNodes' must be at least 1.");
+
+        return new BindingLimits(maxDepth, maxFieldsPerModel, maxListElements, maxTotalNodes, maxStringBytes);
+    }
+
+    /**
+     * Limits like these, but bounding the UTF-8 length of
+     * each String, including the field names.
+     *
+     * @param maxStringBytes the maximum of bytes.
+     * @return the new limits.
+     */
+    public BindingLimits maxStringBytes(final int maxStringBytes) {
+        if (maxStringBytes < 0)
+            throw new IllegalArgumentException("'maxStringBytes' can't be negative.");
+
+        return new BindingLimits(maxDepth, maxFieldsPerModel, maxListElements, maxTotalNodes, maxStringBytes);
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public int getMaxFieldsPerModel() {
+        return maxFieldsPerModel;
+    }
+
+    public int getMaxListElements() {
+        return maxListElements;
+    }
+
+    public int getMaxTotalNodes() {
+        return maxTotalNodes;
+    }
+
+    public int getMaxStringBytes() {
+        return maxStringBytes;
+    }
+
+    /**
+     * How many bindings have failed for crossing the limit (bindings
+     * of models that bindOnlyAccepted count their discarded fields too).
+     *
+     * @param limit the limit.
+     * @return the number of failed bindings.
+     */
+    public long rejections(final Limit limit) {
+        if (limit == null)
+            throw new IllegalArgumentException("'limit' can't be null.");
+
+        return rejections.get(limit).sum();
+    }
+
+    /**
+     * Starts tracking a new binding against these limits.
+     *
+     * @return the tracker of the binding.
+     */
+    BindingBudget newBudget() {
+        return new BindingBudget(this);
+    }
+
+    void reject(final Limit limit) {
+        rejections.get(limit).increment();
+    }
+}
@@ -0,0 +1,52 @@
+package boxfish.commons.web.model;
+
+import static java.lang.String.format;
+
+import boxfish.commons.web.model.BindingLimits.Limit;
+
+/**
+ * Tally of the fields discarded (for not being accepted) while
+ * binding an input into a model and its nested models, which
+ * stops the binding once more fields than allowed are discarded.
+ *
+ * @author Hudson Mendes
+ *
+ */
+final class DiscardedFields {
+    private final int maximum;
+    private int count;
+
+    DiscardedFields(final int maximum) {
+        if (maximum < 0)
+            throw new IllegalArgumentException("'maximum' can't be negative.");
+
+        this.maximum = maximum;
+    }
+
+    /**
+     * Records the field as discarded.
+     *
+     * @param field the normalised name of the field.
+     * @param limits the limits of the binding, counting the rejection if
+     *        too many fields are discarded, or null if it has no limits.
+     * @throws BindingLimitExceededException if more fields than allowed have been discarded.
+     */
+    void discard(final String field, final BindingLimits limits) {
+        if (++count > maximum) {
+            if (limits != null)
+                limits.reject(Limit.DISCARDED_FIELDS);
+            throw new BindingLimitExceededException(Limit.DISCARDED_FIELDS, format(
+                "The input has more than %d fields that are not accepted ('%s' was the last one).",
+                maximum,
+                field));
+        }
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    int getMaximum() {
+        return maximum;
+    }
+}
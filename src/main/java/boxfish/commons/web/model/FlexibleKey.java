@@ -11,13 +11,11 @@ package boxfish.commons.web.model;
  * @author Thiago Neves
  *
  */
-class FlexibleKey {
+public class FlexibleKey {
 
     private final String field;
 
-    private static final String SPECIAL_CHARACTERS = "[^\\w\\d]";
-    private static final String SNAKE_CASE = "(?<!(^|[A-Z]))(?=[A-Z])|(?<!^)(?=[A-Z][a-z])|(?<=[a-zA-‌​Z])(?=[0-9])";
-    private static final String MULTIPLE_UNDERSCORES = "_+";
+    private static final char UNDERSCORE = '_';
 
     /**
      * Constructs the key with a key using any case
@@ -37,7 +35,7 @@ class FlexibleKey {
      */
     public String build() {
         assertRequirements();
-        return treat(this.field);
+        return FlexibleKeyCache.sharedCache().normalize(this.field, FlexibleKey::treat);
     }
 
     private void assertRequirements() throws IllegalAccessError {
@@ -45,13 +43,64 @@ class FlexibleKey {
             throw new IllegalAccessError("The 'field' can't be null");
     }
 
-    private String treat(final String field) {
-        return field
-            .replaceAll(SPECIAL_CHARACTERS, "_")
-            .replaceAll(SNAKE_CASE, "_$0")
-            .replaceAll(MULTIPLE_UNDERSCORES, "_")
-            .toLowerCase();
+    /**
+     * Single pass translation of the field name into snake_case:
+     * every character that is not a letter, a digit or an underscore
+     * becomes an underscore; an underscore is inserted before an
+     * uppercase letter that follows a non uppercase character or that
+     * starts a capitalised word (keeping acronyms together), and before
+     * a digit that follows a letter; sequences of underscores collapse
+     * into one and letters are lowercased.
+     */
+    private static String treat(final String field) {
+        final int length = field.length();
+        final char[] treated = new char[length * 2];
+        int size = 0;
+
+        char previous = 0;
+        char current = wordCharacterOf(field.charAt(0));
+        for (int i = 0; i < length; i++) {
+            final char next = i + 1 < length ? wordCharacterOf(field.charAt(i + 1)) : 0;
+
+            if (i > 0 && startsNewWord(previous, current, next) && treated[size - 1] != UNDERSCORE)
+                treated[size++] = UNDERSCORE;
+
+            if (current != UNDERSCORE || size == 0 || treated[size - 1] != UNDERSCORE)
+                treated[size++] = isUpperCase(current) ? (char) (current + ('a' - 'A')) : current;
+
+            previous = current;
+            current = next;
+        }
+
+        return new String(treated, 0, size);
+    }
+
+    private static boolean startsNewWord(final char previous, final char current, final char next) {
+        if (isUpperCase(current))
+            return !isUpperCase(previous) || isLowerCase(next);
+
+        if (isDigit(current))
+            return isUpperCase(previous) || isLowerCase(previous) || previous == UNDERSCORE;
+
+        return false;
+    }
+
+    private static char wordCharacterOf(final char character) {
+        if (isUpperCase(character) || isLowerCase(character) || isDigit(character))
+            return character;
+        return UNDERSCORE;
+    }
+
+    private static boolean isUpperCase(final char character) {
+        return character >= 'A' && character <= 'Z';
+    }
+
+    private static boolean isLowerCase(final char character) {
+        return character >= 'a' && character <= 'z';
+    }
 
+    private static boolean isDigit(final char character) {
+        return character >= '0' && character <= '9';
     }
 
 }
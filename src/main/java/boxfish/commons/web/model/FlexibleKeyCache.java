@@ -0,0 +1,227 @@
+package boxfish.commons.web.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded and thread-safe memory of the field names already
+ * normalised by the {@link FlexibleKey}. Request bindings keep
+ * on asking for the same handful of field names, so remembering
+ * their canonical snake_case translation avoids running the
+ * normalisation over and over again. The names are spread over
+ * a few segments, each one with its own lock and its share of the
+ * maximum size, so threads looking up different names rarely wait
+ * on each other; the eviction policy is then applied per segment.
+ *
+ * @author Hudson Mendes
+ *
+ */
+public final class FlexibleKeyCache {
+    public static final int DEFAULT_MAXIMUM_SIZE = 4096;
+    private static final int MAXIMUM_SEGMENTS = 16;
+    private static final int MINIMUM_SEGMENT_SIZE = 64;
+    private static volatile FlexibleKeyCache shared = new FlexibleKeyCache(
+        DEFAULT_MAXIMUM_SIZE,
+        Eviction.LEAST_RECENTLY_USED);
+
+    /**
+     * The policy used to choose which field name is forgotten
+     * once the cache reaches its maximum size.
+     */
+    public enum Eviction {
+        /**
+         * Forgets the field name that was used the longest time ago.
+         */
+        LEAST_RECENTLY_USED,
+
+        /**
+         * Forgets the field name that was remembered first.
+         */
+        FIRST_IN_FIRST_OUT
+    }
+
+    /**
+     * The cache used by every {@link RestModel} to normalise field names.
+     *
+     * @return the shared cache.
+     */
+    public static FlexibleKeyCache sharedCache() {
+        return shared;
+    }
+
+    /**
+     * Replaces the shared cache by a new one with the given size
+     * and eviction policy. Field names remembered so far are forgotten.
+     *
+     * @param maximumSize how many field names can be remembered. Zero disables the cache.
+     * @param eviction the policy used to forget field names once full.
+     */
+    public static void configure(final int maximumSize, final Eviction eviction) {
+        shared = new FlexibleKeyCache(maximumSize, eviction);
+    }
+
+    private final int maximumSize;
+    private final Eviction eviction;
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructs an independent cache, not used by the {@link RestModel}
+     * unless installed through {@link #configure(int, Eviction)}.
+     *
+     * @param maximumSize how many field names can be remembered. Zero disables the cache.
+     * @param eviction the policy used to forget field names once full.
+     */
+    public FlexibleKeyCache(final int maximumSize, final Eviction eviction) {
+        if (maximumSize < 0)
+            throw new IllegalArgumentException("'maximumSize' can't be negative.");
+
+        if (eviction == null)
+            throw new IllegalArgumentException("'eviction' can't be null.");
+
+        this.maximumSize = maximumSize;
+        this.eviction = eviction;
+        int count = 1;
+        while (count < MAXIMUM_SEGMENTS && maximumSize / (count * 2) >= MINIMUM_SEGMENT_SIZE)
+            count *= 2;
+
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++)
+            segments[i] = new Segment(maximumSize / count + (i < maximumSize % count ? 1 : 0));
+    }
+
+    /**
+     * Returns the remembered translation of the field name, or
+     * translates and remembers it in case it's unknown.
+     *
+     * @param field the field name with any case.
+     * @param translation the normalisation applied on unknown field names.
+     * @return the canonical field name with snake_case.
+     */
+    String normalize(final String field, final Function<String, String> translation) {
+        if (maximumSize == 0) {
+            misses.increment();
+            return translation.apply(field);
+        }
+
+        final Segment segment = segmentOf(field);
+        String key;
+        synchronized (segment) {
+            key = segment.get(field);
+        }
+
+        if (key != null) {
+            hits.increment();
+            return key;
+        }
+
+        misses.increment();
+        key = translation.apply(field);
+        synchronized (segment) {
+            segment.put(field, key);
+        }
+        return key;
+    }
+
+    /**
+     * How many field names were found already normalised.
+     *
+     * @return the number of cache hits.
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * How many field names had to be normalised.
+     *
+     * @return the number of cache misses.
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * How many field names were forgotten to respect the maximum size.
+     *
+     * @return the number of evictions.
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * How many field names are currently remembered.
+     *
+     * @return the size of the cache.
+     */
+    public int size() {
+        int size = 0;
+        for (final Segment segment : segments)
+            synchronized (segment) {
+                size += segment.size();
+            }
+        return size;
+    }
+
+    /**
+     * How many field names can be remembered.
+     *
+     * @return the maximum size of the cache.
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * The policy used to forget field names once full.
+     *
+     * @return the eviction policy.
+     */
+    public Eviction getEviction() {
+        return eviction;
+    }
+
+    /**
+     * Forgets every field name and resets the counters.
+     */
+    public void clear() {
+        for (final Segment segment : segments)
+            synchronized (segment) {
+                segment.clear();
+            }
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    private Segment segmentOf(final String field) {
+        final int hash = field.hashCode();
+        return segments[(hash ^ hash >>> 16) & segments.length - 1];
+    }
+
+    /**
+     * The field names of one segment, guarded by the segment itself.
+     */
+    private final class Segment extends LinkedHashMap<String, String> {
+        private static final long serialVersionUID = 1L;
+        private final int maximumSize;
+
+        private Segment(final int maximumSize) {
+            super(16, 0.75f, Eviction.LEAST_RECENTLY_USED.equals(eviction));
+            this.maximumSize = maximumSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, String> eldest) {
+            final boolean full = size() > maximumSize;
+            if (full)
+                evictions.increment();
+            return full;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package boxfish.commons.web.model;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Collections.unmodifiableSet;
+
+import java.lang.reflect.Array;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of a RestModel (see {@link RestModel#freeze()}),
+ * holding only its accepted fields: their values or, when they have
+ * none, their baseline values. Nested models are frozen as well; other
+ * Maps, Sets and Lists are copied into unmodifiable ones; and arrays
+ * are copied into unmodifiable Lists, so nothing the snapshot holds can
+ * change, even through the values it's been frozen from. The fields are kept in arrays, indexed
+ * by an open addressing table, and the hash code is computed once.
+ *
+ * As every field is final and never changes after construction,
+ * it can be shared by many threads without copies or locks.
+ *
+ * @author Hudson Mendes
+ *
+ */
+public final class FrozenRestModel extends AbstractMap<String, Object> {
+    private final String[] keys;
+    private final Object[] values;
+    private final int[] slots;
+    private final int hash;
+
+    FrozenRestModel(final RestModel model) {
+        final Map<String, Object> data = model.getData();
+        final Map<String, Object> baseline = model.getBaseline();
+        final List<String> accepted = new ArrayList<>(data.size() + baseline.size());
+        final List<Object> frozen = new ArrayList<>(data.size() + baseline.size());
+        data.forEach((key, value) -> {
+            if (model.isAcceptedKey(key)) {
+                accepted.add(key);
+                frozen.add(frozen(value));
+            }
+        });
+        baseline.forEach((key, value) -> {
+            if (!data.containsKey(key) && model.isAcceptedKey(key)) {
+                accepted.add(key);
+                frozen.add(frozen(value));
+            }
+        });
+
+        this.keys = accepted.toArray(new String[accepted.size()]);
+        this.values = frozen.toArray();
+        this.slots = new int[Integer.highestOneBit(Math.max(1, keys.length) * 2) * 2];
+        int hash = 0;
+        for (int i = 0; i < keys.length; i++) {
+            int slot = keys[i].hashCode() & slots.length - 1;
+            while (slots[slot] != 0)
+                slot = slot + 1 & slots.length - 1;
+            slots[slot] = i + 1;
+            hash += keys[i].hashCode() ^ Objects.hashCode(values[i]);
+        }
+        this.hash = hash;
+    }
+
+    /**
+     * The wrapped value of the field (as RestModel does).
+     *
+     * @param field the field you want to retrieve.
+     * @return the wrapped RestValue.
+     */
+    public RestValue get(final String field) {
+        final int index = indexOf(RestModel.key(field));
+        return new RestValue(index < 0 ? null : values[index]);
+    }
+
+    /**
+     * The wrapped value of the field (as RestModel does).
+     *
+     * @param field the field you want to retrieve.
+     * @return the wrapped RestValue.
+     */
+    public RestValue value(final String field) {
+        return get(field);
+    }
+
+    /**
+     * The wrapped value of a field, but boxed into Object.
+     */
+    @Override
+    public Object get(final Object field) {
+        if (field == null)
+            throw new IllegalArgumentException("'field' can't be null");
+
+        return get(String.valueOf(field));
+    }
+
+    /**
+     * The nested frozen model of the field, which (unlike
+     * get(field).asModel()) is shared rather than copied.
+     *
+     * @param field the field you want to retrieve.
+     * @return the nested model, or null if the value isn't a model.
+     */
+    public FrozenRestModel modelOf(final String field) {
+        final int index = indexOf(RestModel.key(field));
+        return index >= 0 && values[index] instanceof FrozenRestModel
+                ? (FrozenRestModel) values[index]
+                : null;
+    }
+
+    /**
+     * Replies if the field was accepted (and has a value or baseline).
+     *
+     * @param fieldName the name of the field which is being verified.
+     * @return true if the field is part of the snapshot, false otherwise.
+     */
+    public boolean isAccepted(final String fieldName) {
+        return indexOf(RestModel.key(fieldName)) >= 0;
+    }
+
+    /**
+     * A new (mutable) model with the fields and values
+     * of the snapshot, in which only those fields are permitted.
+     *
+     * @return the new model.
+     */
+    public RestModel thaw() {
+        final RestModel model = new RestModel(
+            new LinkedHashSet<>(Arrays.asList(keys)),
+            new LinkedHashSet<>(),
+            new LinkedHashMap<>(),
+            false);
+        for (int i = 0; i < keys.length; i++)
+            model.putSanitized(keys[i], thawed(values[i]));
+        return model;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return key != null && indexOf(RestModel.key(String.valueOf(key))) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        return new Entries();
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other)
+            return true;
+        if (!(other instanceof Map))
+            return false;
+        if (other instanceof FrozenRestModel && ((FrozenRestModel) other).hash != hash)
+            return false;
+
+        return entrySet().equals(((Map<?, ?>) other).entrySet());
+    }
+
+    String keyAt(final int index) {
+        return keys[index];
+    }
+
+    Object valueAt(final int index) {
+        return values[index];
+    }
+
+    private int indexOf(final String treated) {
+        int slot = treated.hashCode() & slots.length - 1;
+        while (slots[slot] != 0) {
+            final int index = slots[slot] - 1;
+            if (keys[index].equals(treated))
+                return index;
+            slot = slot + 1 & slots.length - 1;
+        }
+        return -1;
+    }
+
+    private static Object frozen(final Object value) {
+        if (value instanceof RestModel)
+            return ((RestModel) value).freeze();
+
+        if (value instanceof FrozenRestModel)
+            return value;
+
+        if (value instanceof Map) {
+            final Map<Object, Object> frozen = new LinkedHashMap<>();
+            ((Map<?, ?>) value).forEach((k, v) -> frozen.put(k, frozen(v)));
+            return unmodifiableMap(frozen);
+        }
+
+        if (value instanceof Set) {
+            final Set<Object> frozen = new LinkedHashSet<>();
+            for (final Object item : (Set<?>) value)
+                frozen.add(frozen(item));
+            return unmodifiableSet(frozen);
+        }
+
+        if (value instanceof Collection) {
+            final Object[] frozen = ((Collection<?>) value).toArray();
+            for (int i = 0; i < frozen.length; i++)
+                frozen[i] = frozen(frozen[i]);
+            return unmodifiableList(Arrays.asList(frozen));
+        }
+
+        if (value != null && value.getClass().isArray()) {
+            final Object[] frozen = new Object[Array.getLength(value)];
+            for (int i = 0; i < frozen.length; i++)
+                frozen[i] = frozen(Array.get(value, i));
+            return unmodifiableList(Arrays.asList(frozen));
+        }
+
+        return value;
+    }
+
+    private static Object thawed(final Object value) {
+        if (value instanceof FrozenRestModel)
+            return ((FrozenRestModel) value).thaw();
+
+        if (value instanceof Map) {
+            final Map<Object, Object> thawed = new LinkedHashMap<>();
+            ((Map<?, ?>) value).forEach((k, v) -> thawed.put(k, thawed(v)));
+            return thawed;
+        }
+
+        if (value instanceof Set) {
+            final Set<Object> thawed = new LinkedHashSet<>();
+            for (final Object item : (Set<?>) value)
+                thawed.add(thawed(item));
+            return thawed;
+        }
+
+        if (value instanceof List) {
+            final List<Object> items = new ArrayList<>(((List<?>) value).size());
+            for (final Object item : (List<?>) value)
+                items.add(thawed(item));
+            return items;
+        }
+
+        return value;
+    }
+
+    /**
+     * The fields and their (unwrapped) values, in the order they were bound.
+     */
+    private final class Entries extends AbstractSet<Map.Entry<String, Object>> {
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            return new Iterator<Map.Entry<String, Object>>() {
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return next < keys.length;
+                }
+
+                @Override
+                public Map.Entry<String, Object> next() {
+                    if (next >= keys.length)
+                        throw new NoSuchElementException();
+                    final int index = next++;
+                    return new SimpleImmutableEntry<>(keys[index], values[index]);
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(final Object other) {
+            if (!(other instanceof Map.Entry))
+                return false;
+
+            final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) other;
+            if (!(entry.getKey() instanceof String))
+                return false;
+
+            final int index = indexOf((String) entry.getKey());
+            return index >= 0 && Objects.equals(values[index], entry.getValue());
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+    }
+}
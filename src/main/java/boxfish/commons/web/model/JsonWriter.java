@@ -0,0 +1,459 @@
+package boxfish.commons.web.model;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import boxfish.commons.web.model.validation.ModelError;
+
+/**
+ * Single pass, streaming JSON writer of RestModel, RestValue and
+ * ModelErrors trees, which walks them without building intermediate
+ * collections. Models are written with their accepted fields only,
+ * followed by the baseline values of the accepted fields they lack.
+ * Maps become objects; Iterables (as ModelErrors) and arrays become
+ * arrays; ModelError becomes {"fieldName":..., "errorMessage":...};
+ * non finite numbers become null and other values become Strings.
+ * Text is written as UTF-8 to streams and buffers.
+ *
+ * @author Hudson Mendes
+ *
+ */
+public final class JsonWriter {
+    private static final int BUFFER_SIZE = 8192;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * Writes the value as JSON into a String.
+     *
+     * @param value the value.
+     * @return the JSON text.
+     */
+    public static String toJson(final Object value) {
+        final StringWriter json = new StringWriter();
+        try {
+            writeJson(value, json);
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return json.toString();
+    }
+
+    /**
+     * Writes the value as JSON to the Writer, which is neither flushed nor closed.
+     *
+     * @param value the value.
+     * @param json the writer of the JSON text.
+     * @throws IOException whenever we fail to write.
+     */
+    public static void writeJson(final Object value, final Writer json) throws IOException {
+        if (json == null)
+            throw new IllegalArgumentException("'json' can't be null.");
+
+        new JsonWriter(new CharOutput(json)).write(value);
+    }
+
+    /**
+     * Writes the value as UTF-8 JSON to the OutputStream, which is neither flushed nor closed.
+     *
+     * @param value the value.
+     * @param json the stream of the JSON text.
+     * @throws IOException whenever we fail to write.
+     */
+    public static void writeJson(final Object value, final OutputStream json) throws IOException {
+        if (json == null)
+            throw new IllegalArgumentException("'json' can't be null.");
+
+        new JsonWriter(new StreamOutput(json)).write(value);
+    }
+
+    /**
+     * Writes the value as UTF-8 JSON into the ByteBuffer, from its position on.
+     *
+     * @param value the value.
+     * @param json the buffer of the JSON text.
+     * @throws BufferOverflowException if the JSON doesn't fit the buffer.
+     */
+    public static void writeJson(final Object value, final ByteBuffer json) {
+        if (json == null)
+            throw new IllegalArgumentException("'json' can't be null.");
+
+        try {
+            new JsonWriter(new BufferOutput(json)).write(value);
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private final Output output;
+    private final char[] digits = new char[20];
+
+    private JsonWriter(final Output output) {
+        this.output = output;
+    }
+
+    private void write(final Object value) throws IOException {
+        writeValue(value);
+        output.finish();
+    }
+
+    private void writeValue(final Object value) throws IOException {
+        if (value == null)
+            output.write("null");
+        else if (value instanceof CharSequence)
+            writeString((CharSequence) value);
+        else if (value instanceof Boolean)
+            output.write(((Boolean) value) ? "true" : "false");
+        else if (value instanceof Number)
+            writeNumber((Number) value);
+        else if (value instanceof RestModel)
+            writeModel((RestModel) value);
+        else if (value instanceof FrozenRestModel)
+            writeFrozen((FrozenRestModel) value);
+        else if (value instanceof RestValue)
+            writeValue(((RestValue) value).asOriginal());
+        else if (value instanceof Map)
+            writeMap((Map<?, ?>) value);
+        else if (value instanceof Iterable)
+            writeIterable((Iterable<?>) value);
+        else if (value instanceof ModelError)
+            writeError((ModelError) value);
+        else if (value.getClass().isArray())
+            writeArray(value);
+        else if (value instanceof Enum)
+            writeString(((Enum<?>) value).name());
+        else
+            writeString(value.toString());
+    }
+
+    private void writeModel(final RestModel model) throws IOException {
+        final Map<String, Object> data = model.getData();
+        boolean first = true;
+        output.write('{');
+        for (final Map.Entry<String, Object> entry : data.entrySet())
+            if (model.isAcceptedKey(entry.getKey()))
+                first = writeField(first, entry.getKey(), entry.getValue());
+        for (final Map.Entry<String, Object> entry : model.getBaseline().entrySet())
+            if (!data.containsKey(entry.getKey()) && model.isAcceptedKey(entry.getKey()))
+                first = writeField(first, entry.getKey(), entry.getValue());
+        output.write('}');
+    }
+
+    private void writeFrozen(final FrozenRestModel model) throws IOException {
+        final int size = model.size();
+        output.write('{');
+        for (int i = 0; i < size; i++)
+            writeField(i == 0, model.keyAt(i), model.valueAt(i));
+        output.write('}');
+    }
+
+    private void writeMap(final Map<?, ?> map) throws IOException {
+        boolean first = true;
+        output.write('{');
+        for (final Map.Entry<?, ?> entry : map.entrySet())
+            first = writeField(first, String.valueOf(entry.getKey()), entry.getValue());
+        output.write('}');
+    }
+
+    private void writeError(final ModelError error) throws IOException {
+        output.write('{');
+        writeField(true, "fieldName", error.getFieldName());
+        writeField(false, "errorMessage", error.getErrorMessage());
+        output.write('}');
+    }
+
+    private boolean writeField(final boolean first, final String name, final Object value) throws IOException {
+        if (!first)
+            output.write(',');
+        writeString(name);
+        output.write(':');
+        writeValue(value);
+        return false;
+    }
+
+    private void writeIterable(final Iterable<?> items) throws IOException {
+        boolean first = true;
+        output.write('[');
+        for (final Object item : items) {
+            if (!first)
+                output.write(',');
+            writeValue(item);
+            first = false;
+        }
+        output.write(']');
+    }
+
+    private void writeArray(final Object array) throws IOException {
+        final int length = Array.getLength(array);
+        output.write('[');
+        for (int i = 0; i < length; i++) {
+            if (i > 0)
+                output.write(',');
+            writeValue(Array.get(array, i));
+        }
+        output.write(']');
+    }
+
+    private void writeNumber(final Number number) throws IOException {
+        if (number instanceof Long
+            || number instanceof Integer
+            || number instanceof Short
+            || number instanceof Byte
+            || number instanceof AtomicLong
+            || number instanceof AtomicInteger)
+            writeLong(number.longValue());
+        else if (number instanceof BigDecimal)
+            output.write(((BigDecimal) number).toString());
+        else if (number instanceof BigInteger)
+            output.write(number.toString());
+        else {
+            final double value = number.doubleValue();
+            if (Double.isNaN(value) || Double.isInfinite(value))
+                output.write("null");
+            else
+                output.write(number.toString());
+        }
+    }
+
+    /**
+     * Writes the digits without creating a String for them.
+     */
+    private void writeLong(final long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            output.write(Long.toString(value));
+            return;
+        }
+
+        long remaining = Math.abs(value);
+        int start = digits.length;
+        do {
+            digits[--start] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        while (remaining > 0);
+        if (value < 0)
+            digits[--start] = '-';
+        output.write(digits, start, digits.length);
+    }
+
+    /**
+     * Writes the text quoted, escaping quotes, backslashes and
+     * control characters, and copying the runs in between at once.
+     */
+    private void writeString(final CharSequence text) throws IOException {
+        final int length = text.length();
+        int run = 0;
+        output.write('"');
+        for (int i = 0; i < length; i++) {
+            final char c = text.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\')
+                continue;
+
+            output.write(text, run, i);
+            run = i + 1;
+            output.write('\\');
+            switch (c) {
+                case '"':
+                case '\\':
+                    output.write(c);
+                    break;
+                case '\n':
+                    output.write('n');
+                    break;
+                case '\r':
+                    output.write('r');
+                    break;
+                case '\t':
+                    output.write('t');
+                    break;
+                case '\b':
+                    output.write('b');
+                    break;
+                case '\f':
+                    output.write('f');
+                    break;
+                default:
+                    output.write("u00");
+                    output.write(HEX[c >> 4]);
+                    output.write(HEX[c & 0xF]);
+            }
+        }
+        output.write(text, run, length);
+        output.write('"');
+    }
+
+    /**
+     * Where the JSON text is written to.
+     */
+    private abstract static class Output {
+        abstract void write(char c) throws IOException;
+
+        void write(final CharSequence text) throws IOException {
+            write(text, 0, text.length());
+        }
+
+        void write(final CharSequence text, final int from, final int to) throws IOException {
+            for (int i = from; i < to; i++)
+                write(text.charAt(i));
+        }
+
+        void write(final char[] text, final int from, final int to) throws IOException {
+            for (int i = from; i < to; i++)
+                write(text[i]);
+        }
+
+        abstract void finish() throws IOException;
+    }
+
+    /**
+     * Buffers the characters before handing them to the Writer.
+     */
+    private static final class CharOutput extends Output {
+        private final Writer writer;
+        private final char[] buffer = new char[BUFFER_SIZE];
+        private int position;
+
+        private CharOutput(final Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        void write(final char c) throws IOException {
+            if (position == buffer.length)
+                finish();
+            buffer[position++] = c;
+        }
+
+        @Override
+        void write(final CharSequence text, final int from, final int to) throws IOException {
+            if (to - from > buffer.length - position) {
+                finish();
+                if (to - from > buffer.length) {
+                    writer.append(text, from, to);
+                    return;
+                }
+            }
+
+            if (text instanceof String)
+                ((String) text).getChars(from, to, buffer, position);
+            else
+                for (int i = from; i < to; i++)
+                    buffer[position + i - from] = text.charAt(i);
+            position += to - from;
+        }
+
+        @Override
+        void finish() throws IOException {
+            writer.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    /**
+     * Encodes the characters as UTF-8, replacing
+     * unpaired surrogates with question marks.
+     */
+    private abstract static class Utf8Output extends Output {
+        private char highSurrogate;
+
+        @Override
+        final void write(final char c) throws IOException {
+            if (highSurrogate != 0) {
+                final char high = highSurrogate;
+                highSurrogate = 0;
+                if (Character.isLowSurrogate(c)) {
+                    final int codePoint = Character.toCodePoint(high, c);
+                    write((byte) (0xF0 | codePoint >> 18));
+                    write((byte) (0x80 | codePoint >> 12 & 0x3F));
+                    write((byte) (0x80 | codePoint >> 6 & 0x3F));
+                    write((byte) (0x80 | codePoint & 0x3F));
+                    return;
+                }
+                write((byte) '?');
+            }
+
+            if (c < 0x80)
+                write((byte) c);
+            else if (c < 0x800) {
+                write((byte) (0xC0 | c >> 6));
+                write((byte) (0x80 | c & 0x3F));
+            }
+            else if (Character.isHighSurrogate(c))
+                highSurrogate = c;
+            else if (Character.isLowSurrogate(c))
+                write((byte) '?');
+            else {
+                write((byte) (0xE0 | c >> 12));
+                write((byte) (0x80 | c >> 6 & 0x3F));
+                write((byte) (0x80 | c & 0x3F));
+            }
+        }
+
+        @Override
+        void finish() throws IOException {
+            if (highSurrogate != 0) {
+                highSurrogate = 0;
+                write((byte) '?');
+            }
+        }
+
+        abstract void write(byte b) throws IOException;
+    }
+
+    /**
+     * Buffers the UTF-8 bytes before handing them to the OutputStream.
+     */
+    private static final class StreamOutput extends Utf8Output {
+        private final OutputStream stream;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+
+        private StreamOutput(final OutputStream stream) {
+            this.stream = stream;
+        }
+
+        @Override
+        void write(final byte b) throws IOException {
+            if (position == buffer.length) {
+                stream.write(buffer, 0, position);
+                position = 0;
+            }
+            buffer[position++] = b;
+        }
+
+        @Override
+        void finish() throws IOException {
+            super.finish();
+            stream.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    /**
+     * Puts the UTF-8 bytes straight into the ByteBuffer.
+     */
+    private static final class BufferOutput extends Utf8Output {
+        private final ByteBuffer buffer;
+
+        private BufferOutput(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        void write(final byte b) {
+            buffer.put(b);
+        }
+    }
+}
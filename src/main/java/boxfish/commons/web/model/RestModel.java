@@ -7,7 +7,9 @@ import static java.util.stream.Collectors.joining;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -21,6 +23,8 @@ import boxfish.commons.web.model.validation.ConditionCheck;
 import boxfish.commons.web.model.validation.ConditionFactory;
 import boxfish.commons.web.model.validation.ModelErrors;
 import boxfish.commons.web.model.validation.ModelValidator;
+import boxfish.commons.web.model.validation.ParallelValidation;
+import boxfish.commons.web.model.validation.ValidationCache;
 import boxfish.commons.web.model.validation.ValidationListener;
 import boxfish.commons.web.model.validation.ValidationOfChildListener;
 import boxfish.commons.web.model.validation.Validator;
@@ -64,13 +68,75 @@ public class RestModel implements Map<String, Object> {
         return created;
     }
 
-    private final List<String> permitteds = new ArrayList<>();
-    private final List<String> requireds = new ArrayList<>();
+    private Set<String> permitteds = new LinkedHashSet<>();
+    private Set<String> requireds = new LinkedHashSet<>();
     private final Map<String, Object> data = new LinkedHashMap<>();
-    private final Map<String, Object> baseline = new LinkedHashMap<>();
-    private final Map<String, List<Validator>> rules = new ConcurrentHashMap<>();
-    private final Map<String, List<Validator>> childreenRules = new ConcurrentHashMap<>();
+    private Map<String, Object> baseline = new LinkedHashMap<>();
+    private Map<String, List<Validator>> rules = new ConcurrentHashMap<>();
+    private Map<String, List<Validator>> childreenRules = new ConcurrentHashMap<>();
     private boolean permitAll = false;
+    private boolean sharingDeclarations = false;
+    private boolean sanitizingLazily = false;
+    private Set<String> unsanitized;
+    private DiscardedFields discarded;
+    private BindingBudget budget;
+    private int bindingDepth;
+    private ParallelValidation parallelValidation;
+    private ModelValidator validator;
+    private ValidationCache validationCache;
+
+    /**
+     * Constructs an empty model without any declaration.
+     */
+    public RestModel() {}
+
+    /**
+     * Constructs the model sharing the (immutable) declarations
+     * of the schema, which are only copied if this model is
+     * further permitted, required, baselined or ruled.
+     *
+     * @param schema the compiled declarations.
+     * @param discarded the tally of discarded fields, or null to bind every field.
+     * @param budget the tracker of the binding limits, or null to bind without limits.
+     * @param depth the depth of the model in the binding.
+     */
+    RestModel(
+            final RestModelSchema schema,
+            final DiscardedFields discarded,
+            final BindingBudget budget,
+            final int depth) {
+        this.discarded = discarded;
+        this.budget = budget;
+        this.bindingDepth = depth;
+        this.permitteds = schema.getPermitteds();
+        this.requireds = schema.getRequireds();
+        this.baseline = schema.getBaseline();
+        this.rules = schema.getRules();
+        this.childreenRules = schema.getChildreenRules();
+        this.permitAll = schema.isPermitAll();
+        this.parallelValidation = schema.getParallelValidation();
+        this.sharingDeclarations = true;
+    }
+
+    /**
+     * Constructs an empty model with the given (already
+     * normalised) declarations, as restored from a snapshot.
+     *
+     * @param permitteds the permitted fields.
+     * @param requireds the required fields.
+     * @param baseline the baseline values.
+     * @param permitAll whether every field is permitted.
+     */
+    RestModel(
+            final Set<String> permitteds,
+            final Set<String> requireds,
+            final Map<String, Object> baseline,
+            final boolean permitAll) {
+        this.permitteds = permitteds;
+        this.requireds = requireds;
+        this.baseline = baseline;
+        this.permitAll = permitAll;
+    }
 
     /**
      * Permit a field_name to ever be retrieved.
@@ -81,6 +147,7 @@ public class RestModel implements Map<String, Object> {
      * @return self
      */
     public RestModel permit(final String... fields) {
+        changingDeclarations();
         if (fields != null && fields.length != 0)
             for (final String field : fields) {
                 final List<String> fieldAndSubFields = asList(field.split(FIELD_LEVEL_SEPARATOR));
@@ -88,16 +155,14 @@ public class RestModel implements Map<String, Object> {
                 if (!fieldAndSubFields.isEmpty()) {
                     final String fieldOfThisLevel = fieldAndSubFields.get(0);
 
-                    final String treated = key(fieldOfThisLevel);
-                    if (!permitteds.contains(treated))
-                        permitteds.add(treated);
+                    permitteds.add(key(fieldOfThisLevel));
 
                     if (fieldAndSubFields.size() > 1) {
                         final String fieldOfDownwardLevels = fieldAndSubFields.stream().skip(1).collect(joining(FIELD_LEVEL_SEPARATOR));
                         RestValue nextLevelValue = get(fieldOfThisLevel);
                         if (nextLevelValue.isNull()) {
                             nextLevelValue = new RestValue(RestModel.newRestModel());
-                            value(fieldOfThisLevel, nextLevelValue);
+                            value(fieldOfThisLevel, nextLevelValue.asOriginal());
                         }
 
                         final RestModel nextLevelModel = nextLevelValue.asModel();
@@ -117,6 +182,7 @@ public class RestModel implements Map<String, Object> {
      * @return itself
      */
     public RestModel permitAll() {
+        changingDeclarations();
         permitAll = true;
         return this;
     }
@@ -129,10 +195,102 @@ public class RestModel implements Map<String, Object> {
      * @return itself
      */
     public RestModel permitOnlyExplicitelyDeclared() {
+        changingDeclarations();
         permitAll = false;
         return this;
     }
 
+    /**
+     * Causes nested structures (Maps, Lists and JSON objects) to be
+     * kept as they are received, and only sanitized when the field is
+     * first retrieved, which then keeps the sanitized value. Nested
+     * Maps become models that sanitize lazily as well, so subtrees
+     * that are never retrieved are never sanitized.
+     *
+     * @return itself
+     */
+    public RestModel sanitizeLazily() {
+        sanitizingLazily = true;
+        return this;
+    }
+
+    /**
+     * DEFAULT BEHAVIOUR, does not need to be invoked. Values are
+     * sanitized as soon as they're put. Only affects the values
+     * put afterwards.
+     *
+     * @return itself
+     */
+    public RestModel sanitizeEagerly() {
+        sanitizingLazily = false;
+        return this;
+    }
+
+    /**
+     * Causes the fields that are neither permitted nor required
+     * (as well as the ones of nested models declared by dotted
+     * permits) to be discarded as soon as they're put, without
+     * ever being sanitized or stored. Declare the permits and
+     * requirements before putting the values.
+     *
+     * @return itself
+     */
+    public RestModel bindOnlyAccepted() {
+        return bindOnlyAccepted(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Same as bindOnlyAccepted(), but failing (with a
+     * BindingLimitExceededException) as soon as more than the
+     * given number of fields have been discarded by this
+     * model and its nested models.
+     *
+     * @param maximumDiscarded how many fields can be discarded.
+     * @return itself
+     */
+    public RestModel bindOnlyAccepted(final int maximumDiscarded) {
+        discarded = new DiscardedFields(maximumDiscarded);
+        return this;
+    }
+
+    /**
+     * DEFAULT BEHAVIOUR, does not need to be invoked. Every field
+     * put is kept, even if it's neither permitted nor required.
+     *
+     * @return itself
+     */
+    public RestModel bindEverything() {
+        discarded = null;
+        return this;
+    }
+
+    /**
+     * How many fields have been discarded while binding
+     * only the accepted ones (including nested models).
+     *
+     * @return the count of discarded fields.
+     */
+    public int discardedCount() {
+        return discarded != null ? discarded.getCount() : 0;
+    }
+
+    /**
+     * Bounds the input put into this model (and its nested models
+     * and lists) by the limits, failing with a BindingLimitExceededException
+     * as soon as they're crossed, while the values are sanitized.
+     * Values are then always sanitized eagerly, and putAll sanitizes
+     * them as put does.
+     *
+     * @param limits the limits of the binding.
+     * @return itself
+     */
+    public RestModel limitBindingTo(final BindingLimits limits) {
+        if (limits == null)
+            throw new IllegalArgumentException("'limits' can't be null.");
+
+        return withinBudget(limits.newBudget(), 1);
+    }
+
     /**
      * Make a particular field required, causing isValid and
      * errors to return validation failures and helping the
@@ -142,6 +300,7 @@ public class RestModel implements Map<String, Object> {
      * @return self
      */
     public RestModel require(final String... fields) {
+        changingDeclarations();
         if (fields != null && fields.length != 0)
             for (final String field : fields) {
                 final List<String> fieldAndSubFields = asList(field.split(FIELD_LEVEL_SEPARATOR));
@@ -149,16 +308,14 @@ public class RestModel implements Map<String, Object> {
                 if (!fieldAndSubFields.isEmpty()) {
                     final String fieldOfThisLevel = fieldAndSubFields.get(0);
 
-                    final String treated = key(fieldOfThisLevel);
-                    if (!requireds.contains(treated))
-                        requireds.add(treated);
+                    requireds.add(key(fieldOfThisLevel));
 
                     if (fieldAndSubFields.size() > 1) {
                         final String fieldOfDownwardLevels = fieldAndSubFields.stream().skip(1).collect(joining(FIELD_LEVEL_SEPARATOR));
                         RestValue nextLevelValue = get(fieldOfThisLevel);
                         if (nextLevelValue.isNull()) {
                             nextLevelValue = new RestValue(RestModel.newRestModel());
-                            value(fieldOfThisLevel, nextLevelValue);
+                            value(fieldOfThisLevel, nextLevelValue.asOriginal());
                         }
 
                         final RestModel nextLevelModel = nextLevelValue.asModel();
@@ -175,6 +332,11 @@ public class RestModel implements Map<String, Object> {
      * If it fails to apply any of this rules, it allows the errors
      * model exposing failures as validation failures (400 errors).
      *
+     * The outcome of the rule is kept until a field it read changes,
+     * so it must depend only on the values of the model; rules that
+     * look elsewhere (the clock, a database) are only evaluated again
+     * after forgetValidation.
+     *
      * @param field that will be validated
      * @param validatorBuilder the validation rule. Do put lambdas here to use.
      * @param <TValue> type of the value being validated.
@@ -185,6 +347,7 @@ public class RestModel implements Map<String, Object> {
             final ValidationListener<TValue> validatorBuilder) {
         final ConditionFactory condition = new ConditionFactory(this);
         final Validator validator = validatorBuilder.produce(condition);
+        changingDeclarations();
         rules.merge(
             key(field),
             new ArrayList<>(Arrays.asList(validator)),
@@ -197,6 +360,7 @@ public class RestModel implements Map<String, Object> {
 
     /**
      * Defines validation rules used on each child of a list value.
+     * As with rules, their outcome is kept until the list changes.
      *
      * @param field the name of the list field.
      * @param validatorBuilder listener responsible for building a validation rule and storing it.
@@ -205,6 +369,7 @@ public class RestModel implements Map<String, Object> {
     public RestModel rulesOnEachChildOf(final String field, final ValidationOfChildListener validatorBuilder) {
         final ConditionCheck<RestValue> condition = new ConditionFactory(this).forType(RestValue.class);
         final Validator validator = validatorBuilder.produce(condition);
+        changingDeclarations();
         childreenRules.merge(
             key(field),
             new ArrayList<>(Arrays.asList(validator)),
@@ -215,6 +380,26 @@ public class RestModel implements Map<String, Object> {
         return permit(field);
     }
 
+    /**
+     * Evaluates the rules on each child of lists (see rulesOnEachChildOf)
+     * in parallel when the lists are large enough. Once switched on,
+     * errors are reported with the index of the child, as in "items[42]"
+     * (rather than once per message, as "items"), whether the list is
+     * evaluated in parallel or not. The rules must be safe to be
+     * evaluated by many threads at once.
+     *
+     * @param parallel how children are evaluated in parallel.
+     * @return self
+     */
+    public RestModel validateChildreenInParallel(final ParallelValidation parallel) {
+        if (parallel == null)
+            throw new IllegalArgumentException("'parallel' can't be null.");
+
+        changingDeclarations();
+        parallelValidation = parallel;
+        return this;
+    }
+
     /**
      * Sets the value for a particular field
      *
@@ -237,6 +422,7 @@ public class RestModel implements Map<String, Object> {
      */
     public RestModel baseline(final String field, final Object value) {
         final String treated = key(field);
+        changingDeclarations();
         baseline.put(treated, value);
         return this;
     }
@@ -244,20 +430,37 @@ public class RestModel implements Map<String, Object> {
     /**
      * True if there is no model errors. False otherwise.
      * If any of the rules throw an error, it will return false.
+     * Only the requirements and rules affected by the fields changed
+     * since the last validation are evaluated (see forgetValidation).
      *
      * @return the validation state.
      */
     public Boolean isValid() {
-        return new ModelValidator(this, requireds, rules, childreenRules).isValid();
+        return validator().isValid(validationCache());
     }
 
     /**
      * The list of model errors (failures meeting requirements or rules).
+     * As with isValid, the outcomes of previous validations are reused
+     * for the fields that haven't changed since.
      *
      * @return the list of model errors.
      */
     public ModelErrors errors() {
-        return new ModelValidator(this, requireds, rules, childreenRules).validate();
+        return validator().validate(validationCache());
+    }
+
+    /**
+     * Forgets the outcome of previous validations, so that every
+     * requirement and rule is evaluated again by the next isValid or
+     * errors, as needed when rules depend on more than the model.
+     *
+     * @return itself
+     */
+    public RestModel forgetValidation() {
+        if (validationCache != null)
+            validationCache.changedAll();
+        return this;
     }
 
     /**
@@ -270,9 +473,11 @@ public class RestModel implements Map<String, Object> {
      */
     public RestValue get(final String field) {
         final String treated = key(field);
-        if (isAccepted(treated))
+        if (validationCache != null)
+            validationCache.read(treated);
+        if (isAcceptedKey(treated))
             if (data.containsKey(treated))
-                return new RestValue(data.get(treated));
+                return new RestValue(dataOf(treated));
             else if (baseline.containsKey(treated))
                 return new RestValue(baseline.get(treated));
 
@@ -297,6 +502,10 @@ public class RestModel implements Map<String, Object> {
     @Override
     public void clear() {
         data.clear();
+        if (validationCache != null)
+            validationCache.changedAll();
+        if (unsanitized != null)
+            unsanitized.clear();
     }
 
     /**
@@ -307,7 +516,9 @@ public class RestModel implements Map<String, Object> {
     @Override
     public boolean containsKey(final Object key) {
         final String treated = key(String.valueOf(key));
-        if (!isAccepted(treated))
+        if (validationCache != null)
+            validationCache.read(treated);
+        if (!isAcceptedKey(treated))
             return false;
 
         return data.containsKey(treated) && data.get(treated) != null;
@@ -378,10 +589,12 @@ public class RestModel implements Map<String, Object> {
      */
     @Override
     public Set<java.util.Map.Entry<String, Object>> entrySet() {
+        sanitizeAll();
+        allFieldsRead();
         return data
             .entrySet()
             .stream()
-            .filter(i -> isAccepted(i.getKey()))
+            .filter(i -> isAcceptedKey(i.getKey()))
             .collect(Collectors.toSet());
     }
 
@@ -405,10 +618,11 @@ public class RestModel implements Map<String, Object> {
      */
     @Override
     public boolean isEmpty() {
+        allFieldsRead();
         return !data
             .keySet()
             .stream()
-            .filter(fieldName -> isAccepted(fieldName))
+            .filter(fieldName -> isAcceptedKey(fieldName))
             .findAny()
             .isPresent();
     }
@@ -418,10 +632,11 @@ public class RestModel implements Map<String, Object> {
      */
     @Override
     public Set<String> keySet() {
+        allFieldsRead();
         return data
             .keySet()
             .stream()
-            .filter(fieldName -> isAccepted(fieldName))
+            .filter(fieldName -> isAcceptedKey(fieldName))
             .collect(Collectors.toSet());
     }
 
@@ -430,10 +645,62 @@ public class RestModel implements Map<String, Object> {
      */
     @Override
     public Object put(final String key, final Object value) {
+        if (budget != null && key != null)
+            budget.string(key);
+        return putTreated(key(key), value);
+    }
+
+    /**
+     * Define a value to a field which name has already been normalised.
+     *
+     * @param key the normalised field name.
+     * @param value the value that will be sanitized.
+     * @return the previous value of the field.
+     */
+    Object putTreated(final String key, final Object value) {
+        if (discarded != null) {
+            if (!isAcceptedKey(key)) {
+                discarded.discard(key, getBindingLimits());
+                return null;
+            }
+
+            final Object current = data.get(key);
+            if (current instanceof RestModel && ((RestModel) current).hasDeclarations()
+                && value instanceof Map && !(value instanceof RestModel)) {
+                if (budget != null) {
+                    budget.node();
+                    budget.depth(bindingDepth + 1);
+                    budget.fields(((Map<?, ?>) value).size());
+                }
+
+                final RestModel declared = ((RestModel) current).declarationsOnly(discarded, budget, bindingDepth + 1);
+                ((Map<?, ?>) value).forEach((k, v) -> {
+                    if (k != null)
+                        declared.put(k.toString(), v);
+                });
+                putSanitized(key, declared);
+                return current;
+            }
+        }
+
+        if (budget != null && !data.containsKey(key))
+            budget.fields(data.size() + 1);
+
+        fieldChanged(key);
         try {
+            if (sanitizingLazily && budget == null && Sanitizer.requiresSanitization(value)) {
+                unsanitizedKeys().add(key);
+                return data.put(key, value);
+            }
+
+            if (unsanitized != null)
+                unsanitized.remove(key);
             return data.put(
-                key(key),
-                new Sanitizer(value).sanitize());
+                key,
+                new Sanitizer(value, budget, bindingDepth + 1).sanitize());
+        }
+        catch (final BindingLimitExceededException e) {
+            throw e;
         }
         catch (final Exception e) {
             LOGGER.log(
@@ -446,6 +713,8 @@ public class RestModel implements Map<String, Object> {
 
     /**
      * Define the value to a range of fields, normalising all the field names.
+     * Fields already defined are kept, unless the model binds only accepted
+     * fields, in which case every entry is put just like by put.
      *
      * @param m the map that will be used to setup all the values.
      */
@@ -453,9 +722,19 @@ public class RestModel implements Map<String, Object> {
     public void putAll(final Map<? extends String, ?> m) {
         if (m != null && !m.isEmpty())
             m.entrySet().forEach(e -> {
+                if (budget != null && e.getKey() != null)
+                    budget.string(e.getKey());
                 final String treated = key(e.getKey());
-                if (!data.containsKey(treated))
-                    data.put(treated, e.getValue());
+                if (discarded != null)
+                    putTreated(treated, e.getValue());
+                else if (!data.containsKey(treated)) {
+                    if (budget != null)
+                        putTreated(treated, e.getValue());
+                    else {
+                        fieldChanged(treated);
+                        data.put(treated, e.getValue());
+                    }
+                }
             });
     }
 
@@ -464,7 +743,11 @@ public class RestModel implements Map<String, Object> {
      */
     @Override
     public Object remove(final Object key) {
-        return data.remove(key(String.valueOf(key)));
+        final String treated = key(String.valueOf(key));
+        if (unsanitized != null)
+            unsanitized.remove(treated);
+        fieldChanged(treated);
+        return data.remove(treated);
     }
 
     /**
@@ -472,10 +755,11 @@ public class RestModel implements Map<String, Object> {
      */
     @Override
     public int size() {
+        allFieldsRead();
         return (int) data
             .keySet()
             .stream()
-            .filter(fieldName -> isAccepted(fieldName))
+            .filter(fieldName -> isAcceptedKey(fieldName))
             .count();
     }
 
@@ -484,10 +768,12 @@ public class RestModel implements Map<String, Object> {
      */
     @Override
     public Collection<Object> values() {
+        sanitizeAll();
+        allFieldsRead();
         return data
             .entrySet()
             .stream()
-            .filter(entry -> isAccepted(entry.getKey()))
+            .filter(entry -> isAcceptedKey(entry.getKey()))
             .map(entry -> entry.getValue())
             .collect(Collectors.toList());
     }
@@ -523,6 +809,18 @@ public class RestModel implements Map<String, Object> {
         return output.toString();
     }
 
+    /**
+     * An immutable snapshot of the accepted fields (and baselines)
+     * of this model and of its nested models, which can be shared
+     * across threads without being copied. Later changes to this
+     * model don't affect the snapshot.
+     *
+     * @return the snapshot.
+     */
+    public FrozenRestModel freeze() {
+        return new FrozenRestModel(this);
+    }
+
     /**
      * Replies if the fieldName is accepted (or required).
      *
@@ -530,12 +828,222 @@ public class RestModel implements Map<String, Object> {
      * @return true in case permit or require mention the field, and false otherwise.
      */
     public boolean isAccepted(final String fieldName) {
+        return permitAll || isAcceptedKey(key(fieldName));
+    }
+
+    boolean isAcceptedKey(final String treated) {
         return permitAll
-               || permitteds.contains(key(fieldName))
-               || requireds.contains(key(fieldName));
+               || permitteds.contains(treated)
+               || requireds.contains(treated);
+    }
+
+    Set<String> getPermitteds() {
+        return permitteds;
+    }
+
+    Set<String> getRequireds() {
+        return requireds;
+    }
+
+    Map<String, Object> getBaseline() {
+        return baseline;
+    }
+
+    Map<String, List<Validator>> getRules() {
+        return rules;
+    }
+
+    Map<String, List<Validator>> getChildreenRules() {
+        return childreenRules;
+    }
+
+    boolean isPermitAll() {
+        return permitAll;
+    }
+
+    ParallelValidation getParallelValidation() {
+        return parallelValidation;
+    }
+
+    DiscardedFields getDiscarded() {
+        return discarded;
+    }
+
+    BindingLimits getBindingLimits() {
+        return budget != null ? budget.getLimits() : null;
+    }
+
+    /**
+     * Makes the model part of a binding tracked by the budget.
+     *
+     * @param budget the tracker of the binding limits.
+     * @param depth the depth of the model in the binding.
+     * @return itself
+     */
+    RestModel withinBudget(final BindingBudget budget, final int depth) {
+        this.budget = budget;
+        this.bindingDepth = depth;
+        return this;
+    }
+
+    Map<String, Object> getData() {
+        sanitizeAll();
+        allFieldsRead();
+        return data;
+    }
+
+    /**
+     * Stores a value that has already been sanitized (or bound
+     * by a schema) under an already normalised field name.
+     *
+     * @param key the normalised field name.
+     * @param value the sanitized value.
+     */
+    void putSanitized(final String key, final Object value) {
+        if (unsanitized != null)
+            unsanitized.remove(key);
+        fieldChanged(key);
+        data.put(key, value);
+    }
+
+    /**
+     * The value of the field, sanitizing it first
+     * if it's been kept unsanitized so far.
+     */
+    private Object dataOf(final String treated) {
+        if (unsanitized == null || !unsanitized.remove(treated))
+            return data.get(treated);
+
+        final Object raw = data.get(treated);
+        try {
+            final Object sanitized = sanitizedLazily(raw);
+            data.put(treated, sanitized);
+            return sanitized;
+        }
+        catch (final Exception e) {
+            LOGGER.log(
+                Level.SEVERE,
+                format("RestModel failed to sanitize :%s => '%s'", treated, raw),
+                e);
+            fieldChanged(treated);
+            data.remove(treated);
+            return null;
+        }
+    }
+
+    private void sanitizeAll() {
+        if (unsanitized != null && !unsanitized.isEmpty())
+            for (final String treated : new ArrayList<>(unsanitized))
+                dataOf(treated);
+    }
+
+    private boolean hasDeclarations() {
+        return permitAll || !permitteds.isEmpty() || !requireds.isEmpty();
+    }
+
+    /**
+     * An empty model with the declarations of this one (and
+     * of its nested declared models), binding only accepted
+     * fields into the given tally and within the given budget.
+     */
+    private RestModel declarationsOnly(final DiscardedFields tally, final BindingBudget budget, final int depth) {
+        final RestModel copy = new RestModel();
+        copy.permitteds = new LinkedHashSet<>(permitteds);
+        copy.requireds = new LinkedHashSet<>(requireds);
+        copy.baseline = new LinkedHashMap<>(baseline);
+        copy.rules = copyOfRules(rules);
+        copy.childreenRules = copyOfRules(childreenRules);
+        copy.permitAll = permitAll;
+        copy.parallelValidation = parallelValidation;
+        copy.sanitizingLazily = sanitizingLazily;
+        copy.discarded = tally;
+        copy.budget = budget;
+        copy.bindingDepth = depth;
+        data.forEach((field, value) -> {
+            if (value instanceof RestModel && ((RestModel) value).hasDeclarations())
+                copy.data.put(field, ((RestModel) value).declarationsOnly(tally, budget, depth + 1));
+        });
+        return copy;
+    }
+
+    private ModelValidator validator() {
+        if (validator == null)
+            validator = new ModelValidator(this, requireds, rules, childreenRules, parallelValidation);
+        return validator;
+    }
+
+    private ValidationCache validationCache() {
+        if (validationCache == null)
+            validationCache = new ValidationCache();
+        return validationCache;
+    }
+
+    private void fieldChanged(final String treated) {
+        if (validationCache != null)
+            validationCache.changed(treated);
+    }
+
+    private void allFieldsRead() {
+        if (validationCache != null)
+            validationCache.readAll();
+    }
+
+    private Set<String> unsanitizedKeys() {
+        if (unsanitized == null)
+            unsanitized = new HashSet<>();
+        return unsanitized;
+    }
+
+    /**
+     * Sanitizes the value like the Sanitizer does, except
+     * that Maps (including the ones in Lists) become models
+     * which also sanitize lazily.
+     */
+    private static Object sanitizedLazily(final Object value) throws Exception {
+        if (value instanceof Map && !(value instanceof RestModel)) {
+            final RestModel child = newRestModel().sanitizeLazily();
+            ((Map<?, ?>) value).forEach((k, v) -> {
+                if (k != null)
+                    child.put(k.toString(), v);
+            });
+            return child;
+        }
+
+        if (value instanceof List) {
+            final List<Object> items = new ArrayList<>(((List<?>) value).size());
+            for (final Object item : (List<?>) value)
+                items.add(item instanceof Map ? sanitizedLazily(item) : item);
+            return items;
+        }
+
+        return new Sanitizer(value).sanitize();
+    }
+
+    /**
+     * Copies the declarations shared with a schema before they
+     * change, and forgets the outcome of previous validations.
+     */
+    private void changingDeclarations() {
+        validator = null;
+        if (validationCache != null)
+            validationCache.changedAll();
+        if (sharingDeclarations) {
+            permitteds = new LinkedHashSet<>(permitteds);
+            requireds = new LinkedHashSet<>(requireds);
+            baseline = new LinkedHashMap<>(baseline);
+            rules = copyOfRules(rules);
+            childreenRules = copyOfRules(childreenRules);
+            sharingDeclarations = false;
+        }
+    }
+
+    private static Map<String, List<Validator>> copyOfRules(final Map<String, List<Validator>> original) {
+        final Map<String, List<Validator>> copy = new ConcurrentHashMap<>();
+        original.forEach((field, validators) -> copy.put(field, new ArrayList<>(validators)));
+        return copy;
     }
 
-    private String key(final String field) {
+    static String key(final String field) {
         return new FlexibleKey(field).build();
     }
 
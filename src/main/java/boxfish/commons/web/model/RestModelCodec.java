@@ -0,0 +1,521 @@
+package boxfish.commons.web.model;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compact binary snapshot of a RestModel: its permits, requirements,
+ * baselines and data (every field bound, accepted or not), so that the
+ * decoded model behaves as the encoded one did. Values are tagged by
+ * type: null, Boolean, Byte, Short, Integer, Long, Float, Double,
+ * BigInteger, BigDecimal, String, Instant, RestModel, List and the
+ * arrays of byte, short, int, long, float and double. Enums are kept
+ * by their names, so they're decoded as Strings (which asEnum reads).
+ * Integers and lengths are varints, and each field name is written
+ * once per snapshot and referenced by its index afterwards.
+ *
+ * Any other value (as UUID, Date, LocalDate, boolean[] or a Map that
+ * isn't a RestModel) is rejected, as are models and lists nested more
+ * than 512 levels deep. Rules can't be part of a snapshot, and should
+ * be declared again on the decoded model, if needed.
+ *
+ * <pre>
+ * final byte[] snapshot = RestModelCodec.toBytes(input);
+ * ...
+ * final RestModel replayed = RestModelCodec.decode(ByteBuffer.wrap(snapshot));
+ * </pre>
+ *
+ * @author Hudson Mendes
+ *
+ */
+public final class RestModelCodec {
+    private static final byte VERSION = 1;
+    private static final int INITIAL_SIZE = 256;
+
+    private static final byte NULL = 0;
+    private static final byte FALSE = 1;
+    private static final byte TRUE = 2;
+    private static final byte INTEGER = 3;
+    private static final byte LONG = 4;
+    private static final byte DOUBLE = 5;
+    private static final byte BIG_DECIMAL = 6;
+    private static final byte STRING = 7;
+    private static final byte INSTANT = 8;
+    private static final byte MODEL = 9;
+    private static final byte LIST = 10;
+    private static final byte BYTE = 11;
+    private static final byte SHORT = 12;
+    private static final byte FLOAT = 13;
+    private static final byte BIG_INTEGER = 14;
+    private static final byte BYTE_ARRAY = 15;
+    private static final byte SHORT_ARRAY = 16;
+    private static final byte INT_ARRAY = 17;
+    private static final byte LONG_ARRAY = 18;
+    private static final byte FLOAT_ARRAY = 19;
+    private static final byte DOUBLE_ARRAY = 20;
+
+    private static final int MAX_NESTING = 512;
+
+    private static final int PERMIT_ALL = 1;
+
+    /**
+     * Encodes the model into the buffer, from its position on.
+     *
+     * @param model the model.
+     * @param snapshot the buffer the snapshot is written into.
+     * @throws BufferOverflowException if the snapshot doesn't fit the buffer.
+     * @throws IllegalArgumentException if the model holds a value that can't be encoded, or nests too deep.
+     */
+    public static void encode(final RestModel model, final ByteBuffer snapshot) {
+        if (model == null)
+            throw new IllegalArgumentException("'model' can't be null.");
+        if (snapshot == null)
+            throw new IllegalArgumentException("'snapshot' can't be null.");
+
+        snapshot.put(VERSION);
+        new Encoder(snapshot).model(model, 1);
+    }
+
+    /**
+     * Encodes the model into a new array.
+     *
+     * @param model the model.
+     * @return the snapshot.
+     * @throws IllegalArgumentException if the model holds a value that can't be encoded, or nests too deep.
+     */
+    public static byte[] toBytes(final RestModel model) {
+        int size = INITIAL_SIZE;
+        while (true) {
+            final ByteBuffer snapshot = ByteBuffer.allocate(size);
+            try {
+                encode(model, snapshot);
+                return Arrays.copyOf(snapshot.array(), snapshot.position());
+            }
+            catch (final BufferOverflowException e) {
+                size *= 2;
+            }
+        }
+    }
+
+    /**
+     * Decodes the model from the buffer, from its position on,
+     * leaving the buffer positioned right after the snapshot.
+     *
+     * @param snapshot the buffer the snapshot is read from.
+     * @return the model.
+     * @throws IllegalArgumentException if the snapshot is malformed.
+     */
+    public static RestModel decode(final ByteBuffer snapshot) {
+        if (snapshot == null)
+            throw new IllegalArgumentException("'snapshot' can't be null.");
+
+        try {
+            final byte version = snapshot.get();
+            if (version != VERSION)
+                throw new IllegalArgumentException(format("Unknown snapshot version %d.", version));
+
+            return new Decoder(snapshot).model(1);
+        }
+        catch (final BufferUnderflowException e) {
+            throw new IllegalArgumentException("The snapshot is truncated.", e);
+        }
+        catch (final DateTimeException | ArithmeticException | NumberFormatException e) {
+            throw new IllegalArgumentException("The snapshot has a malformed value.", e);
+        }
+    }
+
+    private static final class Encoder {
+        private final ByteBuffer out;
+        private final Map<String, Integer> names = new HashMap<>();
+
+        private Encoder(final ByteBuffer out) {
+            this.out = out;
+        }
+
+        private void model(final RestModel model, final int depth) {
+            final Map<String, Object> data = model.getData();
+            final Map<String, Object> baseline = model.getBaseline();
+            varint(model.isPermitAll() ? PERMIT_ALL : 0);
+            names(model.getPermitteds());
+            names(model.getRequireds());
+            fields(baseline, depth);
+            fields(data, depth);
+        }
+
+        private void names(final Set<String> fields) {
+            varint(fields.size());
+            for (final String field : fields)
+                name(field);
+        }
+
+        private void fields(final Map<String, Object> fields, final int depth) {
+            varint(fields.size());
+            for (final Map.Entry<String, Object> field : fields.entrySet()) {
+                name(field.getKey());
+                value(field.getValue(), depth);
+            }
+        }
+
+        /**
+         * Writes the index of a name already written (plus one),
+         * or zero followed by the name, when first written.
+         */
+        private void name(final String name) {
+            final Integer index = names.get(name);
+            if (index != null)
+                varint(index + 1);
+            else {
+                names.put(name, names.size());
+                varint(0);
+                string(name);
+            }
+        }
+
+        /**
+         * Writes the value of a field of a model (or
+         * an item of a list) nested at the given depth.
+         */
+        private void value(final Object value, final int depth) {
+            if (value == null)
+                out.put(NULL);
+            else if (value instanceof Boolean)
+                out.put(((Boolean) value) ? TRUE : FALSE);
+            else if (value instanceof Byte) {
+                out.put(BYTE);
+                out.put((Byte) value);
+            }
+            else if (value instanceof Short) {
+                out.put(SHORT);
+                varlong(zigzag((Short) value));
+            }
+            else if (value instanceof Integer) {
+                out.put(INTEGER);
+                varlong(zigzag((Integer) value));
+            }
+            else if (value instanceof Long) {
+                out.put(LONG);
+                varlong(zigzag((Long) value));
+            }
+            else if (value instanceof Float) {
+                out.put(FLOAT);
+                out.putFloat((Float) value);
+            }
+            else if (value instanceof Double) {
+                out.put(DOUBLE);
+                out.putDouble((Double) value);
+            }
+            else if (value instanceof BigInteger) {
+                out.put(BIG_INTEGER);
+                bytes(((BigInteger) value).toByteArray());
+            }
+            else if (value instanceof BigDecimal) {
+                final BigDecimal decimal = (BigDecimal) value;
+                out.put(BIG_DECIMAL);
+                varlong(zigzag(decimal.scale()));
+                bytes(decimal.unscaledValue().toByteArray());
+            }
+            else if (value instanceof String) {
+                out.put(STRING);
+                string((String) value);
+            }
+            else if (value instanceof Instant) {
+                final Instant instant = (Instant) value;
+                out.put(INSTANT);
+                varlong(zigzag(instant.getEpochSecond()));
+                varint(instant.getNano());
+            }
+            else if (value instanceof Enum) {
+                out.put(STRING);
+                string(((Enum<?>) value).name());
+            }
+            else if (value instanceof RestModel) {
+                out.put(MODEL);
+                model((RestModel) value, nested(depth));
+            }
+            else if (value instanceof List) {
+                final List<?> items = (List<?>) value;
+                final int itemsDepth = nested(depth);
+                out.put(LIST);
+                varint(items.size());
+                for (final Object item : items)
+                    value(item, itemsDepth);
+            }
+            else if (value instanceof byte[]) {
+                out.put(BYTE_ARRAY);
+                bytes((byte[]) value);
+            }
+            else if (value instanceof short[]) {
+                final short[] items = (short[]) value;
+                out.put(SHORT_ARRAY);
+                varint(items.length);
+                for (final short item : items)
+                    varlong(zigzag(item));
+            }
+            else if (value instanceof int[]) {
+                final int[] items = (int[]) value;
+                out.put(INT_ARRAY);
+                varint(items.length);
+                for (final int item : items)
+                    varlong(zigzag(item));
+            }
+            else if (value instanceof long[]) {
+                final long[] items = (long[]) value;
+                out.put(LONG_ARRAY);
+                varint(items.length);
+                for (final long item : items)
+                    varlong(zigzag(item));
+            }
+            else if (value instanceof float[]) {
+                final float[] items = (float[]) value;
+                out.put(FLOAT_ARRAY);
+                varint(items.length);
+                for (final float item : items)
+                    out.putFloat(item);
+            }
+            else if (value instanceof double[]) {
+                final double[] items = (double[]) value;
+                out.put(DOUBLE_ARRAY);
+                varint(items.length);
+                for (final double item : items)
+                    out.putDouble(item);
+            }
+            else
+                throw new IllegalArgumentException(format(
+                    "Values of type %s can't be encoded.",
+                    value.getClass().getName()));
+        }
+
+        private void string(final String text) {
+            bytes(text.getBytes(UTF_8));
+        }
+
+        private void bytes(final byte[] bytes) {
+            varint(bytes.length);
+            out.put(bytes);
+        }
+
+        private void varint(final int value) {
+            varlong(value & 0xFFFFFFFFL);
+        }
+
+        private void varlong(final long value) {
+            long remaining = value;
+            while ((remaining & ~0x7FL) != 0) {
+                out.put((byte) (remaining & 0x7F | 0x80));
+                remaining >>>= 7;
+            }
+            out.put((byte) remaining);
+        }
+
+        private static long zigzag(final long value) {
+            return value << 1 ^ value >> 63;
+        }
+
+        private static int nested(final int depth) {
+            if (depth >= MAX_NESTING)
+                throw new IllegalArgumentException(format("Models can't be nested more than %d levels.", MAX_NESTING));
+            return depth + 1;
+        }
+    }
+
+    private static final class Decoder {
+        private final ByteBuffer in;
+        private final List<String> names = new ArrayList<>();
+
+        private Decoder(final ByteBuffer in) {
+            this.in = in;
+        }
+
+        private RestModel model(final int depth) {
+            final boolean permitAll = (varint() & PERMIT_ALL) != 0;
+            final Set<String> permitteds = names();
+            final Set<String> requireds = names();
+            final Map<String, Object> baseline = new LinkedHashMap<>();
+            final int baselines = length();
+            for (int i = 0; i < baselines; i++)
+                baseline.put(name(), value(depth));
+
+            final RestModel model = new RestModel(permitteds, requireds, baseline, permitAll);
+            final int fields = length();
+            for (int i = 0; i < fields; i++)
+                model.putSanitized(name(), value(depth));
+            return model;
+        }
+
+        private Set<String> names() {
+            final int count = length();
+            final Set<String> fields = new LinkedHashSet<>();
+            for (int i = 0; i < count; i++)
+                fields.add(name());
+            return fields;
+        }
+
+        private String name() {
+            final int reference = varint();
+            if (reference == 0) {
+                final String name = string();
+                names.add(name);
+                return name;
+            }
+
+            if (reference > names.size())
+                throw new IllegalArgumentException(format("Unknown field name reference %d.", reference));
+            return names.get(reference - 1);
+        }
+
+        private Object value(final int depth) {
+            final byte tag = in.get();
+            switch (tag) {
+                case NULL:
+                    return null;
+                case FALSE:
+                    return false;
+                case TRUE:
+                    return true;
+                case BYTE:
+                    return in.get();
+                case SHORT:
+                    return (short) unzigzag(varlong());
+                case INTEGER:
+                    return (int) unzigzag(varlong());
+                case LONG:
+                    return unzigzag(varlong());
+                case FLOAT:
+                    return in.getFloat();
+                case DOUBLE:
+                    return in.getDouble();
+                case BIG_INTEGER:
+                    return new BigInteger(bytes());
+                case BIG_DECIMAL:
+                    final int scale = (int) unzigzag(varlong());
+                    return new BigDecimal(new BigInteger(bytes()), scale);
+                case STRING:
+                    return string();
+                case INSTANT:
+                    final long seconds = unzigzag(varlong());
+                    return Instant.ofEpochSecond(seconds, varint());
+                case MODEL:
+                    return model(nested(depth));
+                case LIST:
+                    final int itemsDepth = nested(depth);
+                    final int count = length();
+                    final List<Object> items = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++)
+                        items.add(value(itemsDepth));
+                    return items;
+                case BYTE_ARRAY:
+                    return bytes();
+                case SHORT_ARRAY:
+                    final short[] shorts = new short[length()];
+                    for (int i = 0; i < shorts.length; i++)
+                        shorts[i] = (short) unzigzag(varlong());
+                    return shorts;
+                case INT_ARRAY:
+                    final int[] ints = new int[length()];
+                    for (int i = 0; i < ints.length; i++)
+                        ints[i] = (int) unzigzag(varlong());
+                    return ints;
+                case LONG_ARRAY:
+                    final long[] longs = new long[length()];
+                    for (int i = 0; i < longs.length; i++)
+                        longs[i] = unzigzag(varlong());
+                    return longs;
+                case FLOAT_ARRAY:
+                    final float[] floats = new float[length(Float.BYTES)];
+                    for (int i = 0; i < floats.length; i++)
+                        floats[i] = in.getFloat();
+                    return floats;
+                case DOUBLE_ARRAY:
+                    final double[] doubles = new double[length(Double.BYTES)];
+                    for (int i = 0; i < doubles.length; i++)
+                        doubles[i] = in.getDouble();
+                    return doubles;
+                default:
+                    throw new IllegalArgumentException(format("Unknown value tag %d.", tag));
+            }
+        }
+
+        private String string() {
+            final int length = length();
+            if (in.hasArray()) {
+                final String text = new String(in.array(), in.arrayOffset() + in.position(), length, UTF_8);
+                in.position(in.position() + length);
+                return text;
+            }
+            final byte[] bytes = new byte[length];
+            in.get(bytes);
+            return new String(bytes, UTF_8);
+        }
+
+        private byte[] bytes() {
+            final byte[] bytes = new byte[length()];
+            in.get(bytes);
+            return bytes;
+        }
+
+        /**
+         * Reads a length (or count), which can't
+         * be more than the bytes left to be read.
+         */
+        private int length() {
+            return length(1);
+        }
+
+        /**
+         * Reads a count of items of the given size in bytes, which
+         * can't take more than the bytes left to be read.
+         */
+        private int length(final int itemSize) {
+            final int length = varint();
+            if (length < 0 || (long) length * itemSize > in.remaining())
+                throw new IllegalArgumentException("The snapshot is truncated.");
+            return length;
+        }
+
+        private static int nested(final int depth) {
+            if (depth >= MAX_NESTING)
+                throw new IllegalArgumentException(format("The snapshot nests more than %d levels.", MAX_NESTING));
+            return depth + 1;
+        }
+
+        private int varint() {
+            final long value = varlong();
+            if (value > 0xFFFFFFFFL)
+                throw new IllegalArgumentException("The snapshot has a malformed number.");
+            return (int) value;
+        }
+
+        private long varlong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                final byte b = in.get();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0)
+                    return value;
+            }
+            throw new IllegalArgumentException("The snapshot has a malformed number.");
+        }
+
+        private static long unzigzag(final long value) {
+            return value >>> 1 ^ -(value & 1);
+        }
+    }
+
+    private RestModelCodec() {}
+}
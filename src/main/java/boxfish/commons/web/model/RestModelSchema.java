@@ -0,0 +1,284 @@
+package boxfish.commons.web.model;
+
+import static java.lang.String.format;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Collections.unmodifiableSet;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import boxfish.commons.web.model.sanitization.Sanitizer;
+import boxfish.commons.web.model.validation.ParallelValidation;
+import boxfish.commons.web.model.validation.Validator;
+
+/**
+ * Immutable and thread-safe compilation of the declarations
+ * (permits, requirements, baselines, rules and nested models)
+ * of a RestModel. It's meant to be compiled once, when the
+ * application starts, and then shared by every request that
+ * binds its input, so that per-request work is proportional
+ * to the input and not to the declarations.
+ *
+ * <pre>
+ * private static final RestModelSchema LABEL = schemaOf(newRestModel()
+ *     .permit("name", "colour.hex")
+ *     .require("name"));
+ *
+ * final RestModel input = LABEL.restModelFrom(body);
+ * </pre>
+ *
+ * @author Hudson Mendes
+ *
+ */
+public final class RestModelSchema {
+    private static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+
+    /**
+     * Compiles the declarations of the model into a schema.
+     * Nested models created by dotted permits and requirements
+     * (or set as values) become nested schemas; any other value
+     * held by the declaration is not part of the schema.
+     *
+     * @param declaration the model in which permits, requires, baselines and rules were declared.
+     * @return the compiled schema.
+     */
+    public static RestModelSchema schemaOf(final RestModel declaration) {
+        if (declaration == null)
+            throw new IllegalArgumentException("'declaration' can't be null.");
+
+        return new RestModelSchema(declaration);
+    }
+
+    private final Set<String> permitteds;
+    private final Set<String> requireds;
+    private final Map<String, Object> baseline;
+    private final Map<String, List<Validator>> rules;
+    private final Map<String, List<Validator>> childreenRules;
+    private final Map<String, RestModelSchema> children;
+    private final boolean permitAll;
+    private final int maximumDiscarded;
+    private final BindingLimits limits;
+    private final ParallelValidation parallelValidation;
+
+    private RestModelSchema(final RestModel declaration) {
+        this(declaration, maximumDiscardedOf(declaration), declaration.getBindingLimits());
+    }
+
+    private RestModelSchema(final RestModel declaration, final int maximumDiscarded, final BindingLimits limits) {
+        this.permitteds = unmodifiableSet(new LinkedHashSet<>(declaration.getPermitteds()));
+        this.requireds = unmodifiableSet(new LinkedHashSet<>(declaration.getRequireds()));
+        this.baseline = unmodifiableMap(new LinkedHashMap<>(declaration.getBaseline()));
+        this.rules = compileRules(declaration.getRules());
+        this.childreenRules = compileRules(declaration.getChildreenRules());
+        this.children = compileChildren(declaration.getData(), maximumDiscarded, limits);
+        this.permitAll = declaration.isPermitAll();
+        this.maximumDiscarded = maximumDiscarded;
+        this.limits = limits;
+        this.parallelValidation = declaration.getParallelValidation();
+    }
+
+    /**
+     * Creates an empty model already carrying the declarations
+     * of the schema (and of its nested schemas).
+     *
+     * @return the newly created model.
+     */
+    public RestModel newRestModel() {
+        return newRestModel(newBinding(), 1);
+    }
+
+    private RestModel newRestModel(final Binding binding, final int depth) {
+        final RestModel created = new RestModel(this, binding.tally, binding.budget, depth);
+        children.forEach((field, child) -> created.putSanitized(field, child.newRestModel(binding, depth + 1)));
+        return created;
+    }
+
+    /**
+     * Creates a model carrying the declarations of the schema
+     * and binds the input into it in a single pass, normalising
+     * each field name once and binding nested maps directly
+     * with the nested schemas.
+     *
+     * When the declaration binds only accepted fields, the fields
+     * which are neither permitted nor required (at any level) are
+     * discarded before their values are even looked at. When it
+     * limits the binding, the limits are checked along the way.
+     *
+     * @param input the map that will be bound.
+     * @return the model created.
+     * @throws BindingLimitExceededException if more fields than allowed are discarded, or a limit is crossed.
+     */
+    public RestModel restModelFrom(final Map<?, ?> input) {
+        return restModelFrom(input, newBinding(), 1);
+    }
+
+    private RestModel restModelFrom(final Map<?, ?> input, final Binding binding, final int depth) {
+        final RestModel created = new RestModel(this, binding.tally, binding.budget, depth);
+        if (input != null && !input.isEmpty()) {
+            if (binding.budget != null) {
+                binding.budget.depth(depth);
+                binding.budget.fields(input.size());
+            }
+
+            input.forEach((field, value) -> {
+                if (field != null)
+                    bind(created, keyOf(field.toString(), binding), value, binding, depth);
+            });
+        }
+
+        children.forEach((field, child) -> {
+            if (!created.getData().containsKey(field))
+                created.putSanitized(field, child.newRestModel(binding, depth + 1));
+        });
+        return created;
+    }
+
+    private void bind(
+            final RestModel model,
+            final String field,
+            final Object value,
+            final Binding binding,
+            final int depth) {
+        if (binding.tally != null && !isAcceptedKey(field)) {
+            binding.tally.discard(field, limits);
+            return;
+        }
+
+        final RestModelSchema child = children.get(field);
+        if (child == null) {
+            model.putTreated(field, value);
+            return;
+        }
+
+        try {
+            model.putSanitized(field, child.restModelFromValue(value, binding, depth + 1));
+        }
+        catch (final BindingLimitExceededException e) {
+            throw e;
+        }
+        catch (final Exception e) {
+            LOGGER.log(
+                Level.SEVERE,
+                format("RestModelSchema failed to bind :%s => '%s'", field, value),
+                e);
+        }
+    }
+
+    private Object restModelFromValue(final Object value, final Binding binding, final int depth) throws Exception {
+        if (value instanceof RestModel)
+            return restModelFrom(((RestModel) value).getData(), binding, depth);
+
+        if (value instanceof Map) {
+            if (binding.budget != null)
+                binding.budget.node();
+            return restModelFrom((Map<?, ?>) value, binding, depth);
+        }
+
+        final Object sanitized = new Sanitizer(value, binding.budget, depth).sanitize();
+        if (sanitized instanceof RestModel)
+            return restModelFrom(((RestModel) sanitized).getData(), binding.withoutBudget(), depth);
+
+        return sanitized;
+    }
+
+    private boolean isAcceptedKey(final String treated) {
+        return permitAll
+               || permitteds.contains(treated)
+               || requireds.contains(treated);
+    }
+
+    private Binding newBinding() {
+        return new Binding(
+            maximumDiscarded >= 0 ? new DiscardedFields(maximumDiscarded) : null,
+            limits != null ? limits.newBudget() : null);
+    }
+
+    private static String keyOf(final String field, final Binding binding) {
+        if (binding.budget != null)
+            binding.budget.string(field);
+        return RestModel.key(field);
+    }
+
+    Set<String> getPermitteds() {
+        return permitteds;
+    }
+
+    Set<String> getRequireds() {
+        return requireds;
+    }
+
+    Map<String, Object> getBaseline() {
+        return baseline;
+    }
+
+    Map<String, List<Validator>> getRules() {
+        return rules;
+    }
+
+    Map<String, List<Validator>> getChildreenRules() {
+        return childreenRules;
+    }
+
+    boolean isPermitAll() {
+        return permitAll;
+    }
+
+    ParallelValidation getParallelValidation() {
+        return parallelValidation;
+    }
+
+    private static Map<String, List<Validator>> compileRules(final Map<String, List<Validator>> declared) {
+        final Map<String, List<Validator>> compiled = new LinkedHashMap<>();
+        declared.forEach((field, validators) -> compiled.put(field, unmodifiableList(new ArrayList<>(validators))));
+        return unmodifiableMap(compiled);
+    }
+
+    private static Map<String, RestModelSchema> compileChildren(
+            final Map<String, Object> declared,
+            final int maximumDiscarded,
+            final BindingLimits limits) {
+        final Map<String, RestModelSchema> compiled = new LinkedHashMap<>();
+        declared.forEach((field, value) -> {
+            if (value instanceof RestModel)
+                compiled.put(field, new RestModelSchema((RestModel) value, maximumDiscarded, limits));
+        });
+        return unmodifiableMap(compiled);
+    }
+
+    /**
+     * The maximum of discarded fields declared by bindOnlyAccepted,
+     * or -1 if the declaration binds every field.
+     */
+    private static int maximumDiscardedOf(final RestModel declaration) {
+        final DiscardedFields discarded = declaration.getDiscarded();
+        return discarded != null ? discarded.getMaximum() : -1;
+    }
+
+    /**
+     * What is tracked while a single input is bound.
+     */
+    private static final class Binding {
+        private final DiscardedFields tally;
+        private final BindingBudget budget;
+
+        private Binding(final DiscardedFields tally, final BindingBudget budget) {
+            this.tally = tally;
+            this.budget = budget;
+        }
+
+        /**
+         * The same binding, but for a subtree already
+         * checked against the limits.
+         */
+        private Binding withoutBudget() {
+            return budget != null ? new Binding(tally, null) : this;
+        }
+    }
+}
@@ -1,26 +1,36 @@
 package boxfish.commons.web.model;
 
+import static boxfish.commons.web.model.converters.ValueConverters.convert;
+import static boxfish.commons.web.model.converters.ValueConverters.convertToBoolean;
+import static boxfish.commons.web.model.converters.ValueConverters.convertToDouble;
+import static boxfish.commons.web.model.converters.ValueConverters.convertToInt;
+import static boxfish.commons.web.model.converters.ValueConverters.convertToLong;
+import static boxfish.commons.web.model.converters.ValueConverters.convertToOptionalDouble;
+import static boxfish.commons.web.model.converters.ValueConverters.convertToOptionalLong;
+import static boxfish.commons.web.model.converters.ValueConverters.isConvertibleTo;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
 
 import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
-import boxfish.commons.web.model.converters.ValueToBigDecimal;
-import boxfish.commons.web.model.converters.ValueToBoolean;
-import boxfish.commons.web.model.converters.ValueToByte;
-import boxfish.commons.web.model.converters.ValueToDouble;
+import boxfish.commons.web.model.converters.EnumMatching;
+import boxfish.commons.web.model.converters.ValueConverters;
+import boxfish.commons.web.model.converters.ValueSplitter;
+import boxfish.commons.web.model.converters.ValueToDoubleArray;
 import boxfish.commons.web.model.converters.ValueToEnum;
-import boxfish.commons.web.model.converters.ValueToFloat;
 import boxfish.commons.web.model.converters.ValueToInstant;
-import boxfish.commons.web.model.converters.ValueToInteger;
+import boxfish.commons.web.model.converters.ValueToIntArray;
 import boxfish.commons.web.model.converters.ValueToList;
-import boxfish.commons.web.model.converters.ValueToLong;
-import boxfish.commons.web.model.converters.ValueToModel;
-import boxfish.commons.web.model.converters.ValueToShort;
-import boxfish.commons.web.model.converters.ValueToString;
+import boxfish.commons.web.model.converters.ValueToLongArray;
 
 /**
  * Wrapps the original value allowing easy type
@@ -42,7 +52,7 @@ public class RestValue {
      * @return a string representing the value
      */
     public String asString() {
-        return new ValueToString(value).parse();
+        return convert(value, String.class);
     }
 
     /**
@@ -52,7 +62,28 @@ public class RestValue {
      * @return a long representing the value.
      */
     public Long asLong() {
-        return new ValueToLong(value).parse();
+        return convert(value, Long.class);
+    }
+
+    /**
+     * Presents the value as a primitive long, without
+     * boxing it along the way.
+     *
+     * @param defaultValue returned when the value is null or isn't numeric.
+     * @return a long representing the value.
+     */
+    public long longValue(final long defaultValue) {
+        return convertToLong(value, defaultValue);
+    }
+
+    /**
+     * Presents the value as an OptionalLong, without
+     * boxing it along the way.
+     *
+     * @return a long representing the value, or empty when it's null or isn't numeric.
+     */
+    public OptionalLong asOptionalLong() {
+        return convertToOptionalLong(value);
     }
 
     /**
@@ -62,7 +93,18 @@ public class RestValue {
      * @return an integer representing the value.
      */
     public Integer asInteger() {
-        return new ValueToInteger(value).parse();
+        return convert(value, Integer.class);
+    }
+
+    /**
+     * Presents the value as a primitive int, without
+     * boxing it along the way.
+     *
+     * @param defaultValue returned when the value is null or isn't numeric.
+     * @return an int representing the value.
+     */
+    public int intValue(final int defaultValue) {
+        return convertToInt(value, defaultValue);
     }
 
     /**
@@ -72,7 +114,7 @@ public class RestValue {
      * @return a short representing the value
      */
     public Short asShort() {
-        return new ValueToShort(value).parse();
+        return convert(value, Short.class);
     }
 
     /**
@@ -82,7 +124,7 @@ public class RestValue {
      * @return a byte representing the value.
      */
     public Byte asByte() {
-        return new ValueToByte(value).parse();
+        return convert(value, Byte.class);
     }
 
     /**
@@ -91,7 +133,18 @@ public class RestValue {
      * @return a boolean representing a value.
      */
     public Boolean asBoolean() {
-        return new ValueToBoolean(value).parse();
+        return convert(value, Boolean.class);
+    }
+
+    /**
+     * Presents the value as a primitive boolean, without
+     * boxing it along the way.
+     *
+     * @param defaultValue returned when the value is null or isn't a boolean.
+     * @return a boolean representing the value.
+     */
+    public boolean booleanValue(final boolean defaultValue) {
+        return convertToBoolean(value, defaultValue);
     }
 
     /**
@@ -101,7 +154,7 @@ public class RestValue {
      * @return a BigDecimal representing the value.
      */
     public BigDecimal asBigDecimal() {
-        return new ValueToBigDecimal(value).parse();
+        return convert(value, BigDecimal.class);
     }
 
     /**
@@ -111,7 +164,7 @@ public class RestValue {
      * @return a Float representing the value.
      */
     public Float asFloat() {
-        return new ValueToFloat(value).parse();
+        return convert(value, Float.class);
     }
 
     /**
@@ -121,7 +174,28 @@ public class RestValue {
      * @return a Double representing the value.
      */
     public Double asDouble() {
-        return new ValueToDouble(value).parse();
+        return convert(value, Double.class);
+    }
+
+    /**
+     * Presents the value as a primitive double, without
+     * boxing it along the way.
+     *
+     * @param defaultValue returned when the value is null or isn't numeric.
+     * @return a double representing the value.
+     */
+    public double doubleValue(final double defaultValue) {
+        return convertToDouble(value, defaultValue);
+    }
+
+    /**
+     * Presents the value as an OptionalDouble, without
+     * boxing it along the way.
+     *
+     * @return a double representing the value, or empty when it's null or isn't numeric.
+     */
+    public OptionalDouble asOptionalDouble() {
+        return convertToOptionalDouble(value);
     }
 
     /**
@@ -130,7 +204,19 @@ public class RestValue {
      * @return an Instant representing the value.
      */
     public Instant asInstant() {
-        return new ValueToInstant(value).parse();
+        return convert(value, Instant.class);
+    }
+
+    /**
+     * Presents the value as Instant, reading numeric values
+     * (and integer Strings) as an amount of the given unit
+     * since the epoch.
+     *
+     * @param epochUnit the unit of epoch values, like MILLIS or SECONDS.
+     * @return an Instant representing the value.
+     */
+    public Instant asInstant(final ChronoUnit epochUnit) {
+        return new ValueToInstant(value, epochUnit).parse();
     }
 
     /**
@@ -155,7 +241,7 @@ public class RestValue {
      * @return a RestModel representing the value when it's a complex object.
      */
     public RestModel asModel() {
-        return new ValueToModel(value).parse();
+        return convert(value, RestModel.class);
     }
 
     /**
@@ -169,6 +255,32 @@ public class RestValue {
         return new ValueToEnum<>(value, enumType).parse();
     }
 
+    /**
+     * Presents the value as an item of an Enum, matching
+     * String values against the names of the constants
+     * in the given way.
+     *
+     * @param enumType the type of the Enum.
+     * @param matching how String values are matched against the names.
+     * @param <TEnum> the type of the enum that will be used as return value.
+     * @return the value of the Enum that was parsed from the original value.
+     */
+    public <TEnum extends Enum<TEnum>>TEnum asEnum(final Class<TEnum> enumType, final EnumMatching matching) {
+        return new ValueToEnum<>(value, enumType, matching).parse();
+    }
+
+    /**
+     * Presents the value as the given type, through the conversions
+     * built in or registered in {@link ValueConverters}.
+     *
+     * @param type the type in which the value is presented.
+     * @param <TValue> the type in which the value is presented.
+     * @return the value converted into the type.
+     */
+    public <TValue> TValue as(final Class<TValue> type) {
+        return convert(value, type);
+    }
+
     /**
      * Presents the value as a List of wrapped values.
      *
@@ -178,6 +290,77 @@ public class RestValue {
         return new ValueToList(value).parse();
     }
 
+    /**
+     * Presents the value as a List of wrapped values, splitting
+     * Strings of separated values with the given splitter.
+     *
+     * @param splitter how Strings of separated values are split.
+     * @return a List of {@link RestValue} representing the value.
+     */
+    public List<RestValue> asList(final ValueSplitter splitter) {
+        return new ValueToList(value, splitter).parse();
+    }
+
+    /**
+     * Presents a list-like value (List, array or String of separated
+     * values) as an array of longs, converting each item directly.
+     *
+     * @return the array, or null when the value isn't list-like.
+     */
+    public long[] asLongArray() {
+        return new ValueToLongArray(value).parse();
+    }
+
+    /**
+     * Presents a list-like value (List, array or String of separated
+     * values) as an array of ints, converting each item directly.
+     *
+     * @return the array, or null when the value isn't list-like.
+     */
+    public int[] asIntArray() {
+        return new ValueToIntArray(value).parse();
+    }
+
+    /**
+     * Presents a list-like value (List, array or String of separated
+     * values) as an array of doubles, converting each item directly.
+     *
+     * @return the array, or null when the value isn't list-like.
+     */
+    public double[] asDoubleArray() {
+        return new ValueToDoubleArray(value).parse();
+    }
+
+    /**
+     * Presents a list-like value as a stream of longs.
+     *
+     * @return the stream, empty when the value isn't list-like.
+     */
+    public LongStream asLongStream() {
+        final long[] items = asLongArray();
+        return items != null ? LongStream.of(items) : LongStream.empty();
+    }
+
+    /**
+     * Presents a list-like value as a stream of ints.
+     *
+     * @return the stream, empty when the value isn't list-like.
+     */
+    public IntStream asIntStream() {
+        final int[] items = asIntArray();
+        return items != null ? IntStream.of(items) : IntStream.empty();
+    }
+
+    /**
+     * Presents a list-like value as a stream of doubles.
+     *
+     * @return the stream, empty when the value isn't list-like.
+     */
+    public DoubleStream asDoubleStream() {
+        final double[] items = asDoubleArray();
+        return items != null ? DoubleStream.of(items) : DoubleStream.empty();
+    }
+
     /**
      * * Presents the value as a List of a particular type.
      * 
@@ -185,7 +368,7 @@ public class RestValue {
      * @param <TValue> the value to which we will try to parse.
      * @return a typed list of values.
      */
-    @SuppressWarnings({"unchecked", "rawtypes"})
+    @SuppressWarnings("unchecked")
     public <TValue> List<TValue> asListOf(Class<TValue> clazz) {
         if (clazz == null)
             throw new IllegalArgumentException("'clazz' can't be null.");
@@ -199,7 +382,7 @@ public class RestValue {
         else if (Double.class.equals(clazz))
             return asList().stream().map(v -> (TValue) v.asDouble()).collect(toList());
         else if (clazz.isEnum())
-            return (List<TValue>) asList().stream().map(v -> (TValue) v.asEnum((Class<Enum>) clazz)).collect(toList());
+            return asList().stream().map(v -> clazz.cast(v.asEnumOf(clazz))).collect(toList());
         else if (Float.class.equals(clazz))
             return asList().stream().map(v -> (TValue) v.asFloat()).collect(toList());
         else if (Instant.class.equals(clazz))
@@ -216,10 +399,20 @@ public class RestValue {
             return asList().stream().map(v -> (TValue) v.asString()).collect(toList());
         else if (Object.class.equals(clazz))
             return asList().stream().map(v -> (TValue) v.asOriginal()).collect(toList());
+        else if (isConvertibleTo(clazz))
+            return asList().stream().map(v -> v.as(clazz)).collect(toList());
         else
             throw new UnsupportedOperationException(format("We cannot represent the value as a list of %s", clazz.getName()));
     }
 
+    /**
+     * Presents the value as a constant of an enum only known at runtime.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Enum<?> asEnumOf(final Class<?> enumType) {
+        return asEnum((Class<Enum>) enumType);
+    }
+
     /**
      * Presents the original value without type conversion.
      *
@@ -0,0 +1,118 @@
+package boxfish.commons.web.model.converters;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Dedicated parser of decimal Strings that reproduces the
+ * leading-number semantics of a US DecimalFormat("0.0") parsing
+ * BigDecimals, without the java.text machinery: an optional minus
+ * sign, digits, an optional fraction and an optional exponent
+ * ('E', an optional minus sign and digits). Parsing stops at the
+ * first character that doesn't fit, ignoring the rest of the text.
+ *
+ * @author Hudson Mendes
+ *
+ */
+final class DecimalParser {
+    private static final int LONG_SAFE_DIGITS = 18;
+    private static final int EXPONENT_SAFE_DIGITS = 9;
+
+    /**
+     * Parses the leading decimal number of the text.
+     *
+     * @param text the text that starts with a number.
+     * @return the number, or null if the text doesn't start with one.
+     */
+    static BigDecimal parse(final String text) {
+        final int length = text.length();
+        int i = 0;
+
+        final boolean negative = length > 0 && text.charAt(0) == '-';
+        if (negative)
+            i++;
+
+        final int integerStart = i;
+        while (i < length && Character.digit(text.charAt(i), 10) >= 0)
+            i++;
+        final int integerEnd = i;
+
+        int fractionStart = i;
+        int fractionEnd = i;
+        if (i < length && text.charAt(i) == '.') {
+            fractionStart = ++i;
+            while (i < length && Character.digit(text.charAt(i), 10) >= 0)
+                i++;
+            fractionEnd = i;
+        }
+
+        final int digits = (integerEnd - integerStart) + (fractionEnd - fractionStart);
+        if (digits == 0)
+            return null;
+
+        final long exponent = parseExponent(text, i);
+        final long scale = (fractionEnd - fractionStart) - exponent;
+        if (scale < Integer.MIN_VALUE || scale > Integer.MAX_VALUE)
+            return null;
+
+        final BigDecimal parsed = digits <= LONG_SAFE_DIGITS
+                ? BigDecimal.valueOf(unscaledOf(text, integerStart, integerEnd, fractionStart, fractionEnd), (int) scale)
+                : new BigDecimal(bigUnscaledOf(text, integerStart, integerEnd, fractionStart, fractionEnd), (int) scale);
+        return negative ? parsed.negate() : parsed;
+    }
+
+    private static long parseExponent(final String text, final int start) {
+        final int length = text.length();
+        if (start >= length || text.charAt(start) != 'E')
+            return 0;
+
+        int i = start + 1;
+        final boolean negative = i < length && text.charAt(i) == '-';
+        if (negative)
+            i++;
+
+        final int digitsStart = i;
+        long exponent = 0;
+        int digit;
+        while (i < length && (digit = Character.digit(text.charAt(i), 10)) >= 0) {
+            if (i - digitsStart < EXPONENT_SAFE_DIGITS + 2)
+                exponent = exponent * 10 + digit;
+            i++;
+        }
+
+        if (i == digitsStart)
+            return 0;
+        return negative ? -exponent : exponent;
+    }
+
+    private static long unscaledOf(
+            final String text,
+            final int integerStart,
+            final int integerEnd,
+            final int fractionStart,
+            final int fractionEnd) {
+        long unscaled = 0;
+        for (int i = integerStart; i < integerEnd; i++)
+            unscaled = unscaled * 10 + Character.digit(text.charAt(i), 10);
+        for (int i = fractionStart; i < fractionEnd; i++)
+            unscaled = unscaled * 10 + Character.digit(text.charAt(i), 10);
+        return unscaled;
+    }
+
+    private static BigInteger bigUnscaledOf(
+            final String text,
+            final int integerStart,
+            final int integerEnd,
+            final int fractionStart,
+            final int fractionEnd) {
+        final char[] digits = new char[(integerEnd - integerStart) + (fractionEnd - fractionStart)];
+        int size = 0;
+        for (int i = integerStart; i < integerEnd; i++)
+            digits[size++] = (char) ('0' + Character.digit(text.charAt(i), 10));
+        for (int i = fractionStart; i < fractionEnd; i++)
+            digits[size++] = (char) ('0' + Character.digit(text.charAt(i), 10));
+        return new BigInteger(new String(digits));
+    }
+
+    private DecimalParser() {}
+}
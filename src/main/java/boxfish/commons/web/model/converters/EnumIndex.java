@@ -0,0 +1,93 @@
+package boxfish.commons.web.model.converters;
+
+import static java.util.Collections.unmodifiableMap;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import boxfish.commons.web.model.FlexibleKey;
+
+/**
+ * Lookup index of the constants of an Enum, built once per
+ * Enum class, allowing constants to be found by name (in any
+ * of the {@link EnumMatching} modes) or ordinal without cloning
+ * the array of constants or scanning it.
+ *
+ * @author Hudson Mendes
+ *
+ * @param <TEnum> the type of the Enum.
+ */
+final class EnumIndex<TEnum extends Enum<TEnum>> {
+    private static final ClassValue<EnumIndex<?>> INDEXES = new ClassValue<EnumIndex<?>>() {
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        protected EnumIndex<?> computeValue(final Class<?> enumType) {
+            return new EnumIndex(enumType);
+        }
+    };
+
+    /**
+     * The index of the Enum class, built on first use.
+     *
+     * @param enumType the type of the Enum.
+     * @param <TEnum> the type of the Enum.
+     * @return the index.
+     */
+    @SuppressWarnings("unchecked")
+    static <TEnum extends Enum<TEnum>> EnumIndex<TEnum> indexOf(final Class<TEnum> enumType) {
+        return (EnumIndex<TEnum>) INDEXES.get(enumType);
+    }
+
+    private final TEnum[] constants;
+    private final Map<String, TEnum> byName;
+    private final Map<String, TEnum> byLowerCaseName;
+    private final Map<String, TEnum> byFlexibleKey;
+
+    private EnumIndex(final Class<TEnum> enumType) {
+        constants = enumType.getEnumConstants();
+        final Map<String, TEnum> names = new HashMap<>();
+        final Map<String, TEnum> lowerCaseNames = new HashMap<>();
+        final Map<String, TEnum> flexibleKeys = new HashMap<>();
+        for (final TEnum constant : constants) {
+            names.put(constant.name(), constant);
+            lowerCaseNames.putIfAbsent(constant.name().toLowerCase(Locale.ROOT), constant);
+            flexibleKeys.putIfAbsent(new FlexibleKey(constant.name()).build(), constant);
+        }
+        byName = unmodifiableMap(names);
+        byLowerCaseName = unmodifiableMap(lowerCaseNames);
+        byFlexibleKey = unmodifiableMap(flexibleKeys);
+    }
+
+    /**
+     * Finds the constant by its name.
+     *
+     * @param name the name, as received.
+     * @param matching how the name is matched.
+     * @return the constant, or null if not found.
+     */
+    TEnum byName(final String name, final EnumMatching matching) {
+        switch (matching) {
+            case CASE_INSENSITIVE:
+                return byLowerCaseName.get(name.toLowerCase(Locale.ROOT));
+            case FLEXIBLE_KEY:
+                if (name.trim().isEmpty())
+                    return null;
+                return byFlexibleKey.get(new FlexibleKey(name).build());
+            default:
+                return byName.get(name);
+        }
+    }
+
+    /**
+     * Finds the constant by its ordinal.
+     *
+     * @param ordinal the ordinal.
+     * @return the constant, or null if out of range.
+     */
+    TEnum byOrdinal(final int ordinal) {
+        if (ordinal < 0 || ordinal >= constants.length)
+            return null;
+        return constants[ordinal];
+    }
+}
@@ -0,0 +1,26 @@
+package boxfish.commons.web.model.converters;
+
+/**
+ * How String values are matched against the names of the
+ * constants of an Enum when parsing it.
+ *
+ * @author Hudson Mendes
+ *
+ */
+public enum EnumMatching {
+    /**
+     * The String must be exactly the name of the constant.
+     */
+    EXACT,
+
+    /**
+     * The String must be the name of the constant, in any case.
+     */
+    CASE_INSENSITIVE,
+
+    /**
+     * The String and the name of the constant must match once
+     * both are normalised to snake_case (as field names are).
+     */
+    FLEXIBLE_KEY
+}
@@ -0,0 +1,170 @@
+package boxfish.commons.web.model.converters;
+
+import java.time.Instant;
+
+/**
+ * Dedicated parser of the common ISO-8601 timestamps
+ * (yyyy-MM-ddTHH:mm:ss[.fraction] followed by 'Z' or an
+ * offset as +HH:mm or +HHmm) that avoids DateTimeFormatter.
+ * Anything out of this shape, or out of the usual ranges
+ * (like leap seconds), is left for Instant.parse to handle.
+ *
+ * @author Hudson Mendes
+ *
+ */
+final class InstantParser {
+    private static final int SECONDS_PER_DAY = 86400;
+    private static final int DAYS_0000_TO_1970 = 719528;
+    private static final int[] NANOS_SCALE = {
+        0, 100000000, 10000000, 1000000, 100000, 10000, 1000, 100, 10, 1
+    };
+
+    /**
+     * Parses the ISO-8601 timestamp.
+     *
+     * @param text the timestamp.
+     * @return the instant, or null if the text is not in the common shape.
+     */
+    static Instant parseIsoInstant(final String text) {
+        final int length = text.length();
+        if (length < 20
+            || text.charAt(4) != '-'
+            || text.charAt(7) != '-'
+            || (text.charAt(10) != 'T' && text.charAt(10) != 't')
+            || text.charAt(13) != ':'
+            || text.charAt(16) != ':')
+            return null;
+
+        final int year = digits(text, 0, 4);
+        final int month = digits(text, 5, 2);
+        final int day = digits(text, 8, 2);
+        final int hour = digits(text, 11, 2);
+        final int minute = digits(text, 14, 2);
+        final int second = digits(text, 17, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+            || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59)
+            return null;
+
+        int i = 19;
+        int nanos = 0;
+        if (text.charAt(i) == '.') {
+            final int fractionStart = ++i;
+            while (i < length && i - fractionStart < 9 && isDigit(text.charAt(i)))
+                nanos = nanos * 10 + (text.charAt(i++) - '0');
+            final int fractionDigits = i - fractionStart;
+            if (fractionDigits == 0)
+                return null;
+            nanos *= NANOS_SCALE[fractionDigits];
+        }
+
+        final int offsetSeconds = parseOffset(text, i);
+        if (offsetSeconds == Integer.MIN_VALUE)
+            return null;
+
+        final long epochDay = epochDayOf(year, month, day);
+        final long epochSecond = epochDay * SECONDS_PER_DAY + hour * 3600 + minute * 60 + second - offsetSeconds;
+        return Instant.ofEpochSecond(epochSecond, nanos);
+    }
+
+    /**
+     * Parses a signed integer String, as used by epoch timestamps.
+     *
+     * @param text the text.
+     * @return the number, or null if the text is not an integer.
+     */
+    static Long parseEpoch(final String text) {
+        final int length = text.length();
+        final int start = length > 0 && text.charAt(0) == '-' ? 1 : 0;
+        if (length == start || length - start > 18)
+            return null;
+
+        long value = 0;
+        for (int i = start; i < length; i++) {
+            final char c = text.charAt(i);
+            if (!isDigit(c))
+                return null;
+            value = value * 10 + (c - '0');
+        }
+        return start == 1 ? -value : value;
+    }
+
+    private static int parseOffset(final String text, final int start) {
+        final int length = text.length();
+        if (start >= length)
+            return Integer.MIN_VALUE;
+
+        final char sign = text.charAt(start);
+        if (sign == 'Z' || sign == 'z')
+            return start + 1 == length ? 0 : Integer.MIN_VALUE;
+
+        if (sign != '+' && sign != '-')
+            return Integer.MIN_VALUE;
+
+        final int hours;
+        final int minutes;
+        if (length - start == 6 && text.charAt(start + 3) == ':') {
+            hours = digits(text, start + 1, 2);
+            minutes = digits(text, start + 4, 2);
+        }
+        else if (length - start == 5) {
+            hours = digits(text, start + 1, 2);
+            minutes = digits(text, start + 3, 2);
+        }
+        else
+            return Integer.MIN_VALUE;
+
+        if (hours < 0 || hours > 18 || minutes < 0 || minutes > 59)
+            return Integer.MIN_VALUE;
+
+        final int offset = hours * 3600 + minutes * 60;
+        return sign == '-' ? -offset : offset;
+    }
+
+    private static int digits(final String text, final int start, final int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            final char c = text.charAt(i);
+            if (!isDigit(c))
+                return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLeapYear(final int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static int lengthOfMonth(final int year, final int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * Same arithmetic used by LocalDate.toEpochDay, for years 0000-9999.
+     */
+    private static long epochDayOf(final int year, final int month, final int day) {
+        long total = 365L * year;
+        total += (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2)
+            total -= isLeapYear(year) ? 1 : 2;
+        return total - DAYS_0000_TO_1970;
+    }
+
+    private InstantParser() {}
+}
@@ -0,0 +1,410 @@
+package boxfish.commons.web.model.converters;
+
+import static java.lang.String.format;
+import static java.util.Collections.unmodifiableMap;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import boxfish.commons.web.model.RestModel;
+
+/**
+ * Registry of the conversions from the classes of the values
+ * into the types they're presented as. Each (source class, target
+ * type) pair is resolved once into a stateless function, which is
+ * cached per source class, so converting a value is a single lookup
+ * and call with no converter being allocated.
+ *
+ * Conversions for custom source classes (or even custom target
+ * types) may be registered, taking precedence over the built in ones.
+ *
+ * @author Hudson Mendes
+ *
+ */
+public final class ValueConverters {
+    private static final Map<Class<?>, Target<?>> TARGETS = new ConcurrentHashMap<>();
+    private static final ToLongFunction<Object> REQUIRED_LONG = v -> required(convert(v, Long.class), v, "long");
+    private static final ToIntFunction<Object> REQUIRED_INT = v -> required(convert(v, Integer.class), v, "int");
+    private static final ToDoubleFunction<Object> REQUIRED_DOUBLE = v -> required(convert(v, Double.class), v, "double");
+
+    static {
+        TARGETS.putAll(builtInTargets());
+    }
+
+    /**
+     * Converts the value into the target type.
+     *
+     * @param value the original value (may be null).
+     * @param targetType the type in which the value is presented.
+     * @param <TTarget> the type in which the value is presented.
+     * @return the converted value.
+     */
+    public static <TTarget> TTarget convert(final Object value, final Class<TTarget> targetType) {
+        return targetOf(targetType).convert(value);
+    }
+
+    /**
+     * Converts the value into a long without boxing it.
+     *
+     * @param value the original value (may be null).
+     * @param defaultValue returned when the value is null or can't be presented as a long.
+     * @return the converted value.
+     */
+    public static long convertToLong(final Object value, final long defaultValue) {
+        final ToLongFunction<Object> conversion = targetOf(Long.class).primitiveOf(value);
+        if (conversion != null)
+            try {
+                return conversion.applyAsLong(value);
+            }
+            catch (final NumberFormatException e) {
+                return defaultValue;
+            }
+
+        final Long converted = value != null ? convert(value, Long.class) : null;
+        return converted != null ? converted : defaultValue;
+    }
+
+    /**
+     * Converts the value into a long without boxing it.
+     *
+     * @param value the original value (may be null).
+     * @return the converted value, or empty when the value is null or can't be presented as a long.
+     */
+    public static OptionalLong convertToOptionalLong(final Object value) {
+        final ToLongFunction<Object> conversion = targetOf(Long.class).primitiveOf(value);
+        if (conversion != null)
+            try {
+                return OptionalLong.of(conversion.applyAsLong(value));
+            }
+            catch (final NumberFormatException e) {
+                return OptionalLong.empty();
+            }
+
+        final Long converted = value != null ? convert(value, Long.class) : null;
+        return converted != null ? OptionalLong.of(converted) : OptionalLong.empty();
+    }
+
+    /**
+     * Converts the value into an int without boxing it.
+     *
+     * @param value the original value (may be null).
+     * @param defaultValue returned when the value is null or can't be presented as an int.
+     * @return the converted value.
+     */
+    public static int convertToInt(final Object value, final int defaultValue) {
+        final ToIntFunction<Object> conversion = targetOf(Integer.class).primitiveOf(value);
+        if (conversion != null)
+            try {
+                return conversion.applyAsInt(value);
+            }
+            catch (final NumberFormatException e) {
+                return defaultValue;
+            }
+
+        final Integer converted = value != null ? convert(value, Integer.class) : null;
+        return converted != null ? converted : defaultValue;
+    }
+
+    /**
+     * Converts the value into a double without boxing it.
+     *
+     * @param value the original value (may be null).
+     * @param defaultValue returned when the value is null or can't be presented as a double.
+     * @return the converted value.
+     */
+    public static double convertToDouble(final Object value, final double defaultValue) {
+        final ToDoubleFunction<Object> conversion = targetOf(Double.class).primitiveOf(value);
+        if (conversion != null)
+            try {
+                return conversion.applyAsDouble(value);
+            }
+            catch (final NumberFormatException e) {
+                return defaultValue;
+            }
+
+        final Double converted = value != null ? convert(value, Double.class) : null;
+        return converted != null ? converted : defaultValue;
+    }
+
+    /**
+     * Converts the value into a double without boxing it.
+     *
+     * @param value the original value (may be null).
+     * @return the converted value, or empty when the value is null or can't be presented as a double.
+     */
+    public static OptionalDouble convertToOptionalDouble(final Object value) {
+        final ToDoubleFunction<Object> conversion = targetOf(Double.class).primitiveOf(value);
+        if (conversion != null)
+            try {
+                return OptionalDouble.of(conversion.applyAsDouble(value));
+            }
+            catch (final NumberFormatException e) {
+                return OptionalDouble.empty();
+            }
+
+        final Double converted = value != null ? convert(value, Double.class) : null;
+        return converted != null ? OptionalDouble.of(converted) : OptionalDouble.empty();
+    }
+
+    /**
+     * Converts the value into a boolean without boxing it.
+     *
+     * @param value the original value (may be null).
+     * @param defaultValue returned when the value is null or can't be presented as a boolean.
+     * @return the converted value.
+     */
+    public static boolean convertToBoolean(final Object value, final boolean defaultValue) {
+        final Predicate<Object> conversion = targetOf(Boolean.class).primitiveOf(value);
+        if (conversion != null)
+            return conversion.test(value);
+
+        final Boolean converted = value != null ? convert(value, Boolean.class) : null;
+        return converted != null ? converted : defaultValue;
+    }
+
+    /**
+     * Resolves how the value is converted into a long, for
+     * converting many values (like items of a list) in a row.
+     *
+     * @param value the original value.
+     * @return the conversion, which fails for values that can't be presented as a long; or null for null values.
+     */
+    static ToLongFunction<Object> longConversionOf(final Object value) {
+        if (value == null)
+            return null;
+        final ToLongFunction<Object> conversion = targetOf(Long.class).primitiveOf(value);
+        return conversion != null ? conversion : REQUIRED_LONG;
+    }
+
+    /**
+     * Resolves how the value is converted into an int, for
+     * converting many values (like items of a list) in a row.
+     *
+     * @param value the original value.
+     * @return the conversion, which fails for values that can't be presented as an int; or null for null values.
+     */
+    static ToIntFunction<Object> intConversionOf(final Object value) {
+        if (value == null)
+            return null;
+        final ToIntFunction<Object> conversion = targetOf(Integer.class).primitiveOf(value);
+        return conversion != null ? conversion : REQUIRED_INT;
+    }
+
+    /**
+     * Resolves how the value is converted into a double, for
+     * converting many values (like items of a list) in a row.
+     *
+     * @param value the original value.
+     * @return the conversion, which fails for values that can't be presented as a double; or null for null values.
+     */
+    static ToDoubleFunction<Object> doubleConversionOf(final Object value) {
+        if (value == null)
+            return null;
+        final ToDoubleFunction<Object> conversion = targetOf(Double.class).primitiveOf(value);
+        return conversion != null ? conversion : REQUIRED_DOUBLE;
+    }
+
+    /**
+     * Tells whether values can be presented as the target type.
+     *
+     * @param targetType the type in which values are presented.
+     * @return true if there's a built in or registered conversion into it.
+     */
+    public static boolean isConvertibleTo(final Class<?> targetType) {
+        return targetType != null && TARGETS.containsKey(targetType);
+    }
+
+    /**
+     * Registers the conversion of the values of a source class
+     * (or any of its subclasses) into the target type. Later
+     * registrations of the same pair replace the former ones.
+     *
+     * @param sourceType the class of the values.
+     * @param targetType the type in which the values are presented.
+     * @param conversion the stateless function that converts the values.
+     * @param <TSource> the class of the values.
+     * @param <TTarget> the type in which the values are presented.
+     */
+    @SuppressWarnings("unchecked")
+    public static <TSource, TTarget> void register(
+            final Class<TSource> sourceType,
+            final Class<TTarget> targetType,
+            final Function<? super TSource, ? extends TTarget> conversion) {
+        if (sourceType == null)
+            throw new IllegalArgumentException("'sourceType' can't be null.");
+        if (targetType == null)
+            throw new IllegalArgumentException("'targetType' can't be null.");
+        if (conversion == null)
+            throw new IllegalArgumentException("'conversion' can't be null.");
+
+        final Target<TTarget> target = (Target<TTarget>) TARGETS.computeIfAbsent(
+            targetType,
+            t -> new Target<>(c -> v -> null));
+        target.register(sourceType, (Function<Object, TTarget>) conversion);
+    }
+
+    /**
+     * Forgets every registered conversion, going back to the built in
+     * ones, which are replaced before the registered ones are removed,
+     * so conversions going on meanwhile still find a target. The
+     * conversions already resolved for each class of value (cached per
+     * target type) are discarded along with the replaced targets, so
+     * no value is converted by a forgotten registration afterwards.
+     * Meant for tests and for applications that reload their
+     * registrations; conversions running concurrently may still
+     * finish with the former ones.
+     */
+    public static void reset() {
+        final Map<Class<?>, Target<?>> builtIns = builtInTargets();
+        TARGETS.putAll(builtIns);
+        TARGETS.keySet().retainAll(builtIns.keySet());
+    }
+
+    private static Map<Class<?>, Target<?>> builtInTargets() {
+        final Map<Class<?>, Target<?>> targets = new LinkedHashMap<>();
+        targets.put(String.class, new Target<>(ValueToString::conversionFrom));
+        targets.put(Long.class, new Target<>(ValueToLong::conversionFrom, ValueToLong::primitiveConversionFrom));
+        targets.put(Integer.class, new Target<>(ValueToInteger::conversionFrom, ValueToInteger::primitiveConversionFrom));
+        targets.put(Short.class, new Target<>(ValueToShort::conversionFrom));
+        targets.put(Byte.class, new Target<>(ValueToByte::conversionFrom));
+        targets.put(Boolean.class, new Target<>(ValueToBoolean::conversionFrom, ValueToBoolean::primitiveConversionFrom));
+        targets.put(BigDecimal.class, new Target<>(ValueToBigDecimal::conversionFrom));
+        targets.put(Float.class, new Target<>(ValueToFloat::conversionFrom));
+        targets.put(Double.class, new Target<>(ValueToDouble::conversionFrom, ValueToDouble::primitiveConversionFrom));
+        targets.put(Instant.class, new Target<>(c -> ValueToInstant.conversionFrom(c, ChronoUnit.MILLIS)));
+        targets.put(RestModel.class, new Target<>(ValueToModel::conversionFrom));
+        return targets;
+    }
+
+    private static <TNumber extends Number> TNumber required(final TNumber converted, final Object value, final String type) {
+        if (converted == null)
+            throw new IllegalStateException(format("The %s can't be presented as a %s.", value.getClass().getName(), type));
+        return converted;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <TTarget> Target<TTarget> targetOf(final Class<TTarget> targetType) {
+        if (targetType == null)
+            throw new IllegalArgumentException("'targetType' can't be null.");
+
+        final Target<TTarget> target = (Target<TTarget>) TARGETS.get(targetType);
+        if (target == null)
+            throw new UnsupportedOperationException(format("We cannot represent the value as %s", targetType.getName()));
+        return target;
+    }
+
+    /**
+     * The conversions into a single target type. Null values
+     * always go through the built in conversion of Object.
+     * Targets that are wrappers of primitives may also resolve
+     * conversions that don't box (like a ToLongFunction), which
+     * are only used for classes without registered conversions.
+     */
+    private static final class Target<TTarget> {
+        private static final Object NO_PRIMITIVE = new Object();
+
+        private final Function<Class<?>, Function<Object, TTarget>> builtIn;
+        private final Function<Class<?>, Object> primitiveBuiltIn;
+        private final Function<Object, TTarget> ofNull;
+        private volatile Map<Class<?>, Function<Object, TTarget>> registered = unmodifiableMap(new LinkedHashMap<>());
+        private volatile ClassValue<Function<Object, TTarget>> resolved = newResolution();
+        private volatile ClassValue<Object> primitiveResolved = newPrimitiveResolution();
+
+        private Target(final Function<Class<?>, Function<Object, TTarget>> builtIn) {
+            this(builtIn, c -> null);
+        }
+
+        private Target(
+                final Function<Class<?>, Function<Object, TTarget>> builtIn,
+                final Function<Class<?>, ?> primitiveBuiltIn) {
+            this.builtIn = builtIn;
+            this.primitiveBuiltIn = primitiveBuiltIn::apply;
+            this.ofNull = builtIn.apply(Object.class);
+        }
+
+        /**
+         * @return the conversion that doesn't box, or null if there's none for the value.
+         */
+        @SuppressWarnings("unchecked")
+        private <TPrimitive> TPrimitive primitiveOf(final Object value) {
+            if (value == null)
+                return null;
+            final Object primitive = primitiveResolved.get(value.getClass());
+            return primitive != NO_PRIMITIVE ? (TPrimitive) primitive : null;
+        }
+
+        private TTarget convert(final Object value) {
+            if (value == null)
+                return ofNull.apply(null);
+            return resolved.get(value.getClass()).apply(value);
+        }
+
+        private synchronized void register(final Class<?> sourceType, final Function<Object, TTarget> conversion) {
+            final Map<Class<?>, Function<Object, TTarget>> changed = new LinkedHashMap<>(registered);
+            changed.remove(sourceType);
+            changed.put(sourceType, conversion);
+            registered = unmodifiableMap(changed);
+            resolved = newResolution();
+            primitiveResolved = newPrimitiveResolution();
+        }
+
+        private ClassValue<Object> newPrimitiveResolution() {
+            return new ClassValue<Object>() {
+                @Override
+                protected Object computeValue(final Class<?> sourceType) {
+                    final Object primitive = isRegistered(sourceType) ? null : primitiveBuiltIn.apply(sourceType);
+                    return primitive != null ? primitive : NO_PRIMITIVE;
+                }
+            };
+        }
+
+        private boolean isRegistered(final Class<?> sourceType) {
+            for (final Class<?> registeredType : registered.keySet())
+                if (registeredType.isAssignableFrom(sourceType))
+                    return true;
+            return false;
+        }
+
+        private ClassValue<Function<Object, TTarget>> newResolution() {
+            return new ClassValue<Function<Object, TTarget>>() {
+                @Override
+                protected Function<Object, TTarget> computeValue(final Class<?> sourceType) {
+                    return resolve(sourceType);
+                }
+            };
+        }
+
+        /**
+         * The exact registered class wins, then the most recently
+         * registered superclass (or interface), then the built in.
+         */
+        private Function<Object, TTarget> resolve(final Class<?> sourceType) {
+            final Map<Class<?>, Function<Object, TTarget>> candidates = registered;
+            final Function<Object, TTarget> exact = candidates.get(sourceType);
+            if (exact != null)
+                return exact;
+
+            Function<Object, TTarget> assignable = null;
+            for (final Map.Entry<Class<?>, Function<Object, TTarget>> candidate : candidates.entrySet())
+                if (candidate.getKey().isAssignableFrom(sourceType))
+                    assignable = candidate.getValue();
+            if (assignable != null)
+                return assignable;
+
+            return builtIn.apply(sourceType);
+        }
+    }
+
+    private ValueConverters() {}
+}
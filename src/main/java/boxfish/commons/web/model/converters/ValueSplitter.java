@@ -0,0 +1,251 @@
+package boxfish.commons.web.model.converters;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Splits Strings of separated values (like "1,2,3" or "[a; b]")
+ * into their trimmed items without regular expressions, scanning
+ * the text once and only keeping the bounds of each item, so
+ * substrings are only created for the items that are accessed.
+ *
+ * The surrounding brackets are ignored, and the first of the
+ * delimiters (in order of priority) found in the text is the one
+ * that separates it, like the default splitter, which splits on
+ * ';' if there's any in the text, or on ',' otherwise. As with
+ * String.split, empty items at the end are discarded.
+ *
+ * @author Hudson Mendes
+ *
+ */
+public final class ValueSplitter {
+    private static final char NO_QUOTE = '\0';
+    private static final char NO_DELIMITER = '\0';
+    private static final ValueSplitter DEFAULT = new ValueSplitter(new char[] {';', ','}, NO_QUOTE);
+
+    /**
+     * The splitter used for list values by default,
+     * which splits on ';' or, if there's none, on ','.
+     *
+     * @return the default splitter.
+     */
+    public static ValueSplitter defaultSplitter() {
+        return DEFAULT;
+    }
+
+    /**
+     * A splitter that splits on the first of the delimiters
+     * found in the text, in the given order of priority.
+     *
+     * @param delimiters the delimiters, in order of priority.
+     * @return the splitter.
+     */
+    public static ValueSplitter splitOn(final char... delimiters) {
+        if (delimiters == null || delimiters.length == 0)
+            throw new IllegalArgumentException("'delimiters' can't be empty.");
+
+        return new ValueSplitter(delimiters.clone(), NO_QUOTE);
+    }
+
+    private final char[] delimiters;
+    private final char quote;
+
+    private ValueSplitter(final char[] delimiters, final char quote) {
+        this.delimiters = delimiters;
+        this.quote = quote;
+    }
+
+    /**
+     * A splitter like this one, but in which delimiters between
+     * quotes don't split the text, and the quotes around the
+     * items are removed.
+     *
+     * @param quote the quoting character, like '"'.
+     * @return the splitter.
+     */
+    public ValueSplitter quotedBy(final char quote) {
+        for (final char delimiter : delimiters)
+            if (delimiter == quote)
+                throw new IllegalArgumentException("'quote' can't be one of the delimiters.");
+
+        return new ValueSplitter(delimiters, quote);
+    }
+
+    /**
+     * Splits the text into its trimmed items.
+     *
+     * @param text the text with separated values.
+     * @return a read-only list of the items.
+     */
+    public List<String> split(final String text) {
+        if (text == null)
+            throw new IllegalArgumentException("'text' can't be null.");
+
+        return slicesOf(text);
+    }
+
+    /**
+     * Finds the bounds of the items of the text.
+     *
+     * @param text the text with separated values.
+     * @return the items of the text.
+     */
+    Slices slicesOf(final String text) {
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ')
+            start++;
+        while (end > start && text.charAt(end - 1) <= ' ')
+            end--;
+        if (start < end && text.charAt(start) == '[')
+            start++;
+        if (end > start && text.charAt(end - 1) == ']')
+            end--;
+
+        final Slices slices = new Slices(text);
+        final char delimiter = delimiterOf(text, start, end);
+        if (delimiter == NO_DELIMITER) {
+            slices.add(start, end);
+            return slices;
+        }
+
+        boolean quoted = false;
+        int itemStart = start;
+        int lastNonEmpty = 0;
+        for (int i = start; i < end; i++) {
+            final char c = text.charAt(i);
+            if (c == quote && quote != NO_QUOTE)
+                quoted = !quoted;
+            else if (c == delimiter && !quoted) {
+                slices.add(itemStart, i);
+                if (i > itemStart)
+                    lastNonEmpty = slices.size();
+                itemStart = i + 1;
+            }
+        }
+        slices.add(itemStart, end);
+        if (end > itemStart)
+            lastNonEmpty = slices.size();
+
+        slices.truncate(lastNonEmpty);
+        return slices;
+    }
+
+    private char delimiterOf(final String text, final int start, final int end) {
+        for (final char delimiter : delimiters)
+            if (containsUnquoted(text, start, end, delimiter))
+                return delimiter;
+        return NO_DELIMITER;
+    }
+
+    private boolean containsUnquoted(final String text, final int start, final int end, final char delimiter) {
+        boolean quoted = false;
+        for (int i = start; i < end; i++) {
+            final char c = text.charAt(i);
+            if (c == quote && quote != NO_QUOTE)
+                quoted = !quoted;
+            else if (c == delimiter && !quoted)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * The trimmed (and unquoted) bounds of the items of a text,
+     * which are only turned into Strings when accessed.
+     */
+    final class Slices extends AbstractList<String> implements RandomAccess {
+        private final String text;
+        private int[] bounds = new int[16];
+        private int size;
+
+        private Slices(final String text) {
+            this.text = text;
+        }
+
+        private void add(final int start, final int end) {
+            int itemStart = start;
+            int itemEnd = end;
+            while (itemStart < itemEnd && text.charAt(itemStart) <= ' ')
+                itemStart++;
+            while (itemEnd > itemStart && text.charAt(itemEnd - 1) <= ' ')
+                itemEnd--;
+            if (quote != NO_QUOTE
+                && itemEnd - itemStart >= 2
+                && text.charAt(itemStart) == quote
+                && text.charAt(itemEnd - 1) == quote) {
+                itemStart++;
+                itemEnd--;
+            }
+
+            if (size * 2 == bounds.length)
+                bounds = Arrays.copyOf(bounds, bounds.length * 2);
+            bounds[size * 2] = itemStart;
+            bounds[size * 2 + 1] = itemEnd;
+            size++;
+        }
+
+        private void truncate(final int newSize) {
+            size = newSize;
+        }
+
+        int startOf(final int index) {
+            return bounds[index * 2];
+        }
+
+        int endOf(final int index) {
+            return bounds[index * 2 + 1];
+        }
+
+        /**
+         * Counts the digits of the item when it's a plain integer
+         * (an optional sign followed by digits only).
+         *
+         * @param index the index of the item.
+         * @return the count of digits, or 0 when it's not a plain integer.
+         */
+        int integerDigitsOf(final int index) {
+            final int end = endOf(index);
+            int i = startOf(index);
+            if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+'))
+                i++;
+            final int digitsStart = i;
+            while (i < end && text.charAt(i) >= '0' && text.charAt(i) <= '9')
+                i++;
+            return i == end ? end - digitsStart : 0;
+        }
+
+        /**
+         * Parses the item known to be a plain integer
+         * of up to 18 digits.
+         *
+         * @param index the index of the item.
+         * @return the integer.
+         */
+        long integerOf(final int index) {
+            final int end = endOf(index);
+            int i = startOf(index);
+            final boolean negative = text.charAt(i) == '-';
+            if (negative || text.charAt(i) == '+')
+                i++;
+            long value = 0;
+            for (; i < end; i++)
+                value = value * 10 + (text.charAt(i) - '0');
+            return negative ? -value : value;
+        }
+
+        @Override
+        public String get(final int index) {
+            if (index < 0 || index >= size)
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            return text.substring(startOf(index), endOf(index));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -1,9 +1,7 @@
 package boxfish.commons.web.model.converters;
 
 import java.math.BigDecimal;
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
-import java.util.Locale;
+import java.util.function.Function;
 
 /**
  * Sophisticated type conversion and parsing from Object to BigDecimal,
@@ -21,53 +19,52 @@ public class ValueToBigDecimal extends AbstractValueConverter<BigDecimal> {
 
     @Override
     public BigDecimal parse() {
-        if (getValue() == null)
-            return null;
-
-        final BigDecimal decimal = makeBigDecimal();
-        if (decimal != null)
-            return decimal.stripTrailingZeros();
-        else
-            return null;
+        return ValueConverters.convert(getValue(), BigDecimal.class);
     }
 
-    private BigDecimal makeBigDecimal() {
-        if (String.class.equals(getValueClass()))
-            return (BigDecimal) formatStringJustInCase();
+    /**
+     * Resolves how values of the given class are converted.
+     *
+     * @param valueClass the class of the values.
+     * @return the stateless conversion of the values.
+     */
+    static Function<Object, BigDecimal> conversionFrom(final Class<?> valueClass) {
+        if (String.class.equals(valueClass))
+            return v -> stripped(formatStringJustInCase((String) v));
 
-        if (BigDecimal.class.equals(getValueClass()))
-            return (BigDecimal) getValue();
+        if (BigDecimal.class.equals(valueClass))
+            return v -> stripped((BigDecimal) v);
 
-        if (Float.class.equals(getValueClass()))
-            return new BigDecimal(((Float) getValue()).toString());
+        if (Float.class.equals(valueClass))
+            return v -> stripped(new BigDecimal(((Float) v).toString()));
 
-        if (Double.class.equals(getValueClass()))
-            return new BigDecimal(((Double) getValue()).toString());
+        if (Double.class.equals(valueClass))
+            return v -> stripped(new BigDecimal(((Double) v).toString()));
 
-        if (Byte.class.equals(getValueClass()))
-            return BigDecimal.valueOf((Byte) getValue());
+        if (Byte.class.equals(valueClass))
+            return v -> stripped(BigDecimal.valueOf((Byte) v));
 
-        if (Short.class.equals(getValueClass()))
-            return BigDecimal.valueOf((Short) getValue());
+        if (Short.class.equals(valueClass))
+            return v -> stripped(BigDecimal.valueOf((Short) v));
 
-        if (Integer.class.equals(getValueClass()))
-            return BigDecimal.valueOf((Integer) getValue());
+        if (Integer.class.equals(valueClass))
+            return v -> stripped(BigDecimal.valueOf((Integer) v));
 
-        if (Long.class.equals(getValueClass()))
-            return BigDecimal.valueOf((Long) getValue());
+        if (Long.class.equals(valueClass))
+            return v -> stripped(BigDecimal.valueOf((Long) v));
 
-        return null;
+        return v -> null;
     }
 
-    private Number formatStringJustInCase() {
-        final DecimalFormatSymbols symbols = new DecimalFormatSymbols(Locale.US);
-        final DecimalFormat format = new DecimalFormat("0.0", symbols);
-        format.setParseBigDecimal(true);
-        try {
-            return format.parse((String) getValue());
-        }
-        catch (final Exception e) {
-            return BigDecimal.ZERO;
-        }
+    private static BigDecimal stripped(final BigDecimal decimal) {
+        return decimal.stripTrailingZeros();
     }
+
+    private static BigDecimal formatStringJustInCase(final String value) {
+        final BigDecimal parsed = DecimalParser.parse(value);
+        if (parsed != null)
+            return parsed;
+        return BigDecimal.ZERO;
+    }
+
 }
@@ -1,5 +1,8 @@
 package boxfish.commons.web.model.converters;
 
+import java.util.function.Function;
+import java.util.function.Predicate;
+
 /**
  * Sophisticated type conversion and parsing from Object to Boolean,
  * which aims to perform any possible casting or parsing in representing
@@ -16,14 +19,38 @@ public class ValueToBoolean extends AbstractValueConverter<Boolean> {
 
     @Override
     public Boolean parse() {
-        if (getValue() == null)
-            return null;
+        return ValueConverters.convert(getValue(), Boolean.class);
+    }
+
+    /**
+     * Resolves how values of the given class are converted.
+     *
+     * @param valueClass the class of the values.
+     * @return the stateless conversion of the values.
+     */
+    static Function<Object, Boolean> conversionFrom(final Class<?> valueClass) {
+        if (String.class.equals(valueClass))
+            return v -> Boolean.valueOf((String) v);
+
+        if (Boolean.class.equals(valueClass))
+            return v -> (Boolean) v;
+
+        return v -> null;
+    }
 
-        if (String.class.equals(getValueClass()))
-            return new Boolean((String) getValue());
+    /**
+     * Resolves how values of the given class are converted
+     * without boxing the result.
+     *
+     * @param valueClass the class of the values.
+     * @return the stateless conversion of the values, or null if there's none.
+     */
+    static Predicate<Object> primitiveConversionFrom(final Class<?> valueClass) {
+        if (String.class.equals(valueClass))
+            return v -> Boolean.parseBoolean((String) v);
 
-        if (Boolean.class.equals(getValueClass()))
-            return (Boolean) getValue();
+        if (Boolean.class.equals(valueClass))
+            return v -> ((Boolean) v).booleanValue();
 
         return null;
     }
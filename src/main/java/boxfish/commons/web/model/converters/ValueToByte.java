@@ -1,6 +1,7 @@
 package boxfish.commons.web.model.converters;
 
 import java.math.BigDecimal;
+import java.util.function.Function;
 
 /**
  * Sophisticated type conversion and parsing from Object to Byte,
@@ -18,34 +19,41 @@ public class ValueToByte extends AbstractValueConverter<Byte> {
 
     @Override
     public Byte parse() {
-        if (getValue() == null)
-            return null;
+        return ValueConverters.convert(getValue(), Byte.class);
+    }
 
-        if (String.class.equals(getValueClass()))
-            return new Byte((String) getValue());
+    /**
+     * Resolves how values of the given class are converted.
+     *
+     * @param valueClass the class of the values.
+     * @return the stateless conversion of the values.
+     */
+    static Function<Object, Byte> conversionFrom(final Class<?> valueClass) {
+        if (String.class.equals(valueClass))
+            return v -> Byte.valueOf((String) v);
 
-        if (BigDecimal.class.equals(getValueClass()))
-            return ((BigDecimal) getValue()).byteValue();
+        if (BigDecimal.class.equals(valueClass))
+            return v -> ((BigDecimal) v).byteValue();
 
-        if (Float.class.equals(getValueClass()))
-            return ((Float) getValue()).byteValue();
+        if (Float.class.equals(valueClass))
+            return v -> ((Float) v).byteValue();
 
-        if (Double.class.equals(getValueClass()))
-            return ((Double) getValue()).byteValue();
+        if (Double.class.equals(valueClass))
+            return v -> ((Double) v).byteValue();
 
-        if (Byte.class.equals(getValueClass()))
-            return (Byte) getValue();
+        if (Byte.class.equals(valueClass))
+            return v -> (Byte) v;
 
-        if (Short.class.equals(getValueClass()))
-            return ((Short) getValue()).byteValue();
+        if (Short.class.equals(valueClass))
+            return v -> ((Short) v).byteValue();
 
-        if (Integer.class.equals(getValueClass()))
-            return ((Integer) getValue()).byteValue();
+        if (Integer.class.equals(valueClass))
+            return v -> ((Integer) v).byteValue();
 
-        if (Long.class.equals(getValueClass()))
-            return ((Long) getValue()).byteValue();
+        if (Long.class.equals(valueClass))
+            return v -> ((Long) v).byteValue();
 
-        return null;
+        return v -> null;
     }
 
 }
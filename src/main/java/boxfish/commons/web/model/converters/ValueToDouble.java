@@ -1,6 +1,8 @@
 package boxfish.commons.web.model.converters;
 
 import java.math.BigDecimal;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 
 /**
  * Sophisticated type conversion and parsing from Object to Double,
@@ -18,33 +20,78 @@ public class ValueToDouble extends AbstractValueConverter<Double> {
 
     @Override
     public Double parse() {
-        if (getValue() == null)
-            return null;
+        return ValueConverters.convert(getValue(), Double.class);
+    }
+
+    /**
+     * Resolves how values of the given class are converted.
+     *
+     * @param valueClass the class of the values.
+     * @return the stateless conversion of the values.
+     */
+    static Function<Object, Double> conversionFrom(final Class<?> valueClass) {
+        if (String.class.equals(valueClass))
+            return v -> Double.valueOf((String) v);
+
+        if (Float.class.equals(valueClass))
+            return v -> Double.valueOf(((Float) v).toString());
+
+        if (Double.class.equals(valueClass))
+            return v -> (Double) v;
+
+        if (BigDecimal.class.equals(valueClass))
+            return v -> Double.valueOf(((BigDecimal) v).toString());
+
+        if (Byte.class.equals(valueClass))
+            return v -> Double.valueOf((Byte) v);
 
-        if (String.class.equals(getValueClass()))
-            return new Double((String) getValue());
+        if (Short.class.equals(valueClass))
+            return v -> Double.valueOf((Short) v);
 
-        if (Float.class.equals(getValueClass()))
-            return Double.valueOf(((Float) getValue()).toString());
+        if (Integer.class.equals(valueClass))
+            return v -> Double.valueOf((Integer) v);
 
-        if (Double.class.equals(getValueClass()))
-            return Double.valueOf((Double) getValue());
+        if (Long.class.equals(valueClass))
+            return v -> Double.valueOf((Long) v);
 
-        if (BigDecimal.class.equals(getValueClass()))
-            return Double.valueOf(((BigDecimal) getValue()).toString());
+        return v -> null;
+    }
+
+    /**
+     * Resolves how values of the given class are converted
+     * without boxing the result. Strings that can't be parsed
+     * fail with NumberFormatException, which ValueConverters
+     * turns into the default value (or an empty optional).
+     *
+     * @param valueClass the class of the values.
+     * @return the stateless conversion of the values, or null if there's none.
+     */
+    static ToDoubleFunction<Object> primitiveConversionFrom(final Class<?> valueClass) {
+        if (String.class.equals(valueClass))
+            return v -> Double.parseDouble((String) v);
+
+        if (Float.class.equals(valueClass))
+            return v -> Double.parseDouble(((Float) v).toString());
 
-        if (Byte.class.equals(getValueClass()))
-            return Double.valueOf((Byte) getValue());
+        if (BigDecimal.class.equals(valueClass))
+            return v -> Double.parseDouble(((BigDecimal) v).toString());
 
-        if (Short.class.equals(getValueClass()))
-            return Double.valueOf((Short) getValue());
+        if (Double.class.equals(valueClass))
+            return v -> ((Double) v).doubleValue();
 
-        if (Integer.class.equals(getValueClass()))
-            return Double.valueOf((Integer) getValue());
+        if (Byte.class.equals(valueClass))
+            return v -> ((Byte) v).doubleValue();
 
-        if (Long.class.equals(getValueClass()))
-            return Double.valueOf((Long) getValue());
+        if (Short.class.equals(valueClass))
+            return v -> ((Short) v).doubleValue();
+
+        if (Integer.class.equals(valueClass))
+            return v -> ((Integer) v).doubleValue();
+
+        if (Long.class.equals(valueClass))
+            return v -> ((Long) v).doubleValue();
 
         return null;
     }
+
 }
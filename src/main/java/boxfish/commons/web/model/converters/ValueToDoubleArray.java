@@ -0,0 +1,32 @@
+package boxfish.commons.web.model.converters;
+
+/**
+ * Conversion of list-like values (Lists, arrays and Strings of
+ * separated values) into a double[], converting every item
+ * straight into its primitive, in a single pass and without
+ * wrapping or boxing the items along the way.
+ *
+ * @author Hudson Mendes
+ *
+ */
+public class ValueToDoubleArray extends ValueToPrimitiveArray<double[]> {
+
+    public ValueToDoubleArray(final Object value) {
+        super(value, double[].class, double[]::new, "a double", 15);
+    }
+
+    @Override
+    protected void storeLong(final double[] array, final int index, final long item) {
+        array[index] = item;
+    }
+
+    @Override
+    protected void storeDouble(final double[] array, final int index, final double item) {
+        array[index] = item;
+    }
+
+    @Override
+    protected void store(final double[] array, final int index, final Object item) {
+        array[index] = ValueConverters.doubleConversionOf(item).applyAsDouble(item);
+    }
+}
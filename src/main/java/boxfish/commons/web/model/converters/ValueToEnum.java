@@ -11,10 +11,16 @@ package boxfish.commons.web.model.converters;
  */
 public class ValueToEnum<TEnum extends Enum<TEnum>> extends AbstractValueConverter<TEnum> {
     private final Class<TEnum> enumType;
+    private final EnumMatching matching;
 
     public ValueToEnum(final Object value, Class<TEnum> enumType) {
+        this(value, enumType, EnumMatching.EXACT);
+    }
+
+    public ValueToEnum(final Object value, Class<TEnum> enumType, final EnumMatching matching) {
         super(value);
         this.enumType = enumType;
+        this.matching = matching;
     }
 
     @Override
@@ -23,18 +29,23 @@ public class ValueToEnum<TEnum extends Enum<TEnum>> extends AbstractValueConvert
         if (enumType == null)
             throw new IllegalStateException("'enumType' is required before parsing.");
 
+        if (matching == null)
+            throw new IllegalStateException("'matching' is required before parsing.");
+
         if (enumType.equals(getValueClass()))
             return (TEnum) getValue();
 
-        if (String.class.equals(getValueClass()))
-            for (final TEnum item : enumType.getEnumConstants())
-                if (item != null && item.name().equals(getValue()))
-                    return item;
+        final EnumIndex<TEnum> index = EnumIndex.indexOf(enumType);
+        if (String.class.equals(getValueClass())) {
+            final TEnum item = index.byName((String) getValue(), matching);
+            if (item != null)
+                return item;
+        }
 
         final ValueToInteger intParser = new ValueToInteger(getValue());
         final Integer intValue = intParser.parse();
-        if (intValue != null && intValue < enumType.getEnumConstants().length)
-            return enumType.getEnumConstants()[intValue];
+        if (intValue != null)
+            return index.byOrdinal(intValue);
 
         return null;
     }
@@ -1,6 +1,7 @@
 package boxfish.commons.web.model.converters;
 
 import java.math.BigDecimal;
+import java.util.function.Function;
 
 /**
  * Sophisticated type conversion and parsing from Object to Float,
@@ -18,33 +19,41 @@ public class ValueToFloat extends AbstractValueConverter<Float> {
 
     @Override
     public Float parse() {
-        if (getValue() == null)
-            return null;
+        return ValueConverters.convert(getValue(), Float.class);
+    }
 
-        if (String.class.equals(getValueClass()))
-            return new Float((String) getValue());
+    /**
+     * Resolves how values of the given class are converted.
+     *
+     * @param valueClass the class of the values.
+     * @return the stateless conversion of the values.
+     */
+    static Function<Object, Float> conversionFrom(final Class<?> valueClass) {
+        if (String.class.equals(valueClass))
+            return v -> Float.valueOf((String) v);
 
-        if (BigDecimal.class.equals(getValueClass()))
-            return Float.valueOf(((BigDecimal) getValue()).toString());
+        if (BigDecimal.class.equals(valueClass))
+            return v -> Float.valueOf(((BigDecimal) v).toString());
 
-        if (Float.class.equals(getValueClass()))
-            return Float.valueOf((Float) getValue());
+        if (Float.class.equals(valueClass))
+            return v -> (Float) v;
 
-        if (Double.class.equals(getValueClass()))
-            return ((Double) getValue()).floatValue();
+        if (Double.class.equals(valueClass))
+            return v -> ((Double) v).floatValue();
 
-        if (Byte.class.equals(getValueClass()))
-            return Float.valueOf((Byte) getValue());
+        if (Byte.class.equals(valueClass))
+            return v -> Float.valueOf((Byte) v);
 
-        if (Short.class.equals(getValueClass()))
-            return Float.valueOf((Short) getValue());
+        if (Short.class.equals(valueClass))
+            return v -> Float.valueOf((Short) v);
 
-        if (Integer.class.equals(getValueClass()))
-            return Float.valueOf((Integer) getValue());
+        if (Integer.class.equals(valueClass))
+            return v -> Float.valueOf((Integer) v);
 
-        if (Long.class.equals(getValueClass()))
-            return Float.valueOf((Long) getValue());
+        if (Long.class.equals(valueClass))
+            return v -> Float.valueOf((Long) v);
 
-        return null;
+        return v -> null;
     }
+
 }
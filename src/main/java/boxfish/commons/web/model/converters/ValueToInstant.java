@@ -3,6 +3,8 @@ package boxfish.commons.web.model.converters;
 import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.function.Function;
 
 /**
  * Sophisticated type conversion and parsing from Object to Instant,
@@ -13,47 +15,92 @@ import java.time.Instant;
  *
  */
 public class ValueToInstant extends AbstractValueConverter<Instant> {
+    private final ChronoUnit epochUnit;
 
     public ValueToInstant(final Object value) {
+        this(value, ChronoUnit.MILLIS);
+    }
+
+    /**
+     * @param value the original value.
+     * @param epochUnit the unit of numeric values (and integer Strings)
+     *        counted from the epoch, like MILLIS or SECONDS.
+     */
+    public ValueToInstant(final Object value, final ChronoUnit epochUnit) {
         super(value);
+        this.epochUnit = epochUnit;
     }
 
     @Override
     public Instant parse() {
-        if (String.class.equals(getValueClass()))
-            return Instant.parse((String) getValue());
+        if (epochUnit == null)
+            throw new IllegalStateException("'epochUnit' is required before parsing.");
+
+        if (ChronoUnit.MILLIS.equals(epochUnit))
+            return ValueConverters.convert(getValue(), Instant.class);
+
+        return conversionFrom(getValueClass(), epochUnit).apply(getValue());
+    }
+
+    /**
+     * Resolves how values of the given class are converted.
+     *
+     * @param valueClass the class of the values.
+     * @param epochUnit the unit of numeric values counted from the epoch.
+     * @return the stateless conversion of the values.
+     */
+    static Function<Object, Instant> conversionFrom(final Class<?> valueClass, final ChronoUnit epochUnit) {
+        if (String.class.equals(valueClass))
+            return v -> fromString((String) v, epochUnit);
 
-        if (Byte.class.equals(getValueClass()))
-            return Instant.ofEpochMilli(((Byte) getValue()).longValue());
+        if (Byte.class.equals(valueClass))
+            return v -> fromEpoch(((Byte) v).longValue(), epochUnit);
 
-        if (Short.class.equals(getValueClass()))
-            return Instant.ofEpochMilli(((Short) getValue()).longValue());
+        if (Short.class.equals(valueClass))
+            return v -> fromEpoch(((Short) v).longValue(), epochUnit);
 
-        if (Integer.class.equals(getValueClass()))
-            return Instant.ofEpochMilli(((Integer) getValue()).longValue());
+        if (Integer.class.equals(valueClass))
+            return v -> fromEpoch(((Integer) v).longValue(), epochUnit);
 
-        if (Long.class.equals(getValueClass()))
-            return Instant.ofEpochMilli(((Long) getValue()).longValue());
+        if (Long.class.equals(valueClass))
+            return v -> fromEpoch(((Long) v).longValue(), epochUnit);
 
-        if (BigDecimal.class.equals(getValueClass()))
-            return Instant.ofEpochMilli(((BigDecimal) getValue()).longValue());
+        if (BigDecimal.class.equals(valueClass))
+            return v -> fromEpoch(((BigDecimal) v).longValue(), epochUnit);
 
-        if (Float.class.equals(getValueClass()))
-            return Instant.ofEpochMilli(((Float) getValue()).longValue());
+        if (Float.class.equals(valueClass))
+            return v -> fromEpoch(((Float) v).longValue(), epochUnit);
 
-        if (Double.class.equals(getValueClass()))
-            return Instant.ofEpochMilli(((Double) getValue()).longValue());
+        if (Double.class.equals(valueClass))
+            return v -> fromEpoch(((Double) v).longValue(), epochUnit);
 
-        if (Instant.class.equals(getValueClass()))
-            return (Instant) getValue();
+        if (Instant.class.equals(valueClass))
+            return v -> (Instant) v;
 
-        if (Timestamp.class.equals(getValueClass())) {
-            Timestamp stamp = (Timestamp) getValue();
-            if (stamp != null)
-                return stamp.toInstant();
-        }
+        if (Timestamp.class.equals(valueClass))
+            return v -> ((Timestamp) v).toInstant();
+
+        return v -> null;
+    }
+
+    private static Instant fromString(final String value, final ChronoUnit epochUnit) {
+        final Instant iso = InstantParser.parseIsoInstant(value);
+        if (iso != null)
+            return iso;
+
+        final Long epoch = InstantParser.parseEpoch(value);
+        if (epoch != null)
+            return fromEpoch(epoch, epochUnit);
+
+        return Instant.parse(value);
+    }
 
-        return null;
+    private static Instant fromEpoch(final long amount, final ChronoUnit epochUnit) {
+        if (ChronoUnit.MILLIS.equals(epochUnit))
+            return Instant.ofEpochMilli(amount);
+        if (ChronoUnit.SECONDS.equals(epochUnit))
+            return Instant.ofEpochSecond(amount);
+        return Instant.EPOCH.plus(amount, epochUnit);
     }
 
 }
@@ -0,0 +1,32 @@
+package boxfish.commons.web.model.converters;
+
+/**
+ * Conversion of list-like values (Lists, arrays and Strings of
+ * separated values) into an int[], converting every item
+ * straight into its primitive, in a single pass and without
+ * wrapping or boxing the items along the way.
+ *
+ * @author Hudson Mendes
+ *
+ */
+public class ValueToIntArray extends ValueToPrimitiveArray<int[]> {
+
+    public ValueToIntArray(final Object value) {
+        super(value, int[].class, int[]::new, "an int", 9);
+    }
+
+    @Override
+    protected void storeLong(final int[] array, final int index, final long item) {
+        array[index] = (int) item;
+    }
+
+    @Override
+    protected void storeDouble(final int[] array, final int index, final double item) {
+        array[index] = (int) item;
+    }
+
+    @Override
+    protected void store(final int[] array, final int index, final Object item) {
+        array[index] = ValueConverters.intConversionOf(item).applyAsInt(item);
+    }
+}
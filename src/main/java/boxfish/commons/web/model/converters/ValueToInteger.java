@@ -1,6 +1,8 @@
 package boxfish.commons.web.model.converters;
 
 import java.math.BigDecimal;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 /**
  * Sophisticated type conversion and parsing from Object to Integer,
@@ -18,32 +20,76 @@ public class ValueToInteger extends AbstractValueConverter<Integer> {
 
     @Override
     public Integer parse() {
-        if (getValue() == null)
-            return null;
+        return ValueConverters.convert(getValue(), Integer.class);
+    }
+
+    /**
+     * Resolves how values of the given class are converted.
+     *
+     * @param valueClass the class of the values.
+     * @return the stateless conversion of the values.
+     */
+    static Function<Object, Integer> conversionFrom(final Class<?> valueClass) {
+        if (String.class.equals(valueClass))
+            return v -> Integer.valueOf((String) v);
+
+        if (BigDecimal.class.equals(valueClass))
+            return v -> ((BigDecimal) v).intValue();
+
+        if (Float.class.equals(valueClass))
+            return v -> ((Float) v).intValue();
+
+        if (Double.class.equals(valueClass))
+            return v -> ((Double) v).intValue();
+
+        if (Byte.class.equals(valueClass))
+            return v -> ((Byte) v).intValue();
+
+        if (Short.class.equals(valueClass))
+            return v -> ((Short) v).intValue();
+
+        if (Integer.class.equals(valueClass))
+            return v -> (Integer) v;
+
+        if (Long.class.equals(valueClass))
+            return v -> ((Long) v).intValue();
+
+        return v -> null;
+    }
 
-        if (String.class.equals(getValueClass()))
-            return Integer.valueOf((String) getValue());
+    /**
+     * Resolves how values of the given class are converted
+     * without boxing the result. Strings that can't be parsed
+     * fail with NumberFormatException, which ValueConverters
+     * turns into the default value (or an empty optional).
+     *
+     * @param valueClass the class of the values.
+     * @return the stateless conversion of the values, or null if there's none.
+     */
+    static ToIntFunction<Object> primitiveConversionFrom(final Class<?> valueClass) {
+        if (String.class.equals(valueClass))
+            return v -> Integer.parseInt((String) v);
 
-        if (BigDecimal.class.equals(getValueClass()))
-            return ((BigDecimal) getValue()).intValue();
+        if (BigDecimal.class.equals(valueClass))
+            return v -> ((BigDecimal) v).intValue();
 
-        if (Float.class.equals(getValueClass()))
-            return ((Float) getValue()).intValue();
+        if (Float.class.equals(valueClass))
+            return v -> ((Float) v).intValue();
 
-        if (Double.class.equals(getValueClass()))
-            return ((Double) getValue()).intValue();
+        if (Double.class.equals(valueClass))
+            return v -> ((Double) v).intValue();
 
-        if (Byte.class.equals(getValueClass()))
-            return ((Byte) getValue()).intValue();
+        if (Byte.class.equals(valueClass))
+            return v -> ((Byte) v).intValue();
 
-        if (Short.class.equals(getValueClass()))
-            return ((Short) getValue()).intValue();
+        if (Short.class.equals(valueClass))
+            return v -> ((Short) v).intValue();
 
-        if (Integer.class.equals(getValueClass()))
-            return (Integer) getValue();
+        if (Integer.class.equals(valueClass))
+            return v -> ((Integer) v).intValue();
 
-        if (Long.class.equals(getValueClass()))
-            return ((Long) getValue()).intValue();
+        if (Long.class.equals(valueClass))
+            return v -> ((Long) v).intValue();
 
         return null;
     }
@@ -1,14 +1,13 @@
 package boxfish.commons.web.model.converters;
 
-import static java.util.Arrays.stream;
 import static java.util.Collections.emptyList;
 
-import java.math.BigDecimal;
-import java.util.Arrays;
+import java.util.AbstractList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.RandomAccess;
+import java.util.function.IntFunction;
 
-import boxfish.commons.web.model.RestModel;
 import boxfish.commons.web.model.RestValue;
 
 /**
@@ -20,82 +19,156 @@ import boxfish.commons.web.model.RestValue;
  *
  */
 public class ValueToList extends AbstractValueConverter<List<RestValue>> {
+    private final ValueSplitter splitter;
+
     public ValueToList(final Object value) {
+        this(value, ValueSplitter.defaultSplitter());
+    }
+
+    /**
+     * @param value the original value.
+     * @param splitter how Strings of separated values are split.
+     */
+    public ValueToList(final Object value, final ValueSplitter splitter) {
         super(value);
+        this.splitter = splitter;
     }
 
+    /**
+     * Presents arrays (of objects or primitives) and Lists as
+     * read-only views, which wrap each item as it's accessed
+     * instead of copying them all upfront, and Strings of
+     * separated values as lists of their (trimmed) items.
+     */
     @Override
     public List<RestValue> parse() {
-        if (getValue() == null)
-            return emptyList();
+        if (splitter == null)
+            throw new IllegalStateException("'splitter' is required before parsing.");
 
-        if (Object[].class.equals(getValueClass()))
-            return collectAsList((Object[]) getValue());
+        final Object value = getValue();
+        if (value == null)
+            return emptyList();
 
-        if (String[].class.equals(getValueClass()))
-            return collectAsList((String[]) getValue());
+        if (value instanceof Object[]) {
+            final Object[] items = (Object[]) value;
+            return new ArrayView(items.length, i -> items[i]);
+        }
 
-        if (Byte[].class.equals(getValueClass()))
-            return collectAsList((Byte[]) getValue());
+        if (value instanceof List)
+            return new ListView((List<?>) value);
 
-        if (Short[].class.equals(getValueClass()))
-            return collectAsList((Short[]) getValue());
+        if (value instanceof String)
+            return stringAsListOf((String) value);
 
-        if (Integer[].class.equals(getValueClass()))
-            return collectAsList((Integer[]) getValue());
+        return primitiveArrayAsList(value);
+    }
 
-        if (Long[].class.equals(getValueClass()))
-            return collectAsList((Long[]) getValue());
+    private List<RestValue> primitiveArrayAsList(final Object value) {
+        if (value instanceof int[]) {
+            final int[] items = (int[]) value;
+            return new ArrayView(items.length, i -> items[i]);
+        }
 
-        if (BigDecimal[].class.equals(getValueClass()))
-            return collectAsList((BigDecimal[]) getValue());
+        if (value instanceof long[]) {
+            final long[] items = (long[]) value;
+            return new ArrayView(items.length, i -> items[i]);
+        }
 
-        if (Float[].class.equals(getValueClass()))
-            return collectAsList((Float[]) getValue());
+        if (value instanceof double[]) {
+            final double[] items = (double[]) value;
+            return new ArrayView(items.length, i -> items[i]);
+        }
 
-        if (Double[].class.equals(getValueClass()))
-            return collectAsList((Double[]) getValue());
+        if (value instanceof float[]) {
+            final float[] items = (float[]) value;
+            return new ArrayView(items.length, i -> items[i]);
+        }
 
-        if (RestModel[].class.equals(getValueClass()))
-            return collectAsList((RestModel[]) getValue());
+        if (value instanceof short[]) {
+            final short[] items = (short[]) value;
+            return new ArrayView(items.length, i -> items[i]);
+        }
 
-        if (List.class.isAssignableFrom(getValueClass()))
-            return ((List<?>) getValue())
-                .stream()
-                .map(v -> new RestValue(v))
-                .collect(Collectors.toList());
+        if (value instanceof byte[]) {
+            final byte[] items = (byte[]) value;
+            return new ArrayView(items.length, i -> items[i]);
+        }
 
-        if (String.class.equals(getValueClass()))
-            return stringAsListOf((String) getValue());
+        if (value instanceof boolean[]) {
+            final boolean[] items = (boolean[]) value;
+            return new ArrayView(items.length, i -> items[i]);
+        }
 
         return null;
     }
 
-    private List<RestValue> stringAsListOf(String value) {
-        if (value != null) {
-            value = value.trim().replaceAll("^\\[|\\]$", "");
-
-            String[] frags;
-            if (value.contains(";"))
-                frags = value.split(";");
-            else if (value.contains(""))
-                frags = value.split(",");
-            else
-                frags = new String[] {value};
-
-            return collectAsList(stream(frags)
-                .map(v -> v.trim())
-                .toArray(size -> new String[size]));
+    private List<RestValue> stringAsListOf(final String value) {
+        final List<String> items = splitter.slicesOf(value);
+        return new ArrayView(items.size(), items::get);
+    }
+
+    /**
+     * Read-only view of an array, wrapping its items on access.
+     */
+    private static final class ArrayView extends AbstractList<RestValue> implements RandomAccess {
+        private final int size;
+        private final IntFunction<Object> itemAt;
+
+        private ArrayView(final int size, final IntFunction<Object> itemAt) {
+            this.size = size;
+            this.itemAt = itemAt;
         }
 
-        return null;
+        @Override
+        public RestValue get(final int index) {
+            if (index < 0 || index >= size)
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            return new RestValue(itemAt.apply(index));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
     }
 
-    private <TOriginal extends Object> List<RestValue> collectAsList(final TOriginal[] objects) {
-        return Arrays
-            .stream(objects)
-            .map(v -> new RestValue(v))
-            .collect(Collectors.toList());
+    /**
+     * Read-only view of a List, wrapping its items on access
+     * and iterating it through its own iterator (so that lists
+     * without random access are still iterated in linear time).
+     */
+    private static final class ListView extends AbstractList<RestValue> {
+        private final List<?> items;
+
+        private ListView(final List<?> items) {
+            this.items = items;
+        }
+
+        @Override
+        public RestValue get(final int index) {
+            return new RestValue(items.get(index));
+        }
+
+        @Override
+        public int size() {
+            return items.size();
+        }
+
+        @Override
+        public Iterator<RestValue> iterator() {
+            final Iterator<?> iterator = items.iterator();
+            return new Iterator<RestValue>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public RestValue next() {
+                    return new RestValue(iterator.next());
+                }
+            };
+        }
     }
 
 }
@@ -1,6 +1,8 @@
 package boxfish.commons.web.model.converters;
 
 import java.math.BigDecimal;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
 
 /**
  * Sophisticated type conversion and parsing from Object to Long,
@@ -18,32 +20,76 @@ public class ValueToLong extends AbstractValueConverter<Long> {
 
     @Override
     public Long parse() {
-        if (getValue() == null)
-            return null;
+        return ValueConverters.convert(getValue(), Long.class);
+    }
+
+    /**
+     * Resolves how values of the given class are converted.
+     *
+     * @param valueClass the class of the values.
+     * @return the stateless conversion of the values.
+     */
+    static Function<Object, Long> conversionFrom(final Class<?> valueClass) {
+        if (String.class.equals(valueClass))
+            return v -> Long.valueOf((String) v);
+
+        if (BigDecimal.class.equals(valueClass))
+            return v -> ((BigDecimal) v).longValue();
+
+        if (Float.class.equals(valueClass))
+            return v -> ((Float) v).longValue();
+
+        if (Double.class.equals(valueClass))
+            return v -> ((Double) v).longValue();
+
+        if (Byte.class.equals(valueClass))
+            return v -> ((Byte) v).longValue();
+
+        if (Short.class.equals(valueClass))
+            return v -> ((Short) v).longValue();
+
+        if (Integer.class.equals(valueClass))
+            return v -> ((Integer) v).longValue();
+
+        if (Long.class.equals(valueClass))
+            return v -> (Long) v;
+
+        return v -> null;
+    }
 
-        if (String.class.equals(getValueClass()))
-            return Long.valueOf((String) getValue());
+    /**
+     * Resolves how values of the given class are converted
+     * without boxing the result. Strings that can't be parsed
+     * fail with NumberFormatException, which ValueConverters
+     * turns into the default value (or an empty optional).
+     *
+     * @param valueClass the class of the values.
+     * @return the stateless conversion of the values, or null if there's none.
+     */
+    static ToLongFunction<Object> primitiveConversionFrom(final Class<?> valueClass) {
+        if (String.class.equals(valueClass))
+            return v -> Long.parseLong((String) v);
 
-        if (BigDecimal.class.equals(getValueClass()))
-            return ((BigDecimal) getValue()).longValue();
+        if (BigDecimal.class.equals(valueClass))
+            return v -> ((BigDecimal) v).longValue();
 
-        if (Float.class.equals(getValueClass()))
-            return ((Float) getValue()).longValue();
+        if (Float.class.equals(valueClass))
+            return v -> ((Float) v).longValue();
 
-        if (Double.class.equals(getValueClass()))
-            return ((Double) getValue()).longValue();
+        if (Double.class.equals(valueClass))
+            return v -> ((Double) v).longValue();
 
-        if (Byte.class.equals(getValueClass()))
-            return ((Byte) getValue()).longValue();
+        if (Byte.class.equals(valueClass))
+            return v -> ((Byte) v).longValue();
 
-        if (Short.class.equals(getValueClass()))
-            return ((Short) getValue()).longValue();
+        if (Short.class.equals(valueClass))
+            return v -> ((Short) v).longValue();
 
-        if (Integer.class.equals(getValueClass()))
-            return ((Integer) getValue()).longValue();
+        if (Integer.class.equals(valueClass))
+            return v -> ((Integer) v).longValue();
 
-        if (Long.class.equals(getValueClass()))
-            return (Long) getValue();
+        if (Long.class.equals(valueClass))
+            return v -> ((Long) v).longValue();
 
         return null;
     }
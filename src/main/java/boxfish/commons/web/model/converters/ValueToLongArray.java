@@ -0,0 +1,32 @@
+package boxfish.commons.web.model.converters;
+
+/**
+ * Conversion of list-like values (Lists, arrays and Strings of
+ * separated values) into a long[], converting every item
+ * straight into its primitive, in a single pass and without
+ * wrapping or boxing the items along the way.
+ *
+ * @author Hudson Mendes
+ *
+ */
+public class ValueToLongArray extends ValueToPrimitiveArray<long[]> {
+
+    public ValueToLongArray(final Object value) {
+        super(value, long[].class, long[]::new, "a long", 18);
+    }
+
+    @Override
+    protected void storeLong(final long[] array, final int index, final long item) {
+        array[index] = item;
+    }
+
+    @Override
+    protected void storeDouble(final long[] array, final int index, final double item) {
+        array[index] = (long) item;
+    }
+
+    @Override
+    protected void store(final long[] array, final int index, final Object item) {
+        array[index] = ValueConverters.longConversionOf(item).applyAsLong(item);
+    }
+}
@@ -3,7 +3,9 @@ package boxfish.commons.web.model.converters;
 import static boxfish.commons.web.model.utils.JsonUtils.isJsonObject;
 
 import java.util.Map;
+import java.util.function.Function;
 
+import boxfish.commons.web.model.FrozenRestModel;
 import boxfish.commons.web.model.RestModel;
 
 /**
@@ -21,24 +23,38 @@ public class ValueToModel extends AbstractValueConverter<RestModel> {
 
     @Override
     public RestModel parse() {
-        if (RestModel.class.equals(getValueClass()))
-            return (RestModel) getValue();
-
-        if (Map.class.isAssignableFrom(getValueClass()))
-            reportIllegalMap();
-
-        if (isJsonObject(getValue()))
-            reportIllegalJson();
+        return ValueConverters.convert(getValue(), RestModel.class);
+    }
 
-        return RestModel.newRestModel();
+    /**
+     * Resolves how values of the given class are converted.
+     *
+     * @param valueClass the class of the values.
+     * @return the stateless conversion of the values.
+     */
+    static Function<Object, RestModel> conversionFrom(final Class<?> valueClass) {
+        if (RestModel.class.equals(valueClass))
+            return v -> (RestModel) v;
+
+        if (FrozenRestModel.class.equals(valueClass))
+            return v -> ((FrozenRestModel) v).thaw();
+
+        if (Map.class.isAssignableFrom(valueClass))
+            return v -> reportIllegalMap();
+
+        return v -> {
+            if (isJsonObject(v))
+                return reportIllegalJson();
+            return RestModel.newRestModel();
+        };
     }
 
-    private void reportIllegalMap() {
+    private static RestModel reportIllegalMap() {
         throw new IllegalStateException("The value should have been sanitized and may NOT be a map."
                                         + "All maps must become RestModel before being kept as data.");
     }
 
-    private void reportIllegalJson() {
+    private static RestModel reportIllegalJson() {
         throw new IllegalStateException("The value should have been sanitized and may NOT be a JSON."
                                         + "All JSONs must become RestModel before being kept as data.");
     }
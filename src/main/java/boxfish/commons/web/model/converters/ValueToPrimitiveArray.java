@@ -0,0 +1,179 @@
+package boxfish.commons.web.model.converters;
+
+import static java.lang.String.format;
+
+import java.lang.reflect.Array;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Conversion of list-like values (Lists, arrays and Strings of
+ * separated values) into an array of primitives, converting every
+ * item straight into its primitive, in a single pass and without
+ * wrapping or boxing the items along the way. Subclasses only
+ * store each item into the array of their primitive type.
+ *
+ * @author Hudson Mendes
+ *
+ */
+abstract class ValueToPrimitiveArray<TArray> extends AbstractValueConverter<TArray> {
+    private final Class<TArray> arrayType;
+    private final IntFunction<TArray> newArray;
+    private final String typeName;
+    private final int exactDigits;
+
+    /**
+     * @param value the original value.
+     * @param arrayType the class of the array, as int[].class.
+     * @param newArray creates the array with the given length.
+     * @param typeName the name of the primitive in messages, as "an int".
+     * @param exactDigits how many integer digits the primitive holds exactly.
+     */
+    ValueToPrimitiveArray(
+            final Object value,
+            final Class<TArray> arrayType,
+            final IntFunction<TArray> newArray,
+            final String typeName,
+            final int exactDigits) {
+        super(value);
+        this.arrayType = arrayType;
+        this.newArray = newArray;
+        this.typeName = typeName;
+        this.exactDigits = exactDigits;
+    }
+
+    /**
+     * Stores an integral item (from a long[], int[], short[] or byte[],
+     * or an integer slice of a String) into the array.
+     */
+    protected abstract void storeLong(TArray array, int index, long item);
+
+    /**
+     * Stores a floating point item (from a double[] or float[]) into the array.
+     */
+    protected abstract void storeDouble(TArray array, int index, double item);
+
+    /**
+     * Stores a (not null) item of any other kind into the array,
+     * failing if it can't be presented as the primitive.
+     */
+    protected abstract void store(TArray array, int index, Object item);
+
+    /**
+     * @return the array, empty for null values, or null for values that are not list-like.
+     * @throws IllegalStateException if any of the items is null or can't be presented as the primitive.
+     */
+    @Override
+    public TArray parse() {
+        final Object value = getValue();
+        if (value == null)
+            return newArray.apply(0);
+
+        if (arrayType.isInstance(value)) {
+            final int length = Array.getLength(value);
+            final TArray converted = newArray.apply(length);
+            System.arraycopy(value, 0, converted, 0, length);
+            return converted;
+        }
+
+        if (value instanceof long[]) {
+            final long[] items = (long[]) value;
+            final TArray converted = newArray.apply(items.length);
+            for (int i = 0; i < items.length; i++)
+                storeLong(converted, i, items[i]);
+            return converted;
+        }
+
+        if (value instanceof int[]) {
+            final int[] items = (int[]) value;
+            final TArray converted = newArray.apply(items.length);
+            for (int i = 0; i < items.length; i++)
+                storeLong(converted, i, items[i]);
+            return converted;
+        }
+
+        if (value instanceof short[]) {
+            final short[] items = (short[]) value;
+            final TArray converted = newArray.apply(items.length);
+            for (int i = 0; i < items.length; i++)
+                storeLong(converted, i, items[i]);
+            return converted;
+        }
+
+        if (value instanceof byte[]) {
+            final byte[] items = (byte[]) value;
+            final TArray converted = newArray.apply(items.length);
+            for (int i = 0; i < items.length; i++)
+                storeLong(converted, i, items[i]);
+            return converted;
+        }
+
+        if (value instanceof double[]) {
+            final double[] items = (double[]) value;
+            final TArray converted = newArray.apply(items.length);
+            for (int i = 0; i < items.length; i++)
+                storeDouble(converted, i, items[i]);
+            return converted;
+        }
+
+        if (value instanceof float[]) {
+            final float[] items = (float[]) value;
+            final TArray converted = newArray.apply(items.length);
+            for (int i = 0; i < items.length; i++)
+                storeDouble(converted, i, items[i]);
+            return converted;
+        }
+
+        if (value instanceof Object[])
+            return fromItems((Object[]) value);
+
+        if (value instanceof List)
+            return fromItems((List<?>) value);
+
+        if (value instanceof String)
+            return fromSlices(ValueSplitter.defaultSplitter().slicesOf((String) value));
+
+        return null;
+    }
+
+    private TArray fromItems(final Object[] items) {
+        final TArray converted = newArray.apply(items.length);
+        for (int i = 0; i < items.length; i++)
+            storeItem(converted, i, items[i]);
+        return converted;
+    }
+
+    private TArray fromItems(final List<?> items) {
+        final TArray converted = newArray.apply(items.size());
+        int i = 0;
+        for (final Object item : items) {
+            storeItem(converted, i, item);
+            i++;
+        }
+        return converted;
+    }
+
+    private TArray fromSlices(final ValueSplitter.Slices items) {
+        final int length = items.size();
+        final TArray converted = newArray.apply(length);
+        for (int i = 0; i < length; i++) {
+            final int digits = items.integerDigitsOf(i);
+            if (digits > 0 && digits <= exactDigits)
+                storeLong(converted, i, items.integerOf(i));
+            else
+                storeItem(converted, i, items.get(i));
+        }
+        return converted;
+    }
+
+    private void storeItem(final TArray converted, final int index, final Object item) {
+        if (item == null)
+            throw new IllegalStateException(format("The item %d is null and can't be presented as %s.", index, typeName));
+        try {
+            store(converted, index, item);
+        }
+        catch (final NumberFormatException e) {
+            throw new IllegalStateException(format("The item %d ('%s') can't be presented as %s.", index, item, typeName), e);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package boxfish.commons.web.model.converters;
 
 import java.math.BigDecimal;
+import java.util.function.Function;
 
 /**
  * Sophisticated type conversion and parsing from Object to Short,
@@ -18,34 +19,41 @@ public class ValueToShort extends AbstractValueConverter<Short> {
 
     @Override
     public Short parse() {
-        if (getValue() == null)
-            return null;
+        return ValueConverters.convert(getValue(), Short.class);
+    }
 
-        if (String.class.equals(getValueClass()))
-            return new Short((String) getValue());
+    /**
+     * Resolves how values of the given class are converted.
+     *
+     * @param valueClass the class of the values.
+     * @return the stateless conversion of the values.
+     */
+    static Function<Object, Short> conversionFrom(final Class<?> valueClass) {
+        if (String.class.equals(valueClass))
+            return v -> Short.valueOf((String) v);
 
-        if (Float.class.equals(getValueClass()))
-            return ((Float) getValue()).shortValue();
+        if (Float.class.equals(valueClass))
+            return v -> ((Float) v).shortValue();
 
-        if (Double.class.equals(getValueClass()))
-            return ((Double) getValue()).shortValue();
+        if (Double.class.equals(valueClass))
+            return v -> ((Double) v).shortValue();
 
-        if (Byte.class.equals(getValueClass()))
-            return ((Byte) getValue()).shortValue();
+        if (Byte.class.equals(valueClass))
+            return v -> ((Byte) v).shortValue();
 
-        if (Short.class.equals(getValueClass()))
-            return (Short) getValue();
+        if (Short.class.equals(valueClass))
+            return v -> (Short) v;
 
-        if (Integer.class.equals(getValueClass()))
-            return ((Integer) getValue()).shortValue();
+        if (Integer.class.equals(valueClass))
+            return v -> ((Integer) v).shortValue();
 
-        if (Long.class.equals(getValueClass()))
-            return ((Long) getValue()).shortValue();
+        if (Long.class.equals(valueClass))
+            return v -> ((Long) v).shortValue();
 
-        if (BigDecimal.class.equals(getValueClass()))
-            return ((BigDecimal) getValue()).shortValue();
+        if (BigDecimal.class.equals(valueClass))
+            return v -> ((BigDecimal) v).shortValue();
 
-        return null;
+        return v -> null;
     }
 
 }
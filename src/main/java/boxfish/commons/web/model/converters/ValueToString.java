@@ -1,5 +1,7 @@
 package boxfish.commons.web.model.converters;
 
+import java.util.function.Function;
+
 /**
  * Sophisticated type conversion and parsing from Object to String,
  * which aims to perform any possible casting or parsing in representing
@@ -16,13 +18,20 @@ public class ValueToString extends AbstractValueConverter<String> {
 
     @Override
     public String parse() {
-        if (getValue() == null)
-            return null;
+        return ValueConverters.convert(getValue(), String.class);
+    }
 
-        if (String.class.equals(getValueClass()))
-            return (String) getValue();
+    /**
+     * Resolves how values of the given class are converted.
+     *
+     * @param valueClass the class of the values.
+     * @return the stateless conversion of the values.
+     */
+    static Function<Object, String> conversionFrom(final Class<?> valueClass) {
+        if (String.class.equals(valueClass))
+            return v -> (String) v;
 
-        return getValue().toString();
+        return v -> v != null ? v.toString() : null;
     }
 
 }
@@ -0,0 +1,420 @@
+package boxfish.commons.web.model.sanitization;
+
+import static boxfish.commons.web.model.RestModel.newRestModel;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import boxfish.commons.web.model.BindingBudget;
+import boxfish.commons.web.model.RestModel;
+
+/**
+ * Single pass, streaming JSON parser that builds the RestModel
+ * (for objects) and List (for arrays) trees directly, with
+ * numbers parsed as Long or BigDecimal and booleans as Boolean.
+ * It's lenient with the input coming from the REST environment:
+ * keys and values may be left unquoted, commas may be omitted,
+ * strings may span lines and unknown escapes are kept as written.
+ *
+ * @author Hudson Mendes
+ *
+ */
+public final class JsonParser {
+    private static final int EOF = -1;
+    private static final int BUFFER_SIZE = 8192;
+    private static final int LONG_SAFE_DIGITS = 18;
+    private static final int MAX_NESTING = 512;
+
+    /**
+     * Parses the JSON held by the String.
+     *
+     * @param json the JSON text.
+     * @return a RestModel, a List, a String, a Long, a BigDecimal, a Boolean or null.
+     */
+    public static Object parse(final String json) {
+        if (json == null)
+            throw new IllegalArgumentException("'json' can't be null.");
+
+        return parse(json.toCharArray());
+    }
+
+    /**
+     * Parses the JSON held by the char array.
+     *
+     * @param json the JSON text.
+     * @return a RestModel, a List, a String, a Long, a BigDecimal, a Boolean or null.
+     */
+    public static Object parse(final char[] json) {
+        if (json == null)
+            throw new IllegalArgumentException("'json' can't be null.");
+
+        try {
+            return new JsonParser(json, json.length, null, null, 0).parseRoot();
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parses the JSON held by the String, within the binding limits
+     * tracked by the budget, as the JSON value (already counted)
+     * replaces a String value of the binding.
+     *
+     * @param json the JSON text.
+     * @param budget the tracker of the binding limits.
+     * @param depth the depth of the JSON value in the binding.
+     * @return a RestModel, a List, a String, a Long, a BigDecimal, a Boolean or null.
+     */
+    static Object parse(final String json, final BindingBudget budget, final int depth) {
+        final char[] chars = json.toCharArray();
+        try {
+            return new JsonParser(chars, chars.length, null, budget, depth).parseRoot();
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parses the JSON read from the Reader, which is not closed.
+     *
+     * @param json the reader of the JSON text.
+     * @return a RestModel, a List, a String, a Long, a BigDecimal, a Boolean or null.
+     * @throws IOException whenever we fail to read.
+     */
+    public static Object parse(final Reader json) throws IOException {
+        if (json == null)
+            throw new IllegalArgumentException("'json' can't be null.");
+
+        return new JsonParser(new char[BUFFER_SIZE], 0, json, null, 0).parseRoot();
+    }
+
+    /**
+     * Parses the UTF-8 JSON read from the InputStream, which is not closed.
+     *
+     * @param json the stream of the JSON text.
+     * @return a RestModel, a List, a String, a Long, a BigDecimal, a Boolean or null.
+     * @throws IOException whenever we fail to read.
+     */
+    public static Object parse(final InputStream json) throws IOException {
+        if (json == null)
+            throw new IllegalArgumentException("'json' can't be null.");
+
+        return parse(new InputStreamReader(json, UTF_8));
+    }
+
+    private final Reader reader;
+    private final BindingBudget budget;
+    private final int rootDepth;
+    private final char[] buffer;
+    private final StringBuilder token = new StringBuilder();
+    private int position;
+    private int limit;
+    private long consumed;
+
+    private JsonParser(
+            final char[] buffer,
+            final int limit,
+            final Reader reader,
+            final BindingBudget budget,
+            final int rootDepth) {
+        this.buffer = buffer;
+        this.limit = limit;
+        this.reader = reader;
+        this.budget = budget;
+        this.rootDepth = rootDepth;
+    }
+
+    private Object parseRoot() throws IOException {
+        final Object value = parseValue(rootDepth);
+        skipWhitespace();
+        if (peek() != EOF)
+            throw malformed("Unexpected content after the JSON value");
+        return value;
+    }
+
+    private Object parseValue(final int depth) throws IOException {
+        skipWhitespace();
+        final int c = peek();
+        if (budget != null && depth > rootDepth && c != EOF)
+            budget.node();
+
+        switch (c) {
+            case '{':
+                return parseObject(depth);
+            case '[':
+                return parseList(depth);
+            case '"':
+            case '\'':
+                return parseString();
+            case EOF:
+                throw malformed("Unexpected end of the JSON");
+            default:
+                return typed(parseBare(false));
+        }
+    }
+
+    private RestModel parseObject(final int depth) throws IOException {
+        next();
+        nested(depth);
+
+        final RestModel model = newRestModel();
+        int fields = 0;
+        while (true) {
+            skipSeparators();
+            final int c = peek();
+            if (c == '}') {
+                next();
+                return model;
+            }
+            if (c == EOF)
+                throw malformed("Unterminated object");
+
+            final String key = c == '"' || c == '\'' ? parseString() : parseBare(true);
+            skipWhitespace();
+            if (peek() != ':')
+                throw malformed(format("Expected ':' after the key '%s'", key));
+            next();
+
+            if (budget != null)
+                budget.fields(++fields);
+
+            final Object value = parseValue(depth + 1);
+            if (!key.trim().isEmpty())
+                model.put(key, value);
+        }
+    }
+
+    private List<Object> parseList(final int depth) throws IOException {
+        next();
+        nested(depth);
+
+        final List<Object> list = new ArrayList<>();
+        while (true) {
+            skipSeparators();
+            final int c = peek();
+            if (c == ']') {
+                next();
+                return list;
+            }
+            if (c == EOF)
+                throw malformed("Unterminated array");
+
+            if (budget != null)
+                budget.elements(list.size() + 1);
+            list.add(parseValue(depth + 1));
+        }
+    }
+
+    /**
+     * Checks the depth of an object or list against the budget, if
+     * any, and against the nesting any JSON can have, which keeps the
+     * parser from running out of stack on a hostile input.
+     */
+    private void nested(final int depth) {
+        if (budget != null)
+            budget.depth(depth);
+        if (depth - rootDepth >= MAX_NESTING)
+            throw malformed(format("Nested deeper than %d levels", MAX_NESTING));
+    }
+
+    private String parseString() throws IOException {
+        final int quote = next();
+        token.setLength(0);
+        while (true) {
+            final int c = next();
+            if (c == EOF)
+                throw malformed("Unterminated string");
+            if (c == quote)
+                return checked(token).toString();
+            if (c == '\\')
+                appendEscaped();
+            else
+                token.append((char) c);
+        }
+    }
+
+    private void appendEscaped() throws IOException {
+        final int c = next();
+        switch (c) {
+            case '"':
+            case '\'':
+            case '\\':
+            case '/':
+                token.append((char) c);
+                break;
+            case 'b':
+                token.append('\b');
+                break;
+            case 'f':
+                token.append('\f');
+                break;
+            case 'n':
+                token.append('\n');
+                break;
+            case 'r':
+                token.append('\r');
+                break;
+            case 't':
+                token.append('\t');
+                break;
+            case 'u':
+                token.append(parseUnicode());
+                break;
+            case EOF:
+                throw malformed("Unterminated string");
+            default:
+                token.append('\\').append((char) c);
+        }
+    }
+
+    private char parseUnicode() throws IOException {
+        int code = 0;
+        for (int i = 0; i < 4; i++) {
+            final int digit = Character.digit(next(), 16);
+            if (digit < 0)
+                throw malformed("Invalid unicode escape");
+            code = (code << 4) | digit;
+        }
+        return (char) code;
+    }
+
+    private String parseBare(final boolean isKey) throws IOException {
+        token.setLength(0);
+        while (true) {
+            final int c = peek();
+            if (c == EOF || c == ',' || c == '}' || c == ']' || c == '"')
+                break;
+            if (isKey ? c == ':' : c == '\n' || c == '\r')
+                break;
+            token.append((char) next());
+        }
+
+        final String bare = checked(token).toString().trim();
+        if (isKey && bare.isEmpty())
+            throw malformed("Expected a key");
+        return bare;
+    }
+
+    private StringBuilder checked(final StringBuilder text) {
+        if (budget != null)
+            budget.string(text);
+        return text;
+    }
+
+    private Object typed(final String bare) {
+        if (bare.isEmpty() || "null".equals(bare))
+            return null;
+        if ("true".equals(bare))
+            return Boolean.TRUE;
+        if ("false".equals(bare))
+            return Boolean.FALSE;
+
+        final int integralDigits = integralDigitsOf(bare);
+        if (integralDigits > 0 && integralDigits <= LONG_SAFE_DIGITS)
+            return Long.valueOf(bare);
+        if (integralDigits != 0)
+            return new BigDecimal(bare);
+        return bare;
+    }
+
+    /**
+     * Checks the bare value against the JSON number grammar.
+     *
+     * @return 0 if it's not a number, the count of digits if it's an integer, or -1 if it's a decimal.
+     */
+    private static int integralDigitsOf(final String bare) {
+        final int length = bare.length();
+        int i = bare.charAt(0) == '-' ? 1 : 0;
+
+        final int integerStart = i;
+        while (i < length && isDigit(bare.charAt(i)))
+            i++;
+        final int integerDigits = i - integerStart;
+        if (integerDigits == 0 || (integerDigits > 1 && bare.charAt(integerStart) == '0'))
+            return 0;
+        if (i == length)
+            return integerDigits;
+
+        if (bare.charAt(i) == '.') {
+            final int fractionStart = ++i;
+            while (i < length && isDigit(bare.charAt(i)))
+                i++;
+            if (i == fractionStart)
+                return 0;
+        }
+
+        if (i < length && (bare.charAt(i) == 'e' || bare.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (bare.charAt(i) == '+' || bare.charAt(i) == '-'))
+                i++;
+            final int exponentStart = i;
+            while (i < length && isDigit(bare.charAt(i)))
+                i++;
+            if (i == exponentStart)
+                return 0;
+        }
+
+        return i == length ? -1 : 0;
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private void skipWhitespace() throws IOException {
+        int c = peek();
+        while (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+            next();
+            c = peek();
+        }
+    }
+
+    private void skipSeparators() throws IOException {
+        int c = peek();
+        while (c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == ',') {
+            next();
+            c = peek();
+        }
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill())
+            return EOF;
+        return buffer[position];
+    }
+
+    private int next() throws IOException {
+        if (position == limit && !fill())
+            return EOF;
+        return buffer[position++];
+    }
+
+    private boolean fill() throws IOException {
+        if (reader == null)
+            return false;
+
+        consumed += limit;
+        int read;
+        do {
+            read = reader.read(buffer, 0, buffer.length);
+        } while (read == 0);
+
+        position = 0;
+        limit = Math.max(read, 0);
+        return read > 0;
+    }
+
+    private IllegalArgumentException malformed(final String reason) {
+        return new IllegalArgumentException(format("%s at position %d.", reason, consumed + position));
+    }
+}
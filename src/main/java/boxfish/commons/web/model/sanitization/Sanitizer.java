@@ -6,9 +6,15 @@ import static java.lang.String.format;
 import java.lang.instrument.IllegalClassFormatException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Parameter;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import boxfish.commons.web.model.BindingBudget;
+import boxfish.commons.web.model.RestModel;
 
 /**
  * Chooses the sanitizer that will be used to treat the value.
@@ -19,18 +25,45 @@ import java.util.Map;
  *
  */
 public class Sanitizer {
-    private static final Map<SanitizerValueMatcher, Class<? extends SanitizerFor<? extends Object, ?>>> SANITIZERS;
+    private static final List<Registration> SANITIZERS;
     static {
-        SANITIZERS = new HashMap<>();
-        SANITIZERS.put((c, v) -> Map.class.isAssignableFrom(c), SanitizerForMaps.class);
-        SANITIZERS.put((c, v) -> List.class.isAssignableFrom(c), SanitizerForLists.class);
-        SANITIZERS.put((c, v) -> String.class.equals(c) && isJsonObject(v), SanitizerForJson.class);
+        final List<Registration> sanitizers = new ArrayList<>();
+        sanitizers.add(register(c -> Map.class.isAssignableFrom(c), (c, v) -> true, SanitizerForMaps.class, SanitizerForMaps::new));
+        sanitizers.add(register(c -> List.class.isAssignableFrom(c), (c, v) -> true, SanitizerForLists.class, SanitizerForLists::new));
+        sanitizers.add(register(c -> String.class.equals(c), (c, v) -> isJsonObject(v), SanitizerForJson.class, SanitizerForJson::new));
+        SANITIZERS = Collections.unmodifiableList(sanitizers);
     }
 
+    private static final ClassValue<Registration> SANITIZER_BY_CLASS = new ClassValue<Registration>() {
+        @Override
+        protected Registration computeValue(final Class<?> valueClass) {
+            for (final Registration registration : SANITIZERS)
+                if (registration.classMatcher.test(valueClass))
+                    return registration;
+            return null;
+        }
+    };
+
     private final Object value;
+    private final BindingBudget budget;
+    private final int depth;
 
     public Sanitizer(final Object value) {
+        this(value, null, 0);
+    }
+
+    /**
+     * Constructs the sanitizer of a value being bound within
+     * the limits tracked by the budget.
+     *
+     * @param value the value.
+     * @param budget the tracker of the binding limits, or null for no limits.
+     * @param depth the depth of the value in the binding.
+     */
+    public Sanitizer(final Object value, final BindingBudget budget, final int depth) {
         this.value = value;
+        this.budget = budget;
+        this.depth = depth;
     }
 
     /**
@@ -41,37 +74,83 @@ public class Sanitizer {
      *
      * @return the sanitized value if a Sanitizer was found, or the value itself.
      * @throws Exception throws whenever we fail to activate the Sanitizer.
+     * @throws boxfish.commons.web.model.BindingLimitExceededException if the value crosses the binding limits.
      */
     public Object sanitize() throws Exception {
-        if (value != null) {
-            final SanitizerFor<? extends Object, ?> chooseSanitizer = chooseSanitizer();
-            if (chooseSanitizer != null)
-                return chooseSanitizer.sanitizedValue();
-        }
+        final SanitizerFor<? extends Object, ?> chooseSanitizer = value != null ? chooseSanitizer() : null;
+        if (budget != null)
+            admit(budget, value, depth, chooseSanitizer instanceof SanitizerForJson);
+
+        if (chooseSanitizer != null)
+            return chooseSanitizer.within(budget, depth).sanitizedValue();
 
         return value;
     }
 
+    /**
+     * Counts the value against the binding limits, checking
+     * the size and depth of Maps and Lists and the length of
+     * Strings (unless it's JSON, which is checked while parsed).
+     */
+    static void admit(final BindingBudget budget, final Object value, final int depth, final boolean json) {
+        budget.node();
+        if (value instanceof Map) {
+            budget.depth(depth);
+            budget.fields(((Map<?, ?>) value).size());
+        }
+        else if (value instanceof List) {
+            budget.depth(depth);
+            budget.elements(((List<?>) value).size());
+        }
+        else if (value instanceof CharSequence && !json)
+            budget.string((CharSequence) value);
+    }
+
+    /**
+     * Tells whether the value would be changed by sanitization,
+     * as it's a structure (like a Map) or JSON object that must be
+     * converted before being kept as data.
+     *
+     * @param value the value.
+     * @return true if a Sanitizer applies to the value, false otherwise.
+     */
+    public static boolean requiresSanitization(final Object value) {
+        if (value == null || value instanceof RestModel)
+            return false;
+
+        final Class<?> valueClass = value.getClass();
+        final Registration registration = SANITIZER_BY_CLASS.get(valueClass);
+        return registration != null && registration.valueMatcher.shouldBeSanitized(valueClass, value);
+    }
+
     private SanitizerFor<? extends Object, ?> chooseSanitizer() throws Exception {
         final Class<?> valueClass = value.getClass();
-        for (final SanitizerValueMatcher key : SANITIZERS.keySet())
-            if (key.shouldBeSanitized(valueClass, value)) {
-                final Class<? extends SanitizerFor<? extends Object, ?>> sanitizer = SANITIZERS.get(key);
-                final Constructor<?> constructor = findConstructor(sanitizer);
-                validateConstructor(sanitizer, constructor);
-                return makeSanitizerFromClass(constructor);
-            }
+        final Registration registration = SANITIZER_BY_CLASS.get(valueClass);
+        if (registration != null && registration.valueMatcher.shouldBeSanitized(valueClass, value))
+            return registration.factory.apply(value);
         return null;
     }
 
-    @SuppressWarnings("unchecked")
-    private SanitizerFor<? extends Object, ?> makeSanitizerFromClass(
-            final Constructor<?> constructor) throws Exception {
-        final Constructor<SanitizerFor<? extends Object, ?>> typedConstructor = (Constructor<SanitizerFor<? extends Object, ?>>) constructor;
-        return typedConstructor.newInstance(value);
+    /**
+     * Registers a sanitizer, verifying (only once) that its class
+     * complies with the single Object parameter constructor convention
+     * which the factory is expected to invoke.
+     */
+    private static Registration register(
+            final Predicate<Class<?>> classMatcher,
+            final SanitizerValueMatcher valueMatcher,
+            final Class<? extends SanitizerFor<? extends Object, ?>> sanitizer,
+            final Function<Object, SanitizerFor<? extends Object, ?>> factory) {
+        try {
+            validateConstructor(sanitizer, findConstructor(sanitizer));
+        }
+        catch (final Exception e) {
+            throw new IllegalStateException(format("'%s' can't be registered as a sanitizer.", sanitizer.getName()), e);
+        }
+        return new Registration(classMatcher, valueMatcher, factory);
     }
 
-    private void validateConstructor(
+    private static void validateConstructor(
             final Class<? extends SanitizerFor<? extends Object, ?>> sanitizer,
             final Constructor<?> constructor) throws Exception {
         final Parameter[] constructorParameters = constructor.getParameters();
@@ -79,7 +158,7 @@ public class Sanitizer {
         assertSingleParamIsObject(sanitizer, constructorParameters);
     }
 
-    private Constructor<?> findConstructor(
+    private static Constructor<?> findConstructor(
             final Class<? extends SanitizerFor<? extends Object, ?>> sanitizer) throws Exception {
         final Constructor<?>[] constructors = sanitizer.getDeclaredConstructors();
         if (constructors.length != 1)
@@ -89,7 +168,7 @@ public class Sanitizer {
         return constructors[0];
     }
 
-    private void assertTheresOnlyOneParam(
+    private static void assertTheresOnlyOneParam(
             final Class<? extends SanitizerFor<? extends Object, ?>> sanitizer,
             final Parameter[] constructorParameters) throws Exception {
         if (constructorParameters.length != 1)
@@ -98,7 +177,7 @@ public class Sanitizer {
                 sanitizer.getName()));
     }
 
-    private void assertSingleParamIsObject(
+    private static void assertSingleParamIsObject(
             final Class<? extends SanitizerFor<? extends Object, ?>> sanitizer,
             final Parameter[] constructorParameters) throws Exception {
         final Parameter constructorParameter = constructorParameters[0];
@@ -108,4 +187,19 @@ public class Sanitizer {
                 sanitizer.getName()));
     }
 
+    private static final class Registration {
+        private final Predicate<Class<?>> classMatcher;
+        private final SanitizerValueMatcher valueMatcher;
+        private final Function<Object, SanitizerFor<? extends Object, ?>> factory;
+
+        private Registration(
+                final Predicate<Class<?>> classMatcher,
+                final SanitizerValueMatcher valueMatcher,
+                final Function<Object, SanitizerFor<? extends Object, ?>> factory) {
+            this.classMatcher = classMatcher;
+            this.valueMatcher = valueMatcher;
+            this.factory = factory;
+        }
+    }
+
 }
@@ -1,5 +1,7 @@
 package boxfish.commons.web.model.sanitization;
 
+import boxfish.commons.web.model.BindingBudget;
+
 /**
  * Template for sanitizers with basic functionality.
  *
@@ -11,12 +13,27 @@ package boxfish.commons.web.model.sanitization;
 abstract class SanitizerFor<TOutput extends Object, TExpectedValueClass> {
     private final Class<TExpectedValueClass> expectedClass;
     private final Object rawValue;
+    private BindingBudget budget;
+    private int depth;
 
     SanitizerFor(final Object rawValue, final Class<TExpectedValueClass> expectedClass) {
         this.rawValue = rawValue;
         this.expectedClass = expectedClass;
     }
 
+    /**
+     * Makes the sanitization part of a binding tracked by the budget.
+     *
+     * @param budget the tracker of the binding limits, or null for no limits.
+     * @param depth the depth of the value in the binding.
+     * @return itself
+     */
+    SanitizerFor<TOutput, TExpectedValueClass> within(final BindingBudget budget, final int depth) {
+        this.budget = budget;
+        this.depth = depth;
+        return this;
+    }
+
     Object sanitize() {
         if (rawValue != null)
             if (expectedClass.isAssignableFrom(rawValue.getClass()))
@@ -54,6 +71,24 @@ abstract class SanitizerFor<TOutput extends Object, TExpectedValueClass> {
             return Object.class;
     }
 
+    /**
+     * The tracker of the binding limits.
+     *
+     * @return the budget, or null if the binding has no limits.
+     */
+    protected BindingBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * The depth of the value in the binding.
+     *
+     * @return the depth.
+     */
+    protected int getDepth() {
+        return depth;
+    }
+
     /**
      * The raw value, as is.
      * 
@@ -15,8 +15,11 @@ class SanitizerForLists extends SanitizerFor<List, List> {
 
     @Override
     protected List sanitizedValue() {
-        final List<Object> newList = new ArrayList<>();
         final List<?> parsedList = (List<?>) getRawValue();
+        if (getBudget() != null)
+            return sanitizedWithinBudget(parsedList);
+
+        final List<Object> newList = new ArrayList<>();
         for (final Object item : parsedList)
             if (isItemAMapThatNeedsSanitization(item))
                 newList.add(new SanitizerForMaps(item).sanitizedValue());
@@ -26,6 +29,42 @@ class SanitizerForLists extends SanitizerFor<List, List> {
 
     }
 
+    /**
+     * Sanitizes the items as usual, but counting every one of
+     * them against the binding limits. Nested lists are kept
+     * as they come (just like without limits), but their items
+     * are counted too.
+     */
+    private List<Object> sanitizedWithinBudget(final List<?> parsedList) {
+        final List<Object> newList = new ArrayList<>(parsedList.size());
+        final int itemDepth = getDepth() + 1;
+        for (final Object item : parsedList) {
+            Sanitizer.admit(getBudget(), item, itemDepth, false);
+            if (isItemAMapThatNeedsSanitization(item))
+                newList.add(new SanitizerForMaps(item).within(getBudget(), itemDepth).sanitizedValue());
+            else {
+                if (item instanceof List)
+                    admitNested((List<?>) item, itemDepth + 1);
+                newList.add(item);
+            }
+        }
+        return newList;
+    }
+
+    /**
+     * Counts what's inside a nested list against the binding
+     * limits, without changing any of it.
+     */
+    private void admitNested(final Iterable<?> items, final int depth) {
+        for (final Object item : items) {
+            Sanitizer.admit(getBudget(), item, depth, false);
+            if (item instanceof List)
+                admitNested((List<?>) item, depth + 1);
+            else if (item instanceof Map && !(item instanceof RestModel))
+                admitNested(((Map<?, ?>) item).values(), depth + 1);
+        }
+    }
+
     private boolean isItemAMapThatNeedsSanitization(final Object item) {
         if (item != null) {
             final Class<?> itemClass = item.getClass();
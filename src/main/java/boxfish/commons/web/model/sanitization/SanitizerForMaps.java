@@ -24,7 +24,9 @@ class SanitizerForMaps extends SanitizerFor<RestModel, Map> {
     }
 
     private RestModel newModelFromMap() {
-        final RestModel translation = RestModel.newRestModel();
+        final RestModel translation = getBudget() != null
+                ? getBudget().newRestModel(getDepth())
+                : RestModel.newRestModel();
         if (getRawValue() != null) {
             final Map<?, ?> parsedMap = (Map<?, ?>) getRawValue();
             parsedMap.forEach((k, v) -> {
@@ -1,21 +1,51 @@
 package boxfish.commons.web.model.utils;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 public final class JsonUtils {
-    private static final Pattern JSON_PATTERN = Pattern.compile("^\\{[\\s\\S]+\\:+[\\s\\S]+\\}$");
 
+    /**
+     * Tells whether the value is a candidate for a JSON object:
+     * its first and last non whitespace characters are braces and
+     * there's a colon in between them. Texts that don't start with
+     * a brace are discarded by looking at their first characters only.
+     *
+     * @param rawString the value (usually a String) being classified.
+     * @return true if it looks like a JSON object, false otherwise.
+     */
     public static boolean isJsonObject(final Object rawString) {
         if (rawString != null) {
-            final String possibleJson = rawString.toString();
-            final Matcher match = JSON_PATTERN.matcher(possibleJson);
-            if (match.matches())
-                return true;
+            final CharSequence possibleJson = rawString instanceof CharSequence
+                    ? (CharSequence) rawString
+                    : rawString.toString();
+
+            final int first = firstNonWhitespace(possibleJson);
+            if (first < 0 || possibleJson.charAt(first) != '{')
+                return false;
+
+            final int last = lastNonWhitespace(possibleJson);
+            if (possibleJson.charAt(last) != '}')
+                return false;
+
+            for (int i = first + 2; i < last - 1; i++)
+                if (possibleJson.charAt(i) == ':')
+                    return true;
         }
 
         return false;
     }
 
+    private static int firstNonWhitespace(final CharSequence value) {
+        for (int i = 0; i < value.length(); i++)
+            if (!Character.isWhitespace(value.charAt(i)))
+                return i;
+        return -1;
+    }
+
+    private static int lastNonWhitespace(final CharSequence value) {
+        for (int i = value.length() - 1; i >= 0; i--)
+            if (!Character.isWhitespace(value.charAt(i)))
+                return i;
+        return -1;
+    }
+
     private JsonUtils() {}
 }
@@ -69,6 +69,12 @@ public class ConditionWarn<TValue> {
                 return getTest().apply(getHashModel(), (TValue) value);
             }
 
+            @Override
+            @SuppressWarnings("unchecked")
+            public Boolean isValid(final RestModel model, final Object value) {
+                return getTest().apply(model, (TValue) value);
+            }
+
         };
     }
 
@@ -1,5 +1,7 @@
 package boxfish.commons.web.model.validation;
 
+import java.util.Objects;
+
 /**
  * The simple ocurrence of the erros with information
  * about what happened to the field.
@@ -34,7 +36,24 @@ public class ModelError {
         return errorMessage;
     }
 
-    String getKey() {
-        return getFieldName() + "_" + getErrorMessage();
+    /**
+     * Errors are the same when both their field
+     * names and error messages are the same.
+     */
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other)
+            return true;
+        if (!(other instanceof ModelError))
+            return false;
+
+        final ModelError error = (ModelError) other;
+        return Objects.equals(fieldName, error.fieldName)
+               && Objects.equals(errorMessage, error.errorMessage);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hashCode(fieldName) + Objects.hashCode(errorMessage);
     }
 }
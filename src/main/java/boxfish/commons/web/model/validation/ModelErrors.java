@@ -1,21 +1,27 @@
 package boxfish.commons.web.model.validation;
 
-import java.util.HashMap;
+import static java.util.Collections.unmodifiableList;
+
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The collection with error messages ready to be presented
- * as response body of a 400 result.
+ * as response body of a 400 result. Errors can be added by
+ * many threads at once, and they're sorted (by field name and
+ * message) only once after being changed.
  * 
  * @author Hudson Mendes
  *
  */
 public class ModelErrors implements Iterable<ModelError> {
-    private final Map<String, ModelError> errors = new HashMap<>();
-    private List<ModelError> sorted;
+    private final Set<ModelError> errors = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger version = new AtomicInteger();
+    private volatile Sorted sorted;
 
     /**
      * Returns true if there is any error.
@@ -31,8 +37,7 @@ public class ModelErrors implements Iterable<ModelError> {
      */
     @Override
     public Iterator<ModelError> iterator() {
-        ensureSorted();
-        return sorted.iterator();
+        return sorted().iterator();
     }
 
     /**
@@ -43,14 +48,11 @@ public class ModelErrors implements Iterable<ModelError> {
      * @param fieldName the fieldname that failed the condition.
      * @param errorMessage the error message.
      */
-    public synchronized void addError(
+    public void addError(
             final String fieldName,
             final String errorMessage) {
-        final ModelError error = new ModelError(fieldName, errorMessage);
-        if (!errors.containsKey(error.getKey())) {
-            errors.put(error.getKey(), error);
-            sorted = null;
-        }
+        if (errors.add(new ModelError(fieldName, errorMessage)))
+            version.incrementAndGet();
     }
 
     /**
@@ -69,20 +71,77 @@ public class ModelErrors implements Iterable<ModelError> {
      * @return the ith item of the sorted error list.
      */
     public ModelError get(final Integer i) {
-        ensureSorted();
-        return sorted.get(i);
+        return sorted().get(i);
     }
 
-    private void ensureSorted() {
-        sorted = sorted();
+    /**
+     * A copy of the collection, which can be changed independently.
+     *
+     * @return the copy.
+     */
+    ModelErrors copy() {
+        final ModelErrors copy = new ModelErrors();
+        copy.errors.addAll(errors);
+        return copy;
     }
 
+    /**
+     * The errors sorted since the last change or, if
+     * they've changed since, sorted again. Sorting races
+     * with changes are harmless: the version read before
+     * sorting is older than the change, so it's sorted again.
+     */
     private List<ModelError> sorted() {
-        return errors
-            .entrySet()
-            .stream()
-            .sorted((a, b) -> a.getKey().compareTo(b.getKey()))
-            .map(b -> b.getValue())
-            .collect(Collectors.toList());
+        final int current = version.get();
+        final Sorted known = sorted;
+        if (known != null && known.version == current)
+            return known.errors;
+
+        final List<ModelError> list = new ArrayList<>(errors);
+        list.sort(ModelErrors::compare);
+        final List<ModelError> result = unmodifiableList(list);
+        sorted = new Sorted(current, result);
+        return result;
+    }
+
+    /**
+     * Compares the errors as their field names and messages
+     * joined by "_" would be compared, without joining them.
+     */
+    private static int compare(final ModelError a, final ModelError b) {
+        final String aField = String.valueOf(a.getFieldName());
+        final String aMessage = String.valueOf(a.getErrorMessage());
+        final String bField = String.valueOf(b.getFieldName());
+        final String bMessage = String.valueOf(b.getErrorMessage());
+        if (aField.equals(bField))
+            return aMessage.compareTo(bMessage);
+
+        final int aLength = aField.length() + 1 + aMessage.length();
+        final int bLength = bField.length() + 1 + bMessage.length();
+        final int length = Math.min(aLength, bLength);
+        for (int i = 0; i < length; i++) {
+            final char aChar = charAt(aField, aMessage, i);
+            final char bChar = charAt(bField, bMessage, i);
+            if (aChar != bChar)
+                return aChar - bChar;
+        }
+        return aLength - bLength;
+    }
+
+    private static char charAt(final String field, final String message, final int i) {
+        final int fieldLength = field.length();
+        if (i < fieldLength)
+            return field.charAt(i);
+        return i == fieldLength ? '_' : message.charAt(i - fieldLength - 1);
+    }
+
+    private static final class Sorted {
+        private final int version;
+        private final List<ModelError> errors;
+
+        private Sorted(final int version, final List<ModelError> errors) {
+            this.version = version;
+            this.errors = errors;
+        }
     }
 }
@@ -1,36 +1,65 @@
 package boxfish.commons.web.model.validation;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import boxfish.commons.web.model.RestModel;
 import boxfish.commons.web.model.RestValue;
+import boxfish.commons.web.model.validation.ValidationCache.Outcome;
 
 /**
  * The logic that validates models using requirements and rules.
  * This class is completely stateless and can only be used against
  * a snapshot of model, requiring to be recreated whenever a new
- * check is going to be performed.
+ * check is going to be performed. Whatever must be remembered
+ * between checks is kept by a {@link ValidationCache}.
  *
  * @author Hudson Mendes
  *
  */
 public class ModelValidator {
     private static final String REQUIRED_MESSAGE = "The '%s' is required";
+    private static final Failures FAIL_FAST = (fieldName, message) -> false;
 
     private final RestModel hashModel;
     private final List<String> requireds = new ArrayList<>();
     private final Map<String, List<Validator>> rules = new HashMap<>();
     private final Map<String, List<Validator>> childreenRules = new HashMap<>();
+    private final ParallelValidation parallel;
 
     public ModelValidator(
             final RestModel hashModel,
-            final List<String> requireds,
+            final Collection<String> requireds,
             final Map<String, List<Validator>> validators,
             final Map<String, List<Validator>> childreenRules) {
+        this(hashModel, requireds, validators, childreenRules, null);
+    }
+
+    /**
+     * Constructs the validator evaluating the rules on
+     * the children of large lists in parallel.
+     *
+     * @param hashModel the model being validated.
+     * @param requireds the required fields.
+     * @param validators the rules of each field.
+     * @param childreenRules the rules of each child of list fields.
+     * @param parallel how children are evaluated in parallel, or null to evaluate them sequentially.
+     */
+    public ModelValidator(
+            final RestModel hashModel,
+            final Collection<String> requireds,
+            final Map<String, List<Validator>> validators,
+            final Map<String, List<Validator>> childreenRules,
+            final ParallelValidation parallel) {
 
         if (hashModel == null)
             throw new IllegalArgumentException("'hashModel' can't be null.");
@@ -45,11 +74,15 @@ public class ModelValidator {
 
         if (childreenRules != null && !childreenRules.isEmpty())
             this.childreenRules.putAll(childreenRules);
+
+        this.parallel = parallel;
     }
 
     /**
      * Checks and returns if the model is valid
-     * against the rules or not.
+     * against the rules or not. It stops at the first
+     * failure, checking the requirements before the
+     * rules, and doesn't produce any error message.
      *
      * @return false if there are errors; true otherwise.
      */
@@ -62,9 +95,77 @@ public class ModelValidator {
         }
     }
 
+    /**
+     * Checks and returns if the model is valid against the
+     * rules or not, only evaluating the requirements and rules
+     * affected by the changes reported to the cache. As isValid(),
+     * it stops at the first failure; the requirements and rules
+     * found valid are remembered by the cache.
+     *
+     * @param cache the outcomes of the previous validations of the model.
+     * @return false if there are errors; true otherwise.
+     */
+    public Boolean isValid(final ValidationCache cache) {
+        try {
+            return attemptIsValid(cache);
+        }
+        catch (final Exception e) {
+            return false;
+        }
+    }
+
     private Boolean attemptIsValid() {
-        final ModelErrors result = validate();
-        return !result.hasErrors();
+        for (final String required : requireds)
+            if (!evaluateRequired(FAIL_FAST, required))
+                return false;
+
+        for (final String ruleField : rules.keySet())
+            if (!evaluateRules(FAIL_FAST, ruleField, rules))
+                return false;
+
+        for (final String ruleField : childreenRules.keySet())
+            if (!evaluateRulesOnChildreenOf(FAIL_FAST, ruleField, childreenRules))
+                return false;
+
+        return true;
+    }
+
+    private Boolean attemptIsValid(final ValidationCache cache) {
+        if (cache == null)
+            throw new IllegalArgumentException("'cache' can't be null.");
+
+        final ModelErrors cached = cache.getErrors();
+        if (cached != null)
+            return !cached.hasErrors();
+
+        boolean complete = true;
+        for (final String required : requireds) {
+            final Outcome outcome = outcomeOf(cache, cache.getRequireds(), required, true,
+                failures -> evaluateRequired(failures, required));
+            if (outcome == null || !outcome.getErrors().isEmpty())
+                return false;
+            complete &= isKnown(cache.getRequireds(), required, outcome);
+        }
+
+        for (final String ruleField : rules.keySet()) {
+            final Outcome outcome = outcomeOf(cache, cache.getRules(), ruleField, true,
+                failures -> evaluateRules(failures, ruleField, rules));
+            if (outcome == null || !outcome.getErrors().isEmpty())
+                return false;
+            complete &= isKnown(cache.getRules(), ruleField, outcome);
+        }
+
+        for (final String ruleField : childreenRules.keySet()) {
+            final Outcome outcome = outcomeOf(cache, cache.getChildreenRules(), ruleField, true,
+                failures -> evaluateRulesOnChildreenOf(failures, ruleField, childreenRules));
+            if (outcome == null || !outcome.getErrors().isEmpty())
+                return false;
+            complete &= isKnown(cache.getChildreenRules(), ruleField, outcome);
+        }
+
+        if (complete)
+            cache.setErrors(new ModelErrors());
+        return true;
     }
 
     /**
@@ -76,21 +177,127 @@ public class ModelValidator {
      */
     public ModelErrors validate() {
         final ModelErrors errors = new ModelErrors();
+        final Failures failures = collectingInto(errors);
         for (final String required : requireds)
-            if (!hashModel.containsKey(required) || hashModel.get(required).isNull())
-                errors.addError(required, String.format(REQUIRED_MESSAGE, required));
+            evaluateRequired(failures, required);
 
         for (final String ruleField : rules.keySet())
-            validationRules(errors, ruleField, rules);
+            evaluateRules(failures, ruleField, rules);
 
         for (final String ruleField : childreenRules.keySet())
-            validationRulesOnChildreenOf(errors, ruleField, childreenRules);
+            evaluateRulesOnChildreenOf(failures, ruleField, childreenRules);
 
         return errors;
     }
 
-    private void validationRules(
+    /**
+     * Same as validate(), but only evaluating the requirements
+     * and rules affected by the changes reported to the cache,
+     * and reusing the outcome of the others. Rules that read
+     * nested models or lists are always evaluated, as those
+     * can change without the model knowing.
+     *
+     * @param cache the outcomes of the previous validations of the model.
+     * @return the collection of errors.
+     */
+    public ModelErrors validate(final ValidationCache cache) {
+        if (cache == null)
+            throw new IllegalArgumentException("'cache' can't be null.");
+
+        final ModelErrors cached = cache.getErrors();
+        if (cached != null)
+            return cached.copy();
+
+        final ModelErrors errors = new ModelErrors();
+        boolean complete = true;
+        for (final String required : requireds)
+            complete &= collect(errors, cache, cache.getRequireds(), required,
+                failures -> evaluateRequired(failures, required));
+
+        for (final String ruleField : rules.keySet())
+            complete &= collect(errors, cache, cache.getRules(), ruleField,
+                failures -> evaluateRules(failures, ruleField, rules));
+
+        for (final String ruleField : childreenRules.keySet())
+            complete &= collect(errors, cache, cache.getChildreenRules(), ruleField,
+                failures -> evaluateRulesOnChildreenOf(failures, ruleField, childreenRules));
+
+        if (complete)
+            cache.setErrors(errors.copy());
+        return errors;
+    }
+
+    /**
+     * Adds the errors of the field to the collection.
+     *
+     * @return true if the outcome is (now) known by the cache.
+     */
+    private boolean collect(
             final ModelErrors errors,
+            final ValidationCache cache,
+            final Map<String, Outcome> outcomes,
+            final String field,
+            final Evaluation evaluation) {
+        final Outcome outcome = outcomeOf(cache, outcomes, field, false, evaluation);
+        for (final ModelError error : outcome.getErrors())
+            errors.addError(error.getFieldName(), error.getErrorMessage());
+        return isKnown(outcomes, field, outcome);
+    }
+
+    /**
+     * The outcome known by the cache or, if unknown, the outcome of
+     * the evaluation (recording what it depends on), which is then
+     * remembered unless it depends on nested models or lists.
+     *
+     * @return the outcome, or null if the evaluation failed fast.
+     */
+    private Outcome outcomeOf(
+            final ValidationCache cache,
+            final Map<String, Outcome> outcomes,
+            final String field,
+            final boolean failFast,
+            final Evaluation evaluation) {
+        final Outcome known = outcomes.get(field);
+        if (known != null)
+            return known;
+
+        final List<ModelError> found = new ArrayList<>(1);
+        final boolean completed;
+        cache.startRecording(field);
+        try {
+            completed = evaluation.evaluate(failFast ? FAIL_FAST : collectingInto(found));
+        }
+        finally {
+            cache.stopRecording();
+        }
+        final Set<String> dependencies = cache.getRecorded();
+        if (!completed)
+            return null;
+
+        final Outcome outcome = new Outcome(outcomes, field, found, dependencies);
+        if (dependencies != null && dependencies.stream().noneMatch(this::isMutable))
+            cache.remember(outcome);
+        return outcome;
+    }
+
+    private static boolean isKnown(final Map<String, Outcome> outcomes, final String field, final Outcome outcome) {
+        return outcomes.get(field) == outcome;
+    }
+
+    private boolean isMutable(final String field) {
+        final RestValue value = hashModel.get(field);
+        final Object original = value != null ? value.asOriginal() : null;
+        return original instanceof Map || original instanceof Collection;
+    }
+
+    private boolean evaluateRequired(final Failures failures, final String required) {
+        if (!hashModel.containsKey(required) || hashModel.get(required).isNull())
+            return failures.failed(required, () -> String.format(REQUIRED_MESSAGE, required));
+        return true;
+    }
+
+    private boolean evaluateRules(
+            final Failures failures,
             final String ruleField,
             final Map<String, List<Validator>> validators) {
         if (hashModel.containsKey(ruleField)) {
@@ -98,24 +305,170 @@ public class ModelValidator {
 
             for (final Validator validator : validators.get(ruleField))
                 if (validator.accepts(value.getValueClass()))
-                    if (!validator.isValid(value.asOriginal()))
-                        errors.addError(ruleField, validator.errorMessage());
+                    if (!validator.isValid(hashModel, value.asOriginal()))
+                        if (!failures.failed(ruleField, validator::errorMessage))
+                            return false;
         }
+        return true;
     }
 
-    private void validationRulesOnChildreenOf(
-            final ModelErrors errors,
+    private boolean evaluateRulesOnChildreenOf(
+            final Failures failures,
             final String ruleField,
             final Map<String, List<Validator>> validators) {
         if (hashModel.containsKey(ruleField)) {
             final RestValue value = hashModel.get(ruleField);
             final List<RestValue> childreen = value.asList();
+            if (childreen != null && parallel != null && parallel.appliesTo(childreen.size()))
+                return evaluateInParallel(failures, ruleField, childreen, validators.get(ruleField));
+
             if (childreen != null) {
-                for (final RestValue childValue : childreen)
+                int index = 0;
+                for (final RestValue childValue : childreen) {
                     for (final Validator validator : validators.get(ruleField))
-                        if (!validator.isValid(childValue))
-                            errors.addError(ruleField, validator.errorMessage());
+                        if (!validator.isValid(hashModel, childValue))
+                            if (!failures.failed(childField(ruleField, index), validator::errorMessage))
+                                return false;
+                    index++;
+                }
             }
         }
+        return true;
+    }
+
+    /**
+     * Evaluates chunks of the children in parallel, each one
+     * keeping its own failures, which are then reported in order
+     * with the index of the child. Once a chunk fails and the
+     * failures stop the evaluation, the other chunks stop as well.
+     */
+    private boolean evaluateInParallel(
+            final Failures failures,
+            final String ruleField,
+            final List<RestValue> childreen,
+            final List<Validator> validators) {
+        final boolean failingFast = failures == FAIL_FAST;
+        final AtomicBoolean failed = new AtomicBoolean();
+        final int size = childreen.size();
+        final int chunkSize = parallel.chunkSizeOf(size);
+
+        // resolves the lazily sanitized fields up front, so the
+        // rules reading the model from many threads only read it
+        hashModel.values();
+        final List<CompletableFuture<List<ChildFailure>>> chunks = new ArrayList<>();
+        for (int start = 0; start < size; start += chunkSize) {
+            final int from = start;
+            final int to = Math.min(size, start + chunkSize);
+            chunks.add(CompletableFuture.supplyAsync(
+                () -> evaluateChunk(childreen, validators, from, to, failingFast ? failed : null),
+                parallel.getExecutor()));
+        }
+
+        final List<List<ChildFailure>> found = new ArrayList<>(chunks.size());
+        for (final CompletableFuture<List<ChildFailure>> chunk : chunks)
+            found.add(joined(chunk));
+
+        for (final List<ChildFailure> chunkFailures : found)
+            for (final ChildFailure failure : chunkFailures)
+                if (!failures.failed(childField(ruleField, failure.index), failure.validator::errorMessage))
+                    return false;
+        return true;
+    }
+
+    private List<ChildFailure> evaluateChunk(
+            final List<RestValue> childreen,
+            final List<Validator> validators,
+            final int from,
+            final int to,
+            final AtomicBoolean failed) {
+        final List<ChildFailure> found = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            if (failed != null && failed.get())
+                return found;
+
+            final RestValue childValue = childreen.get(i);
+            for (final Validator validator : validators)
+                if (!validator.isValid(hashModel, childValue)) {
+                    found.add(new ChildFailure(i, validator));
+                    if (failed != null) {
+                        failed.set(true);
+                        return found;
+                    }
+                }
+        }
+        return found;
+    }
+
+    /**
+     * The name the failures of a child are reported with: the name of
+     * the list, as by default, or (once parallel validation is switched
+     * on) with the index of the child, as in "items[42]", whether the
+     * children are then evaluated sequentially or in parallel.
+     */
+    private String childField(final String ruleField, final int index) {
+        return parallel != null ? ruleField + "[" + index + "]" : ruleField;
+    }
+
+    private static <T> T joined(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        }
+        catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error)
+                throw (Error) e.getCause();
+            throw e;
+        }
+    }
+
+    private static Failures collectingInto(final ModelErrors errors) {
+        return (fieldName, message) -> {
+            errors.addError(fieldName, message.get());
+            return true;
+        };
+    }
+
+    private static Failures collectingInto(final List<ModelError> errors) {
+        return (fieldName, message) -> {
+            errors.add(new ModelError(fieldName, message.get()));
+            return true;
+        };
+    }
+
+    /**
+     * Receives the failures found while evaluating,
+     * producing their messages only if needed.
+     */
+    @FunctionalInterface
+    private interface Failures {
+        /**
+         * @return true if the evaluation should go on, false to stop it.
+         */
+        boolean failed(String fieldName, Supplier<String> message);
+    }
+
+    /**
+     * The evaluation of the requirement or the rules of a field.
+     */
+    @FunctionalInterface
+    private interface Evaluation {
+        /**
+         * @return true if the evaluation went through, false if it's been stopped.
+         */
+        boolean evaluate(Failures failures);
+    }
+
+    /**
+     * The rule that failed on the child at the index.
+     */
+    private static final class ChildFailure {
+        private final int index;
+        private final Validator validator;
+
+        private ChildFailure(final int index, final Validator validator) {
+            this.index = index;
+            this.validator = validator;
+        }
     }
 }
@@ -0,0 +1,83 @@
+package boxfish.commons.web.model.validation;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Opt-in evaluation of the rules declared on each child of
+ * a list (see RestModel.rulesOnEachChildOf) in parallel, used
+ * when the list has at least the threshold number of children.
+ * The list is split into chunks evaluated by the executor (by
+ * default, the common fork-join pool), and errors are reported
+ * with the index of the child, as in "items[42]".
+ *
+ * The rules must then be safe to be evaluated by many threads
+ * at once, and they may only read (never change) the model.
+ *
+ * @author Hudson Mendes
+ *
+ */
+public final class ParallelValidation {
+    private static final int MINIMUM_CHUNK_SIZE = 256;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * Evaluates the children of lists with at least
+     * the threshold number of children in parallel.
+     *
+     * @param threshold the minimum number of children.
+     * @return the parallel validation.
+     */
+    public static ParallelValidation parallelAbove(final int threshold) {
+        if (threshold < 1)
+            throw new IllegalArgumentException("'threshold' must be at least 1.");
+
+        return new ParallelValidation(threshold, ForkJoinPool.commonPool());
+    }
+
+    private final int threshold;
+    private final Executor executor;
+
+    private ParallelValidation(final int threshold, final Executor executor) {
+        this.threshold = threshold;
+        this.executor = executor;
+    }
+
+    /**
+     * A parallel validation like this one, but
+     * evaluating the chunks with the given executor.
+     *
+     * @param executor the executor of the chunks.
+     * @return the parallel validation.
+     */
+    public ParallelValidation on(final Executor executor) {
+        if (executor == null)
+            throw new IllegalArgumentException("'executor' can't be null.");
+
+        return new ParallelValidation(threshold, executor);
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    boolean appliesTo(final int children) {
+        return children >= threshold;
+    }
+
+    /**
+     * How many children each chunk evaluates, so that
+     * each thread gets a few chunks to balance the load.
+     */
+    int chunkSizeOf(final int children) {
+        final int parallelism = executor instanceof ForkJoinPool
+                ? ((ForkJoinPool) executor).getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        final int chunks = Math.max(1, parallelism * CHUNKS_PER_THREAD);
+        return Math.max(MINIMUM_CHUNK_SIZE, (children + chunks - 1) / chunks);
+    }
+}
@@ -0,0 +1,174 @@
+package boxfish.commons.web.model.validation;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Memory of the outcome of the requirements and rules of a
+ * model, kept between validations so that only the ones affected
+ * by the fields changed since are evaluated again. While evaluated,
+ * the fields read from the model are recorded, so rules that look
+ * at other fields are evaluated again when those fields change.
+ *
+ * The model is expected to report its changes through
+ * {@link #changed(String)} and {@link #changedAll()}, and
+ * its reads through {@link #read(String)} and {@link #readAll()}.
+ * As the model, it's not thread-safe.
+ *
+ * Outcomes are only right as long as the rules are deterministic,
+ * depending on nothing but the values they read from the model.
+ *
+ *
+ * @author Hudson Mendes
+ *
+ */
+public final class ValidationCache {
+    private final Map<String, Outcome> requireds = new HashMap<>();
+    private final Map<String, Outcome> rules = new HashMap<>();
+    private final Map<String, Outcome> childreenRules = new HashMap<>();
+    private final Map<String, Set<Outcome>> dependents = new HashMap<>();
+    private ModelErrors errors;
+    private Set<String> reads;
+    private Set<String> recorded;
+    private Thread recording;
+    private boolean readingAll;
+
+    /**
+     * Forgets the outcomes that depend on the field.
+     *
+     * @param field the normalised name of the field that changed.
+     */
+    public void changed(final String field) {
+        final Set<Outcome> affected = dependents.remove(field);
+        if (affected != null) {
+            for (final Outcome outcome : affected)
+                forget(outcome, field);
+            errors = null;
+        }
+    }
+
+    /**
+     * Forgets every outcome, as when the declarations change.
+     */
+    public void changedAll() {
+        requireds.clear();
+        rules.clear();
+        childreenRules.clear();
+        dependents.clear();
+        errors = null;
+    }
+
+    /**
+     * Records the field as read, if an evaluation is going on
+     * in the current thread. Reads by the other threads of a
+     * parallel validation are not recorded, as the outcomes of
+     * rules on list children are never remembered anyway.
+     *
+     * @param field the normalised name of the field.
+     */
+    public void read(final String field) {
+        if (reads != null && recording == Thread.currentThread())
+            reads.add(field);
+    }
+
+    /**
+     * Records that every field has been read,
+     * if an evaluation is going on in the current thread.
+     */
+    public void readAll() {
+        if (reads != null && recording == Thread.currentThread())
+            readingAll = true;
+    }
+
+    ModelErrors getErrors() {
+        return errors;
+    }
+
+    void setErrors(final ModelErrors errors) {
+        this.errors = errors;
+    }
+
+    Map<String, Outcome> getRequireds() {
+        return requireds;
+    }
+
+    Map<String, Outcome> getRules() {
+        return rules;
+    }
+
+    Map<String, Outcome> getChildreenRules() {
+        return childreenRules;
+    }
+
+    void startRecording(final String field) {
+        reads = new HashSet<>();
+        reads.add(field);
+        readingAll = false;
+        recording = Thread.currentThread();
+    }
+
+    void stopRecording() {
+        recorded = readingAll ? null : reads;
+        reads = null;
+        readingAll = false;
+        recording = null;
+    }
+
+    /**
+     * The fields read while last recording.
+     *
+     * @return the fields read, or null if every field has been read.
+     */
+    Set<String> getRecorded() {
+        return recorded;
+    }
+
+    private void forget(final Outcome outcome, final String changed) {
+        outcome.owner.remove(outcome.field, outcome);
+        for (final String dependency : outcome.dependencies)
+            if (!dependency.equals(changed)) {
+                final Set<Outcome> others = dependents.get(dependency);
+                if (others != null && others.remove(outcome) && others.isEmpty())
+                    dependents.remove(dependency);
+            }
+    }
+
+    void remember(final Outcome outcome) {
+        outcome.owner.put(outcome.field, outcome);
+        for (final String dependency : outcome.dependencies)
+            dependents.computeIfAbsent(dependency, d -> new HashSet<>()).add(outcome);
+    }
+
+    /**
+     * The errors found by the requirement or the rules of a
+     * field, and the fields they've read to find them.
+     */
+    static final class Outcome {
+        private final Map<String, Outcome> owner;
+        private final String field;
+        private final List<ModelError> errors;
+        private final Set<String> dependencies;
+
+        Outcome(
+                final Map<String, Outcome> owner,
+                final String field,
+                final List<ModelError> errors,
+                final Set<String> dependencies) {
+            this.owner = owner;
+            this.field = field;
+            this.errors = errors;
+            this.dependencies = dependencies;
+        }
+
+        List<ModelError> getErrors() {
+            return errors;
+        }
+
+        Set<String> getDependencies() {
+            return dependencies;
+        }
+    }
+}
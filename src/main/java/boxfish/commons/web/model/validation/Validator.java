@@ -1,5 +1,7 @@
 package boxfish.commons.web.model.validation;
 
+import boxfish.commons.web.model.RestModel;
+
 /**
  * The validator that can be either used to implement
  * more complex and custom validation routines or
@@ -32,4 +34,18 @@ public interface Validator {
      * @return true if is valid, otherwise returns false.
      */
     public Boolean isValid(Object object);
+
+    /**
+     * Checks and returns if the value of the model being
+     * validated is valid or not. Validators shared by many
+     * models (see RestModelSchema) receive here the model
+     * that is actually being validated.
+     * 
+     * @param model the model being validated.
+     * @param object the value
+     * @return true if is valid, otherwise returns false.
+     */
+    public default Boolean isValid(RestModel model, Object object) {
+        return isValid(object);
+    }
 }
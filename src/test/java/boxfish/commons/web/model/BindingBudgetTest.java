@@ -0,0 +1,71 @@
+package boxfish.commons.web.model;
+
+import static boxfish.commons.web.model.BindingLimits.bindingLimits;
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class BindingBudgetTest {
+
+    @Test
+    public void string_withinLimit() {
+        final BindingBudget budget = bindingLimits().maxStringBytes(6).newBudget();
+        budget.string("abcdef");
+        budget.string("\u00e7\u00e3\u00e9");
+        budget.string("\ud83d\ude00");
+    }
+
+    @Test(expected = BindingLimitExceededException.class)
+    public void string_tooManyChars() {
+        bindingLimits().maxStringBytes(6).newBudget().string("abcdefg");
+    }
+
+    @Test(expected = BindingLimitExceededException.class)
+    public void string_tooManyBytes() {
+        bindingLimits().maxStringBytes(6).newBudget().string("\u4e2d\u6587\u5b57");
+    }
+
+    @Test
+    public void string_sameAsUtf8Length() {
+        final Random random = new Random(18);
+        final char[] alphabet = {'a', '\u00e7', '\u4e2d'};
+        for (int i = 0; i < 1000; i++) {
+            final StringBuilder text = new StringBuilder();
+            final int length = random.nextInt(12);
+            for (int j = 0; j < length; j++)
+                if (random.nextBoolean())
+                    text.append(alphabet[random.nextInt(alphabet.length)]);
+                else
+                    text.append("\ud83d\ude00");
+
+            final int bytes = text.toString().getBytes(StandardCharsets.UTF_8).length;
+            final int maximum = random.nextInt(40);
+            boolean exceeded = false;
+            try {
+                bindingLimits().maxStringBytes(maximum).newBudget().string(text);
+            }
+            catch (final BindingLimitExceededException e) {
+                exceeded = true;
+            }
+            assertEquals(text.toString(), bytes > maximum, exceeded);
+        }
+    }
+
+    @Test
+    public void node() {
+        final BindingBudget budget = bindingLimits().maxTotalNodes(2).newBudget();
+        budget.node();
+        budget.node();
+        assertEquals(2, budget.getNodes());
+    }
+
+    @Test(expected = BindingLimitExceededException.class)
+    public void node_tooMany() {
+        final BindingBudget budget = bindingLimits().maxTotalNodes(1).newBudget();
+        budget.node();
+        budget.node();
+    }
+}
@@ -0,0 +1,59 @@
+package boxfish.commons.web.model;
+
+import static boxfish.commons.web.model.BindingLimits.bindingLimits;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import boxfish.commons.web.model.BindingLimits.Limit;
+
+public class BindingLimitsTest {
+
+    @Test
+    public void bindingLimits_unlimited() {
+        final BindingLimits limits = bindingLimits();
+        assertEquals(Integer.MAX_VALUE, limits.getMaxDepth());
+        assertEquals(Integer.MAX_VALUE, limits.getMaxFieldsPerModel());
+        assertEquals(Integer.MAX_VALUE, limits.getMaxListElements());
+        assertEquals(Integer.MAX_VALUE, limits.getMaxTotalNodes());
+        assertEquals(Integer.MAX_VALUE, limits.getMaxStringBytes());
+    }
+
+    @Test
+    public void bindingLimits_configured() {
+        final BindingLimits limits = bindingLimits()
+            .maxDepth(4)
+            .maxFieldsPerModel(10)
+            .maxListElements(20)
+            .maxTotalNodes(30)
+            .maxStringBytes(40);
+        assertEquals(4, limits.getMaxDepth());
+        assertEquals(10, limits.getMaxFieldsPerModel());
+        assertEquals(20, limits.getMaxListElements());
+        assertEquals(30, limits.getMaxTotalNodes());
+        assertEquals(40, limits.getMaxStringBytes());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maxDepth_zero() {
+        bindingLimits().maxDepth(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maxStringBytes_negative() {
+        bindingLimits().maxStringBytes(-1);
+    }
+
+    @Test
+    public void rejections() {
+        final BindingLimits limits = bindingLimits().maxListElements(1);
+        try {
+            limits.newBudget().elements(2);
+        }
+        catch (final BindingLimitExceededException e) {
+            assertEquals(Limit.LIST_ELEMENTS, e.getLimit());
+        }
+        assertEquals(1, limits.rejections(Limit.LIST_ELEMENTS));
+        assertEquals(0, limits.rejections(Limit.DEPTH));
+    }
+}
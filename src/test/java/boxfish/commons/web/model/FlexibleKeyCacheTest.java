@@ -0,0 +1,113 @@
+package boxfish.commons.web.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import boxfish.commons.web.model.FlexibleKeyCache.Eviction;
+
+public class FlexibleKeyCacheTest {
+    private AtomicInteger translations;
+    private Function<String, String> translation;
+
+    @Before
+    public void setup() {
+        translations = new AtomicInteger();
+        translation = field -> {
+            translations.incrementAndGet();
+            return new String(field.toLowerCase());
+        };
+    }
+
+    @Test
+    public void normalize_remembers() {
+        final FlexibleKeyCache cache = new FlexibleKeyCache(10, Eviction.LEAST_RECENTLY_USED);
+        final String first = cache.normalize("FIELD", translation);
+        final String second = cache.normalize("FIELD", translation);
+
+        assertEquals("field", first);
+        assertSame(first, second);
+        assertEquals(1, translations.get());
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void normalize_leastRecentlyUsed() {
+        final FlexibleKeyCache cache = new FlexibleKeyCache(2, Eviction.LEAST_RECENTLY_USED);
+        cache.normalize("A", translation);
+        cache.normalize("B", translation);
+        cache.normalize("A", translation);
+        cache.normalize("C", translation);
+        cache.normalize("A", translation);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictions());
+        assertEquals(3, translations.get());
+        assertEquals(2, cache.hits());
+    }
+
+    @Test
+    public void normalize_firstInFirstOut() {
+        final FlexibleKeyCache cache = new FlexibleKeyCache(2, Eviction.FIRST_IN_FIRST_OUT);
+        cache.normalize("A", translation);
+        cache.normalize("B", translation);
+        cache.normalize("A", translation);
+        cache.normalize("C", translation);
+        cache.normalize("A", translation);
+
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.evictions());
+        assertEquals(4, translations.get());
+        assertEquals(1, cache.hits());
+    }
+
+    @Test
+    public void normalize_segmented() {
+        final FlexibleKeyCache cache = new FlexibleKeyCache(4096, Eviction.LEAST_RECENTLY_USED);
+        for (int i = 0; i < 10000; i++)
+            cache.normalize("FIELD_" + i, translation);
+        for (int i = 9000; i < 10000; i++)
+            assertEquals("field_" + i, cache.normalize("FIELD_" + i, translation));
+
+        assertEquals(4096, cache.size());
+        assertEquals(10000 - 4096, cache.evictions());
+        assertEquals(10000, translations.get());
+        assertEquals(1000, cache.hits());
+    }
+
+    @Test
+    public void normalize_disabled() {
+        final FlexibleKeyCache cache = new FlexibleKeyCache(0, Eviction.LEAST_RECENTLY_USED);
+        cache.normalize("A", translation);
+        cache.normalize("A", translation);
+
+        assertEquals(0, cache.size());
+        assertEquals(2, translations.get());
+        assertEquals(0, cache.hits());
+        assertEquals(2, cache.misses());
+    }
+
+    @Test
+    public void clear() {
+        final FlexibleKeyCache cache = new FlexibleKeyCache(10, Eviction.LEAST_RECENTLY_USED);
+        cache.normalize("A", translation);
+        cache.normalize("A", translation);
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.hits());
+        assertEquals(0, cache.misses());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeSize() {
+        new FlexibleKeyCache(-1, Eviction.LEAST_RECENTLY_USED);
+    }
+}
@@ -1,13 +1,19 @@
 package boxfish.commons.web.model;
 
+import static java.lang.String.format;
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
+import java.util.List;
+import java.util.Random;
+
 import org.junit.Before;
 import org.junit.Test;
 
 public class FlexibleKeyTest {
     private final static String CAMEL_CASED_FIELD_NAME = "thisField11234,.IsWrittenInCamelCaseToBeConverted";
+    private final static String ALPHABET = "aAbBzZ09_-. $\u00e9\u00c9\u0130\ud83d\ude00";
     private FlexibleKey namer;
 
     @Before
@@ -22,4 +28,88 @@ public class FlexibleKeyTest {
         assertEquals("this_field_11234_is_written_in_camel_case_to_be_converted", actual);
     }
 
+    @Test
+    public void build_sameAsRegex_examples() {
+        final List<String> examples = asList(
+            "a",
+            "A",
+            "_",
+            "field",
+            "fieldName",
+            "FieldName",
+            "field_name",
+            "field___2",
+            "field2",
+            "Field2Name",
+            "HTTPServer",
+            "parseHTTPResponse",
+            "XMLHttpRequest",
+            "ABC",
+            "aB",
+            "AbC",
+            "A1",
+            "_1",
+            "1a",
+            "123",
+            "sub-field-1",
+            "  leading and trailing  ",
+            "__private__",
+            "NAKED_FIELD",
+            "end_field",
+            "field.with.dots",
+            "\u00e9t\u00e9Field",
+            "emoji\ud83d\ude00Field",
+            CAMEL_CASED_FIELD_NAME);
+
+        for (final String example : examples)
+            assertEquals(
+                format("Diverged from the regex for '%s'", example),
+                regexTreat(example),
+                new FlexibleKey(example).build());
+    }
+
+    @Test
+    public void build_sameAsRegex_randomised() {
+        final Random random = new Random(20170503L);
+        for (int i = 0; i < 20000; i++) {
+            final String example = randomFieldName(random);
+            if (!example.trim().isEmpty())
+                assertEquals(
+                    format("Diverged from the regex for '%s'", example),
+                    regexTreat(example),
+                    new FlexibleKey(example).build());
+        }
+    }
+
+    @Test(expected = IllegalAccessError.class)
+    public void build_blank() {
+        new FlexibleKey("   ").build();
+    }
+
+    private String randomFieldName(final Random random) {
+        final int length = 1 + random.nextInt(12);
+        final StringBuilder name = new StringBuilder();
+        while (name.length() < length) {
+            final int at = random.nextInt(ALPHABET.length());
+            final char character = ALPHABET.charAt(at);
+            if (Character.isHighSurrogate(character))
+                name.append(character).append(ALPHABET.charAt(at + 1));
+            else if (!Character.isLowSurrogate(character))
+                name.append(character);
+        }
+        return name.toString();
+    }
+
+    /**
+     * The original regex pipeline, kept as the reference
+     * against which the single pass translation is checked.
+     */
+    private String regexTreat(final String field) {
+        return field
+            .replaceAll("[^\\w\\d]", "_")
+            .replaceAll("(?<!(^|[A-Z]))(?=[A-Z])|(?<!^)(?=[A-Z][a-z])|(?<=[a-zA-\u200c\u200bZ])(?=[0-9])", "_$0")
+            .replaceAll("_+", "_")
+            .toLowerCase();
+    }
+
 }
@@ -0,0 +1,186 @@
+package boxfish.commons.web.model;
+
+import static boxfish.commons.web.model.JsonWriter.toJson;
+import static boxfish.commons.web.model.RestModel.newRestModel;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+public class FrozenRestModelTest {
+
+    @Test
+    public void freeze_accepted_fields_and_baselines() {
+        final FrozenRestModel frozen = newRestModel()
+            .permit("name", "age")
+            .baseline("age", 18L)
+            .value("name", "John")
+            .value("secret", "hidden")
+            .freeze();
+
+        assertEquals(2, frozen.size());
+        assertEquals("John", frozen.get("name").asString());
+        assertEquals(Long.valueOf(18L), frozen.get("age").asLong());
+        assertTrue(frozen.get("secret").isNull());
+        assertTrue(frozen.isAccepted("Name"));
+        assertFalse(frozen.isAccepted("secret"));
+        assertTrue(frozen.containsKey("NAME"));
+        assertEquals("{\"name\":\"John\",\"age\":18}", toJson(frozen));
+    }
+
+    @Test
+    public void freeze_many_fields() {
+        final RestModel model = newRestModel().permitAll();
+        for (int i = 0; i < 1000; i++)
+            model.put("field_" + i, (long) i);
+
+        final FrozenRestModel frozen = model.freeze();
+        assertEquals(1000, frozen.size());
+        for (int i = 0; i < 1000; i++)
+            assertEquals(Long.valueOf(i), frozen.get("field_" + i).asLong());
+        assertFalse(frozen.isAccepted("field_1000"));
+    }
+
+    @Test
+    public void freeze_independent_from_model() {
+        final RestModel model = newRestModel().permitAll().value("name", "John");
+        final FrozenRestModel frozen = model.freeze();
+        model.put("name", "Mary");
+        model.put("age", 30L);
+
+        assertEquals("John", frozen.get("name").asString());
+        assertEquals(1, frozen.size());
+    }
+
+    @Test
+    public void freeze_nested() {
+        final RestModel model = newRestModel().permit("address.city", "tags");
+        model.get("address").asModel().put("city", "London");
+        model.put("tags", asList("a", "b"));
+
+        final FrozenRestModel frozen = model.freeze();
+        final FrozenRestModel address = frozen.modelOf("address");
+        assertEquals("London", address.get("city").asString());
+        assertSame(address, frozen.modelOf("address"));
+        assertNull(frozen.modelOf("tags"));
+        assertEquals("London", frozen.get("address").asModel().get("city").asString());
+        assertEquals(asList("a", "b"), frozen.get("tags").asOriginal());
+    }
+
+    @Test
+    public void freeze_independent_from_raw_values() {
+        final Map<String, Object> inner = new HashMap<>();
+        inner.put("x", 1L);
+        final List<Object> items = new ArrayList<>(asList("a"));
+        final long[] numbers = { 1, 2 };
+        final Map<String, Object> input = new HashMap<>();
+        input.put("inner", inner);
+        input.put("items", items);
+        input.put("numbers", numbers);
+
+        final RestModel model = newRestModel().permitAll();
+        model.putAll(input);
+        final FrozenRestModel frozen = model.freeze();
+        final int hash = frozen.hashCode();
+
+        inner.put("x", 2L);
+        items.add("b");
+        numbers[0] = 9;
+
+        assertEquals(1L, ((Map<?, ?>) frozen.get("inner").asOriginal()).get("x"));
+        assertEquals(asList("a"), frozen.get("items").asOriginal());
+        assertEquals(asList(1L, 2L), frozen.get("numbers").asOriginal());
+        assertEquals(hash, frozen.hashCode());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test(expected = UnsupportedOperationException.class)
+    public void frozen_raw_maps_unmodifiable() {
+        final Map<String, Object> inner = new HashMap<>();
+        inner.put("x", 1L);
+        final RestModel model = newRestModel().permitAll();
+        model.putAll(Collections.singletonMap("inner", inner));
+        ((Map<String, Object>) model.freeze().get("inner").asOriginal()).put("x", 2L);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void frozen_map_unmodifiable() {
+        newRestModel().permitAll().value("name", "John").freeze().put("name", "Mary");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void frozen_lists_unmodifiable() {
+        final FrozenRestModel frozen = newRestModel().permitAll().value("tags", asList("a")).freeze();
+        frozen.get("tags").asListOf(String.class);
+        ((List<?>) frozen.get("tags").asOriginal()).clear();
+    }
+
+    @Test
+    public void equals_and_hashCode() {
+        final FrozenRestModel a = newRestModel().permitAll().value("name", "John").value("age", 18L).freeze();
+        final FrozenRestModel b = newRestModel().permitAll().value("age", 18L).value("name", "John").freeze();
+        final FrozenRestModel c = newRestModel().permitAll().value("name", "Mary").value("age", 18L).freeze();
+
+        final Map<String, Object> map = new HashMap<>();
+        map.put("name", "John");
+        map.put("age", 18L);
+
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertEquals(map.hashCode(), a.hashCode());
+        assertEquals(a, map);
+        assertNotEquals(a, c);
+    }
+
+    @Test
+    public void thaw() {
+        final RestModel model = newRestModel().permit("address.city", "name").value("name", "John");
+        model.get("address").asModel().put("city", "London");
+
+        final RestModel thawed = model.freeze().thaw();
+        thawed.put("name", "Mary");
+        thawed.put("other", "x");
+        assertEquals("Mary", thawed.get("name").asString());
+        assertFalse(thawed.isAccepted("other"));
+        assertEquals("London", thawed.get("address").asModel().get("city").asString());
+    }
+
+    @Test
+    public void shared_across_threads() throws Exception {
+        final RestModel model = newRestModel().permitAll();
+        for (int i = 0; i < 100; i++)
+            model.put("field_" + i, (long) i);
+        final FrozenRestModel frozen = model.freeze();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Long>> sums = new ArrayList<>();
+            for (int t = 0; t < 8; t++)
+                sums.add(executor.submit(() -> {
+                    long sum = 0;
+                    for (int i = 0; i < 100; i++)
+                        sum += frozen.get("field_" + i).asLong();
+                    return sum;
+                }));
+            for (final Future<Long> sum : sums)
+                assertEquals(Long.valueOf(4950L), sum.get());
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package boxfish.commons.web.model;
+
+import static boxfish.commons.web.model.JsonWriter.toJson;
+import static boxfish.commons.web.model.JsonWriter.writeJson;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+import boxfish.commons.web.model.sanitization.JsonParser;
+import boxfish.commons.web.model.validation.ModelErrors;
+
+public class JsonWriterTest {
+
+    @Test
+    public void toJson_scalars() {
+        assertEquals("null", toJson(null));
+        assertEquals("true", toJson(true));
+        assertEquals("-1234567890123", toJson(-1234567890123L));
+        assertEquals(String.valueOf(Long.MIN_VALUE), toJson(Long.MIN_VALUE));
+        assertEquals("0", toJson(0));
+        assertEquals("1.50", toJson(new BigDecimal("1.50")));
+        assertEquals("2.5", toJson(2.5d));
+        assertEquals("null", toJson(Double.NaN));
+        assertEquals("\"MONDAY\"", toJson(java.time.DayOfWeek.MONDAY));
+    }
+
+    @Test
+    public void toJson_escapes_strings() {
+        assertEquals("\"a\\\"b\\\\c\\nd\\te\\u0001\"", toJson("a\"b\\c\nd\te\u0001"));
+    }
+
+    @Test
+    public void toJson_model_only_accepted_fields() {
+        final RestModel model = RestModel.newRestModel()
+            .permit("name", "age")
+            .baseline("age", 18L)
+            .baseline("secret_default", "x")
+            .value("name", "John")
+            .value("secret", "hidden");
+
+        assertEquals("{\"name\":\"John\",\"age\":18}", toJson(model));
+    }
+
+    @Test
+    public void toJson_nested_models_lists_and_arrays() {
+        final RestModel model = RestModel.newRestModel().permitAll();
+        model.put("items", asList(1L, "two", null));
+        model.put("child", RestModel.newRestModel().permitAll().value("flag", false));
+        model.put("numbers", new long[] { 1, 2 });
+
+        final RestModel parsed = ((RestModel) JsonParser.parse(toJson(model))).permitAll();
+        assertEquals(asList(1L, "two", null), parsed.get("items").asOriginal());
+        assertEquals(false, parsed.get("child").asModel().permitAll().get("flag").asBoolean());
+        assertEquals(asList(1L, 2L), parsed.get("numbers").asOriginal());
+    }
+
+    @Test
+    public void toJson_rest_value() {
+        assertEquals("[\"a\",1]", toJson(new RestValue(asList("a", 1L))));
+    }
+
+    @Test
+    public void toJson_model_errors() {
+        final ModelErrors errors = new ModelErrors();
+        errors.addError("name", "is required");
+        errors.addError("age", "is invalid");
+
+        assertEquals(
+            "[{\"fieldName\":\"age\",\"errorMessage\":\"is invalid\"},"
+                     + "{\"fieldName\":\"name\",\"errorMessage\":\"is required\"}]",
+            toJson(errors));
+    }
+
+    @Test
+    public void writeJson_writer() throws Exception {
+        final StringWriter json = new StringWriter();
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 10000; i++)
+            text.append((char) ('a' + i % 26));
+        writeJson(asList(text, text.toString()), json);
+        assertEquals("[\"" + text + "\",\"" + text + "\"]", json.toString());
+    }
+
+    @Test
+    public void writeJson_stream_utf8() throws Exception {
+        final ByteArrayOutputStream json = new ByteArrayOutputStream();
+        final String text = "caf\u00e9 \u20ac \ud83d\ude00";
+        writeJson(text, json);
+        assertEquals("\"" + text + "\"", new String(json.toByteArray(), UTF_8));
+    }
+
+    @Test
+    public void writeJson_stream_unpaired_surrogate() throws Exception {
+        final ByteArrayOutputStream json = new ByteArrayOutputStream();
+        writeJson("a\ud83db", json);
+        assertEquals("\"a?b\"", new String(json.toByteArray(), UTF_8));
+    }
+
+    @Test
+    public void writeJson_buffer() {
+        final ByteBuffer json = ByteBuffer.allocate(64);
+        writeJson(RestModel.newRestModel().permitAll().value("name", "\u00e9"), json);
+        json.flip();
+        assertEquals("{\"name\":\"\u00e9\"}", UTF_8.decode(json).toString());
+    }
+
+    @Test(expected = BufferOverflowException.class)
+    public void writeJson_buffer_too_small() {
+        writeJson("too long for the buffer", ByteBuffer.allocate(4));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void writeJson_null_writer() throws Exception {
+        writeJson("a", (StringWriter) null);
+    }
+}
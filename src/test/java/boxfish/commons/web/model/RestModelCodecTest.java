@@ -0,0 +1,203 @@
+package boxfish.commons.web.model;
+
+import static boxfish.commons.web.model.JsonWriter.toJson;
+import static boxfish.commons.web.model.RestModel.newRestModel;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+
+import org.junit.Test;
+
+public class RestModelCodecTest {
+
+    @Test
+    public void roundTrip_values() {
+        final Instant now = Instant.ofEpochSecond(1500000000L, 123456789);
+        final RestModel model = newRestModel()
+            .permitAll()
+            .value("text", "caf\u00e9 \ud83d\ude00")
+            .value("count", -42)
+            .value("total", Long.MIN_VALUE)
+            .value("ratio", 0.25d)
+            .value("price", new BigDecimal("-12345678901234567890.123"))
+            .value("flag", true)
+            .value("nothing", null)
+            .value("at", now)
+            .value("items", asList(1L, "two", null, asList(false)));
+
+        final RestModel decoded = roundTrip(model);
+        assertEquals("caf\u00e9 \ud83d\ude00", decoded.get("text").asString());
+        assertEquals(Integer.valueOf(-42), decoded.get("count").asOriginal());
+        assertEquals(Long.MIN_VALUE, decoded.get("total").asOriginal());
+        assertEquals(0.25d, decoded.get("ratio").asOriginal());
+        assertEquals(new BigDecimal("-12345678901234567890.123"), decoded.get("price").asOriginal());
+        assertEquals(true, decoded.get("flag").asOriginal());
+        assertNull(decoded.get("nothing").asOriginal());
+        assertEquals(now, decoded.get("at").asOriginal());
+        assertEquals(asList(1L, "two", null, asList(false)), decoded.get("items").asOriginal());
+        assertEquals(toJson(model), toJson(decoded));
+    }
+
+    @Test
+    public void roundTrip_converterTypes() {
+        final RestModel model = newRestModel()
+            .permitAll()
+            .value("byte", (byte) -7)
+            .value("short", (short) -300)
+            .value("float", 1.5f)
+            .value("big", new BigInteger("-123456789012345678901234567890"))
+            .value("day", DayOfWeek.MONDAY)
+            .value("bytes", new byte[] { 1, -2 })
+            .value("shorts", new short[] { 1, -2 })
+            .value("ints", new int[] { 1, Integer.MIN_VALUE })
+            .value("longs", new long[] { 1, Long.MAX_VALUE })
+            .value("floats", new float[] { 1.5f, -2f })
+            .value("doubles", new double[] { 1.5d, Double.NaN });
+
+        final RestModel decoded = roundTrip(model);
+        assertEquals(Byte.valueOf((byte) -7), decoded.get("byte").asOriginal());
+        assertEquals(Short.valueOf((short) -300), decoded.get("short").asOriginal());
+        assertEquals(Float.valueOf(1.5f), decoded.get("float").asOriginal());
+        assertEquals(new BigInteger("-123456789012345678901234567890"), decoded.get("big").asOriginal());
+        assertEquals(DayOfWeek.MONDAY, decoded.get("day").asEnum(DayOfWeek.class));
+        assertArrayEquals(new byte[] { 1, -2 }, (byte[]) decoded.get("bytes").asOriginal());
+        assertArrayEquals(new short[] { 1, -2 }, (short[]) decoded.get("shorts").asOriginal());
+        assertArrayEquals(new int[] { 1, Integer.MIN_VALUE }, decoded.get("ints").asIntArray());
+        assertArrayEquals(new long[] { 1, Long.MAX_VALUE }, decoded.get("longs").asLongArray());
+        assertArrayEquals(new float[] { 1.5f, -2f }, (float[]) decoded.get("floats").asOriginal(), 0f);
+        assertArrayEquals(new double[] { 1.5d, Double.NaN }, decoded.get("doubles").asDoubleArray(), 0d);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void encode_tooDeep() {
+        Object nested = null;
+        for (int i = 0; i < 1000; i++)
+            nested = Collections.singletonList(nested);
+        RestModelCodec.toBytes(newRestModel().value("nested", nested));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decode_tooDeep() {
+        // a model with a single field holding 200000 lists nested in each other
+        final ByteBuffer snapshot = ByteBuffer.allocate(400016);
+        snapshot.put(new byte[] { 1, 0, 0, 0, 0, 1, 0, 1, 'a' });
+        for (int i = 0; i < 200000; i++)
+            snapshot.put(new byte[] { 10, 1 });
+        snapshot.put((byte) 0);
+        snapshot.flip();
+        RestModelCodec.decode(snapshot);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decode_instantOutOfRange() {
+        final ByteBuffer snapshot = ByteBuffer.allocate(32);
+        snapshot.put(new byte[] { 1, 0, 0, 0, 0, 1, 0, 1, 'a', 8 });
+        for (int i = 0; i < 9; i++)
+            snapshot.put((byte) 0xFF);
+        snapshot.put(new byte[] { 1, 0 });
+        snapshot.flip();
+        RestModelCodec.decode(snapshot);
+    }
+
+    @Test
+    public void roundTrip_declarations() {
+        final RestModel model = newRestModel()
+            .permit("name", "address.city")
+            .require("email")
+            .baseline("name", "anonymous")
+            .value("email", "a@b.c")
+            .value("secret", "hidden");
+        model.get("address").asModel().put("city", "London");
+
+        final RestModel decoded = roundTrip(model);
+        assertTrue(decoded.isAccepted("name"));
+        assertTrue(decoded.isAccepted("email"));
+        assertFalse(decoded.isAccepted("secret"));
+        assertNull(decoded.get("secret").asOriginal());
+        assertEquals("anonymous", decoded.get("name").asString());
+        assertEquals("London", decoded.get("address").asModel().get("city").asString());
+        assertTrue(decoded.isValid());
+
+        decoded.permit("secret");
+        assertEquals("hidden", decoded.get("secret").asString());
+
+        decoded.remove("email");
+        assertFalse(decoded.isValid());
+    }
+
+    @Test
+    public void roundTrip_empty() {
+        final RestModel decoded = roundTrip(newRestModel());
+        assertTrue(decoded.isEmpty());
+        assertFalse(decoded.isAccepted("any"));
+    }
+
+    @Test
+    public void encode_repeated_names_once() {
+        final RestModel model = newRestModel().permitAll();
+        final RestModel child = newRestModel().permitAll().value("a_rather_long_field_name", 1L);
+        model.put("items", Collections.nCopies(20, child));
+
+        final byte[] snapshot = RestModelCodec.toBytes(model);
+        assertTrue(snapshot.length < toJson(model).getBytes(UTF_8).length / 2);
+        final String text = new String(snapshot, UTF_8);
+        assertEquals(text.indexOf("a_rather_long_field_name"), text.lastIndexOf("a_rather_long_field_name"));
+    }
+
+    @Test
+    public void decode_from_position() {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(128);
+        buffer.put((byte) 99);
+        RestModelCodec.encode(newRestModel().permitAll().value("name", "x"), buffer);
+        final int end = buffer.position();
+        buffer.flip();
+        buffer.get();
+
+        assertEquals("x", RestModelCodec.decode(buffer).get("name").asString());
+        assertEquals(end, buffer.position());
+    }
+
+    @Test(expected = BufferOverflowException.class)
+    public void encode_buffer_too_small() {
+        RestModelCodec.encode(newRestModel().value("name", "too long"), ByteBuffer.allocate(4));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void encode_unknown_type() {
+        RestModelCodec.toBytes(newRestModel().value("when", new Object()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void encode_uuid() {
+        RestModelCodec.toBytes(newRestModel().value("id", UUID.randomUUID()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decode_truncated() {
+        final byte[] snapshot = RestModelCodec.toBytes(newRestModel().permitAll().value("name", "x"));
+        RestModelCodec.decode(ByteBuffer.wrap(Arrays.copyOf(snapshot, snapshot.length - 1)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decode_unknown_version() {
+        RestModelCodec.decode(ByteBuffer.wrap(new byte[] { 42 }));
+    }
+
+    private static RestModel roundTrip(final RestModel model) {
+        return RestModelCodec.decode(ByteBuffer.wrap(RestModelCodec.toBytes(model)));
+    }
+}
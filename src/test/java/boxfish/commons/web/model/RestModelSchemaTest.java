@@ -0,0 +1,180 @@
+package boxfish.commons.web.model;
+
+import static boxfish.commons.web.model.BindingLimits.bindingLimits;
+import static boxfish.commons.web.model.RestModel.newRestModel;
+import static boxfish.commons.web.model.RestModelSchema.schemaOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import boxfish.commons.web.model.BindingLimits.Limit;
+import boxfish.commons.web.model.validation.ModelErrors;
+
+public class RestModelSchemaTest {
+    private RestModelSchema schema;
+
+    @Before
+    public void setup() {
+        schema = schemaOf(newRestModel()
+            .permit("name", "colour.hex")
+            .require("priceValue")
+            .baseline("name", "unnamed")
+            .rules(
+                "price_value",
+                condition -> condition
+                    .forType(Integer.class)
+                    .ifValueFailsOn((all, v) -> v >= 0 && !all.get("name").asString().isEmpty())
+                    .warnWith("The 'price_value' must be positive")));
+    }
+
+    @Test
+    public void restModelFrom() {
+        final Map<String, Object> colour = new HashMap<>();
+        colour.put("hex", "#ffffff");
+        colour.put("alpha", 1);
+
+        final Map<String, Object> input = new HashMap<>();
+        input.put("priceValue", 10);
+        input.put("colour", colour);
+        input.put("ignored", "whatever");
+
+        final RestModel actual = schema.restModelFrom(input);
+        assertEquals(10, actual.get("price_value").asInteger().intValue());
+        assertEquals("unnamed", actual.get("name").asString());
+        assertEquals("#ffffff", actual.get("colour").asModel().get("hex").asString());
+        assertTrue(actual.get("colour").asModel().get("alpha").isNull());
+        assertTrue(actual.get("ignored").isNull());
+        assertEquals(2, actual.size());
+        assertTrue(actual.isValid());
+    }
+
+    @Test
+    public void restModelFrom_bindOnlyAccepted() {
+        final Map<String, Object> colour = new HashMap<>();
+        colour.put("hex", "#ffffff");
+        colour.put("alpha", 1);
+
+        final Map<String, Object> input = new HashMap<>();
+        input.put("name", "pen");
+        input.put("colour", colour);
+        input.put("ignored", "whatever");
+
+        final RestModel actual = schemaOf(newRestModel()
+            .permit("name", "colour.hex")
+            .bindOnlyAccepted()).restModelFrom(input);
+        assertEquals("pen", actual.get("name").asString());
+        assertEquals("#ffffff", actual.get("colour").asModel().get("hex").asString());
+        assertEquals(1, actual.get("colour").asModel().permitAll().size());
+        assertEquals(2, actual.permitAll().size());
+        assertEquals(2, actual.discardedCount());
+    }
+
+    @Test(expected = BindingLimitExceededException.class)
+    public void restModelFrom_tooManyDiscarded() {
+        final Map<String, Object> colour = new HashMap<>();
+        colour.put("alpha", 1);
+
+        final Map<String, Object> input = new HashMap<>();
+        input.put("colour", colour);
+        input.put("ignored", "whatever");
+
+        schemaOf(newRestModel()
+            .permit("name", "colour.hex")
+            .bindOnlyAccepted(1)).restModelFrom(input);
+    }
+
+    @Test
+    public void restModelFrom_tooManyDiscardedRejected() {
+        final BindingLimits limits = bindingLimits();
+        final Map<String, Object> input = new HashMap<>();
+        input.put("ignored", "whatever");
+        input.put("another", "whatever");
+        try {
+            schemaOf(newRestModel().permit("name").bindOnlyAccepted(1).limitBindingTo(limits)).restModelFrom(input);
+        }
+        catch (final BindingLimitExceededException e) {
+            assertEquals(Limit.DISCARDED_FIELDS, e.getLimit());
+        }
+        assertEquals(1, limits.rejections(Limit.DISCARDED_FIELDS));
+    }
+
+    @Test
+    public void restModelFrom_talliesArePerBinding() {
+        final RestModelSchema limited = schemaOf(newRestModel().permit("name").bindOnlyAccepted(1));
+        final Map<String, Object> input = new HashMap<>();
+        input.put("ignored", "whatever");
+
+        assertEquals(1, limited.restModelFrom(input).discardedCount());
+        assertEquals(1, limited.restModelFrom(input).discardedCount());
+    }
+
+    @Test
+    public void restModelFrom_limited() {
+        final Map<String, Object> colour = new HashMap<>();
+        colour.put("hex", "#ffffff");
+        colour.put("alpha", 1);
+
+        final Map<String, Object> input = new HashMap<>();
+        input.put("colour", colour);
+
+        final RestModelSchema limited = schemaOf(newRestModel()
+            .permit("name", "colour.hex")
+            .limitBindingTo(bindingLimits().maxFieldsPerModel(1)));
+        try {
+            limited.restModelFrom(input);
+        }
+        catch (final BindingLimitExceededException e) {
+            assertEquals(Limit.FIELDS_PER_MODEL, e.getLimit());
+            return;
+        }
+        throw new AssertionError("The binding limits were not enforced.");
+    }
+
+    @Test
+    public void restModelFrom_nestedMissing() {
+        final RestModel actual = schema.restModelFrom(new HashMap<>());
+        assertFalse(actual.get("colour").isNull());
+        assertFalse(actual.has("colour"));
+    }
+
+    @Test
+    public void restModelFrom_rulesReceiveTheBoundModel() {
+        final Map<String, Object> input = new HashMap<>();
+        input.put("price_value", 10);
+        input.put("name", "");
+        assertFalse(schema.restModelFrom(input).isValid());
+
+        input.put("name", "label");
+        assertTrue(schema.restModelFrom(input).isValid());
+
+        input.put("price_value", -1);
+        final ModelErrors errors = schema.restModelFrom(input).errors();
+        assertEquals(1, errors.size().intValue());
+        assertEquals("price_value", errors.get(0).getFieldName());
+    }
+
+    @Test
+    public void newRestModel_required() {
+        final RestModel actual = schema.newRestModel();
+        assertFalse(actual.isValid());
+        actual.value("price_value", BigDecimal.ONE);
+        assertTrue(actual.isValid());
+    }
+
+    @Test
+    public void declarationsAreNotShared() {
+        final RestModel first = schema.newRestModel().permit("extra").value("extra", 1);
+        final RestModel second = schema.newRestModel().value("extra", 1);
+        assertEquals(1, first.get("extra").asInteger().intValue());
+        assertNull(second.get("extra").asInteger());
+        assertFalse(second.isAccepted("extra"));
+    }
+}
@@ -1,5 +1,7 @@
 package boxfish.commons.web.model;
 
+import static boxfish.commons.web.model.BindingLimits.bindingLimits;
+import static boxfish.commons.web.model.validation.ParallelValidation.parallelAbove;
 import static java.math.BigDecimal.ZERO;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
@@ -8,18 +10,24 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import boxfish.commons.web.model.BindingLimits.Limit;
 import boxfish.commons.web.model.validation.ModelError;
 import boxfish.commons.web.model.validation.ModelErrors;
 import boxfish.commons.web.model.validation.ValidationListener;
@@ -70,6 +78,14 @@ public class RestModelTest {
         assertTrue(model.isAccepted(FIELD_NAME));
     }
 
+    @Test
+    public void isAccepted_anyCase() {
+        model.permit("fieldName", "field_name", "FieldName").require("field-name");
+        assertTrue(model.isAccepted("FIELD_NAME"));
+        assertTrue(model.isAccepted("field name"));
+        assertFalse(model.isAccepted("field_names"));
+    }
+
     @Test
     public void permit() throws Exception {
         model.value(FIELD_NAME, FIELD_VALUE);
@@ -425,4 +441,519 @@ public class RestModelTest {
         assertEquals(495, values.get(0));
         assertEquals("945725", values.get(1));
     }
+
+    @Test
+    public void sanitizeLazily_map() {
+        final CountingMap child = new CountingMap();
+        child.put("innerField", 12);
+        model.sanitizeLazily().permit("child", "other").value("child", child).value("other", 1);
+
+        assertEquals(Integer.valueOf(1), model.get("other").asInteger());
+        assertTrue(model.containsKey("child"));
+        assertEquals(2, model.size());
+        assertEquals(0, child.reads);
+
+        final RestModel first = model.get("child").asModel();
+        assertSame(first, model.get("child").asModel());
+        assertEquals(1, child.reads);
+        assertEquals(Integer.valueOf(12), first.permit("innerField").get("innerField").asInteger());
+    }
+
+    @Test
+    public void sanitizeEagerly_map() {
+        final CountingMap child = new CountingMap();
+        model.permit("child").value("child", child);
+        assertEquals(1, child.reads);
+    }
+
+    @Test
+    public void sanitizeLazily_nested() {
+        final CountingMap grandChild = new CountingMap();
+        grandChild.put("leaf", "value");
+        final CountingMap child = new CountingMap();
+        child.put("grandChild", grandChild);
+        model.sanitizeLazily().permitAll().value("child", child);
+
+        final RestModel sanitizedChild = model.get("child").asModel().permitAll();
+        assertEquals(1, child.reads);
+        assertEquals(0, grandChild.reads);
+        assertEquals("value", sanitizedChild.get("grandChild").asModel().permitAll().get("leaf").asString());
+        assertEquals(1, grandChild.reads);
+    }
+
+    @Test
+    public void sanitizeLazily_list() {
+        final Map<String, Object> item = new HashMap<>();
+        item.put("id", 7);
+        model.sanitizeLazily().permit("items").value("items", asList(item, "text"));
+
+        final List<RestValue> items = model.get("items").asList();
+        assertEquals(2, items.size());
+        assertEquals(Integer.valueOf(7), items.get(0).asModel().permit("id").get("id").asInteger());
+        assertEquals("text", items.get(1).asString());
+    }
+
+    @Test
+    public void sanitizeLazily_json() {
+        model.sanitizeLazily().permit("json").value("json", "{\"id\": 7}");
+        assertEquals(Long.valueOf(7), model.get("json").asModel().permit("id").get("id").asLong());
+    }
+
+    @Test
+    public void sanitizeLazily_values() {
+        final Map<String, Object> child = new HashMap<>();
+        child.put("innerField", 12);
+        model.sanitizeLazily().permit("child").value("child", child);
+
+        assertTrue(model.values().iterator().next() instanceof RestModel);
+    }
+
+    @Test
+    public void sanitizeLazily_overwritten() {
+        final Map<String, Object> child = new HashMap<>();
+        model.sanitizeLazily().permit("child").value("child", child);
+        model.sanitizeEagerly().value("child", 5);
+
+        assertEquals(Integer.valueOf(5), model.get("child").asInteger());
+    }
+
+    @Test
+    public void bindOnlyAccepted() {
+        final CountingMap unpermitted = new CountingMap();
+        unpermitted.put("huge", "subtree");
+        model.permit("name").bindOnlyAccepted();
+        model.value("name", "john");
+        model.value("other", unpermitted);
+
+        assertEquals("john", model.get("name").asString());
+        assertEquals(0, unpermitted.reads);
+        assertEquals(1, model.discardedCount());
+        assertEquals(1, model.permitAll().size());
+    }
+
+    @Test
+    public void bindOnlyAccepted_nested() {
+        final Map<String, Object> colour = new HashMap<>();
+        colour.put("hex", "#ffffff");
+        colour.put("alpha", 1);
+        model.permit("name", "colour.hex").bindOnlyAccepted();
+        model.value("colour", colour);
+
+        final RestModel bound = model.get("colour").asModel();
+        assertEquals("#ffffff", bound.get("hex").asString());
+        assertEquals(1, bound.permitAll().size());
+        assertEquals(1, model.discardedCount());
+    }
+
+    @Test
+    public void bindOnlyAccepted_putAll() {
+        final Map<String, Object> input = new HashMap<>();
+        input.put("name", "john");
+        input.put("other", 1);
+        model.permit("name").bindOnlyAccepted().putAll(input);
+
+        assertEquals(1, model.permitAll().size());
+        assertEquals(1, model.discardedCount());
+    }
+
+    @Test
+    public void bindOnlyAccepted_putAllNested() {
+        final Map<String, Object> address = new HashMap<>();
+        address.put("city", "London");
+        address.put("street", "Baker");
+        final Map<String, Object> input = new HashMap<>();
+        input.put("address", address);
+        model.permit("address.city").bindOnlyAccepted().putAll(input);
+
+        final RestModel bound = model.get("address").asModel();
+        assertEquals("London", bound.get("city").asString());
+        assertEquals(1, bound.permitAll().size());
+        assertEquals(1, model.discardedCount());
+    }
+
+    @Test(expected = BindingLimitExceededException.class)
+    public void bindOnlyAccepted_tooManyDiscarded() {
+        model.permit("name", "colour.hex").bindOnlyAccepted(1);
+        model.value("other", 1);
+        final Map<String, Object> colour = new HashMap<>();
+        colour.put("alpha", 1);
+        model.value("colour", colour);
+    }
+
+    @Test
+    public void bindOnlyAccepted_tooManyDiscardedRejected() {
+        final BindingLimits limits = bindingLimits();
+        model.permit("name").bindOnlyAccepted(1).limitBindingTo(limits);
+        model.value("other", 1);
+        try {
+            model.value("another", 2);
+        }
+        catch (final BindingLimitExceededException e) {
+            assertEquals(Limit.DISCARDED_FIELDS, e.getLimit());
+        }
+        assertEquals(1, limits.rejections(Limit.DISCARDED_FIELDS));
+    }
+
+    @Test
+    public void bindEverything() {
+        model.permit("name").bindOnlyAccepted().bindEverything();
+        model.value("other", 1);
+
+        assertEquals(0, model.discardedCount());
+        assertEquals(1, model.permitAll().size());
+    }
+
+    @Test
+    public void limitBindingTo() {
+        final Map<String, Object> child = new HashMap<>();
+        child.put("items", asList(1, "two", asList(3)));
+        model.permitAll().limitBindingTo(bindingLimits()
+            .maxDepth(4)
+            .maxFieldsPerModel(2)
+            .maxListElements(3)
+            .maxTotalNodes(7)
+            .maxStringBytes(8));
+        model.value("name", "john");
+        model.value("child", child);
+
+        assertEquals("john", model.get("name").asString());
+        assertEquals(3, model.get("child").asModel().permitAll().get("items").asList().size());
+    }
+
+    @Test
+    public void limitBindingTo_nestedListsKeptAsWithoutLimits() {
+        final Map<String, Object> item = new HashMap<>();
+        item.put("a", 1);
+        final List<Object> nested = asList(asList(item, asList(2)), 3);
+
+        final RestModel unlimited = RestModel.newRestModel().permitAll();
+        unlimited.value("list", nested);
+        final RestModel limited = RestModel.newRestModel().permitAll().limitBindingTo(bindingLimits());
+        limited.value("list", nested);
+
+        final List<?> expected = (List<?>) unlimited.get("list").asOriginal();
+        final List<?> actual = (List<?>) limited.get("list").asOriginal();
+        assertEquals(expected, actual);
+        assertTrue(((List<?>) actual.get(0)).get(0) instanceof HashMap);
+    }
+
+    @Test
+    public void limitBindingTo_depth() {
+        final Map<String, Object> deepest = new HashMap<>();
+        deepest.put("leaf", 1);
+        final Map<String, Object> deep = new HashMap<>();
+        deep.put("deepest", deepest);
+        assertExceeded(Limit.DEPTH, bindingLimits().maxDepth(2), "deep", deep);
+    }
+
+    @Test
+    public void limitBindingTo_listDepth() {
+        assertExceeded(Limit.DEPTH, bindingLimits().maxDepth(2), "list", asList(asList(1)));
+    }
+
+    @Test
+    public void limitBindingTo_fieldsPerModel() {
+        final Map<String, Object> child = new HashMap<>();
+        child.put("a", 1);
+        child.put("b", 2);
+        assertExceeded(Limit.FIELDS_PER_MODEL, bindingLimits().maxFieldsPerModel(1), "child", child);
+    }
+
+    @Test
+    public void limitBindingTo_listElements() {
+        assertExceeded(Limit.LIST_ELEMENTS, bindingLimits().maxListElements(2), "list", asList(1, 2, 3));
+    }
+
+    @Test
+    public void limitBindingTo_totalNodes() {
+        assertExceeded(Limit.TOTAL_NODES, bindingLimits().maxTotalNodes(3), "list", asList(1, 2, 3));
+    }
+
+    @Test
+    public void limitBindingTo_stringBytes() {
+        assertExceeded(Limit.STRING_BYTES, bindingLimits().maxStringBytes(3), "name", "john");
+    }
+
+    @Test
+    public void limitBindingTo_fieldName() {
+        assertExceeded(Limit.STRING_BYTES, bindingLimits().maxStringBytes(3), "longName", 1);
+    }
+
+    @Test
+    public void limitBindingTo_json() {
+        assertExceeded(Limit.DEPTH, bindingLimits().maxDepth(2), "json", "{\"a\": {\"b\": 1}}");
+        assertExceeded(Limit.STRING_BYTES, bindingLimits().maxStringBytes(3), "json", "{\"a\": \"long\"}");
+        assertExceeded(Limit.LIST_ELEMENTS, bindingLimits().maxListElements(1), "json", "{\"a\": [1, 2]}");
+    }
+
+    @Test
+    public void limitBindingTo_putAll() {
+        final Map<String, Object> input = new HashMap<>();
+        input.put("list", asList(1, 2, 3));
+        final BindingLimits limits = bindingLimits().maxListElements(2);
+        try {
+            model.permitAll().limitBindingTo(limits).putAll(input);
+        }
+        catch (final BindingLimitExceededException e) {
+            assertEquals(Limit.LIST_ELEMENTS, e.getLimit());
+        }
+        assertEquals(1, limits.rejections(Limit.LIST_ELEMENTS));
+    }
+
+    @Test
+    public void errors_cached() {
+        final int[] evaluations = new int[2];
+        model
+            .rules("a", positive(evaluations, 0))
+            .rules("b", positive(evaluations, 1))
+            .value("a", 1)
+            .value("b", -1);
+
+        assertFalse(model.isValid());
+        assertEquals(1, model.errors().size().intValue());
+        assertEquals(1, model.errors().size().intValue());
+        assertFalse(model.isValid());
+        assertEquals(1, evaluations[0]);
+        assertEquals(2, evaluations[1]);
+
+        model.value("b", 2);
+        assertTrue(model.isValid());
+        assertEquals(0, model.errors().size().intValue());
+        assertEquals(1, evaluations[0]);
+        assertEquals(3, evaluations[1]);
+    }
+
+    @Test
+    public void errors_cachedWithDependencies() {
+        model
+            .permit("limit")
+            .rules(
+                "amount",
+                condition -> condition
+                    .forType(Integer.class)
+                    .ifValueFailsOn((all, v) -> v <= all.get("limit").asInteger())
+                    .warnWith("The 'amount' is over the limit"))
+            .value("amount", 10)
+            .value("limit", 20);
+
+        assertTrue(model.isValid());
+        model.value("limit", 5);
+        assertFalse(model.isValid());
+        model.remove("limit");
+        model.baseline("limit", 15);
+        assertTrue(model.isValid());
+    }
+
+    @Test
+    public void errors_forgetValidation() {
+        final int[] evaluations = new int[1];
+        model.rules("a", positive(evaluations, 0)).value("a", 1);
+
+        assertTrue(model.isValid());
+        assertTrue(model.isValid());
+        assertEquals(1, evaluations[0]);
+
+        assertTrue(model.forgetValidation().isValid());
+        assertEquals(2, evaluations[0]);
+    }
+
+    @Test
+    public void errors_cachedUntilDeclarationsChange() {
+        model.value("name", "john");
+        assertTrue(model.isValid());
+        model.require("surname");
+        assertFalse(model.isValid());
+        model.value("surname", "doe");
+        assertTrue(model.isValid());
+        model.clear();
+        assertFalse(model.isValid());
+    }
+
+    @Test
+    public void errors_notSharedWithTheCache() {
+        model.require("name");
+        model.errors().addError("other", "message");
+        assertEquals(1, model.errors().size().intValue());
+    }
+
+    @Test
+    public void errors_nestedModelsAlwaysEvaluated() {
+        final int[] evaluations = new int[1];
+        model
+            .rules(
+                "child",
+                condition -> condition
+                    .forType(RestModel.class)
+                    .ifValueFailsOn((all, v) -> {
+                        evaluations[0]++;
+                        return v.permit("id").has("id");
+                    })
+                    .warnWith("The 'child' needs an id"))
+            .value("child", new HashMap<>());
+
+        assertFalse(model.isValid());
+        model.get("child").asModel().value("id", 1);
+        assertTrue(model.isValid());
+        assertEquals(2, evaluations[0]);
+    }
+
+    @Test
+    public void isValid_failsFast() {
+        final int[] evaluations = new int[2];
+        model
+            .require("name")
+            .rules("a", positive(evaluations, 0))
+            .rules("b", positive(evaluations, 1))
+            .value("a", -1)
+            .value("b", -1);
+
+        assertFalse(model.isValid());
+        assertEquals(0, evaluations[0] + evaluations[1]);
+
+        model.value("name", "john");
+        assertFalse(model.isValid());
+        assertEquals(1, evaluations[0] + evaluations[1]);
+    }
+
+    @Test
+    public void errors_childreenInParallel() {
+        final List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 5000; i++)
+            items.add(i % 1000 == 42 ? -i : i);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            model
+                .rulesOnEachChildOf(
+                    "items",
+                    condition -> condition
+                        .ifValueFailsOn((all, v) -> v.asInteger() >= 0)
+                        .warnWith("The 'items' must be positive"))
+                .validateChildreenInParallel(parallelAbove(1000).on(executor))
+                .value("items", items);
+
+            final ModelErrors errors = model.errors();
+            assertEquals(5, errors.size().intValue());
+            final List<String> fields = new ArrayList<>();
+            for (final ModelError error : errors)
+                fields.add(error.getFieldName());
+            assertTrue(fields.containsAll(asList("items[42]", "items[1042]", "items[2042]", "items[3042]", "items[4042]")));
+            assertFalse(model.isValid());
+
+            model.value("items", items.subList(0, 42));
+            assertTrue(model.isValid());
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void errors_childreenInParallelBelowThreshold() {
+        model
+            .rulesOnEachChildOf(
+                "items",
+                condition -> condition
+                    .ifValueFailsOn((all, v) -> v.asInteger() >= 0)
+                    .warnWith("The 'items' must be positive"))
+            .validateChildreenInParallel(parallelAbove(1000))
+            .value("items", asList(1, -2));
+
+        assertEquals("items[1]", model.errors().get(0).getFieldName());
+    }
+
+    @Test
+    public void errors_childreenSameBelowAndAboveThreshold() {
+        final List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 2000; i++)
+            items.add(i % 500 == 7 ? -i : i);
+
+        final List<String> sequential = childErrorsOf(RestModel.newRestModel().validateChildreenInParallel(parallelAbove(5000)), items);
+        final List<String> parallel = childErrorsOf(RestModel.newRestModel().validateChildreenInParallel(parallelAbove(100)), items);
+        assertEquals(asList("items[1007]", "items[1507]", "items[507]", "items[7]"), sequential);
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    public void errors_childreenByDefaultOncePerMessage() {
+        final List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 50000; i++)
+            items.add(-i - 1);
+
+        assertEquals(asList("items"), childErrorsOf(RestModel.newRestModel(), items));
+    }
+
+    private static List<String> childErrorsOf(final RestModel model, final List<Integer> items) {
+        model
+            .rulesOnEachChildOf(
+                "items",
+                condition -> condition
+                    .ifValueFailsOn((all, v) -> v.asInteger() >= 0)
+                    .warnWith("The 'items' must be positive"))
+            .value("items", items);
+
+        final List<String> fields = new ArrayList<>();
+        for (final ModelError error : model.errors())
+            fields.add(error.getFieldName());
+        return fields;
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void errors_childreenInParallelFailing() {
+        final List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 1000; i++)
+            items.add(i);
+
+        model
+            .rulesOnEachChildOf(
+                "items",
+                condition -> condition
+                    .ifValueFailsOn((all, v) -> {
+                        if (v.asInteger() == 500)
+                            throw new IllegalStateException();
+                        return true;
+                    })
+                    .warnWith("The 'items' can't fail"))
+            .validateChildreenInParallel(parallelAbove(10))
+            .value("items", items);
+
+        model.errors();
+    }
+
+    private static ValidationListener<Integer> positive(final int[] evaluations, final int index) {
+        return condition -> condition
+            .forType(Integer.class)
+            .ifValueFailsOn((all, v) -> {
+                evaluations[index]++;
+                return v > 0;
+            })
+            .warnWith("Must be positive");
+    }
+
+    private static void assertExceeded(
+            final Limit limit,
+            final BindingLimits limits,
+            final String field,
+            final Object value) {
+        try {
+            RestModel.newRestModel().permitAll().limitBindingTo(limits).value(field, value);
+        }
+        catch (final BindingLimitExceededException e) {
+            assertEquals(limit, e.getLimit());
+            assertEquals(1, limits.rejections(limit));
+            return;
+        }
+        throw new AssertionError("The binding limits were not enforced.");
+    }
+
+    private static class CountingMap extends HashMap<String, Object> {
+        private static final long serialVersionUID = 1L;
+        private int reads;
+
+        @Override
+        public void forEach(final BiConsumer<? super String, ? super Object> action) {
+            reads++;
+            super.forEach(action);
+        }
+    }
 }
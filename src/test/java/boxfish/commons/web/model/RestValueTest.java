@@ -2,8 +2,10 @@ package boxfish.commons.web.model;
 
 import static java.lang.Thread.State.BLOCKED;
 import static java.time.Instant.now;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.lang.Thread.State;
@@ -13,6 +15,8 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
 
 import org.javatuples.Triplet;
 import org.junit.Test;
@@ -72,6 +76,78 @@ public class RestValueTest {
         assertEquals(expected, new RestValue(expected).asDouble());
     }
 
+    @Test
+    public void longValue() throws Exception {
+        assertEquals(12l, new RestValue(12l).longValue(-1l));
+        assertEquals(12l, new RestValue("12").longValue(-1l));
+        assertEquals(12l, new RestValue(new BigDecimal("12.9")).longValue(-1l));
+        assertEquals(-1l, new RestValue(null).longValue(-1l));
+        assertEquals(-1l, new RestValue(true).longValue(-1l));
+        assertEquals(-1l, new RestValue("abc").longValue(-1l));
+        assertEquals(-1l, new RestValue("12.5").longValue(-1l));
+        assertEquals(-1l, new RestValue("").longValue(-1l));
+    }
+
+    @Test
+    public void intValue() throws Exception {
+        assertEquals(15, new RestValue(15l).intValue(-1));
+        assertEquals(15, new RestValue("15").intValue(-1));
+        assertEquals(-1, new RestValue(null).intValue(-1));
+        assertEquals(-1, new RestValue("abc").intValue(-1));
+        assertEquals(-1, new RestValue("12.5").intValue(-1));
+        assertEquals(-1, new RestValue("99999999999").intValue(-1));
+    }
+
+    @Test
+    public void doubleValue() throws Exception {
+        assertEquals(12.3d, new RestValue(12.3d).doubleValue(-1d), 0d);
+        assertEquals(12.3d, new RestValue(12.3f).doubleValue(-1d), 0d);
+        assertEquals(12.3d, new RestValue("12.3").doubleValue(-1d), 0d);
+        assertEquals(-1d, new RestValue(null).doubleValue(-1d), 0d);
+        assertEquals(-1d, new RestValue("abc").doubleValue(-1d), 0d);
+    }
+
+    @Test
+    public void booleanValue() throws Exception {
+        assertTrue(new RestValue(true).booleanValue(false));
+        assertTrue(new RestValue("true").booleanValue(false));
+        assertFalse(new RestValue("nope").booleanValue(true));
+        assertTrue(new RestValue(null).booleanValue(true));
+        assertTrue(new RestValue(12).booleanValue(true));
+    }
+
+    @Test
+    public void asOptionalLong() throws Exception {
+        assertEquals(OptionalLong.of(12l), new RestValue(12).asOptionalLong());
+        assertEquals(OptionalLong.empty(), new RestValue(null).asOptionalLong());
+        assertEquals(OptionalLong.empty(), new RestValue(now()).asOptionalLong());
+        assertEquals(OptionalLong.empty(), new RestValue("abc").asOptionalLong());
+        assertEquals(OptionalLong.empty(), new RestValue("12.5").asOptionalLong());
+    }
+
+    @Test
+    public void asOptionalDouble() throws Exception {
+        assertEquals(OptionalDouble.of(12.5d), new RestValue(new BigDecimal("12.5")).asOptionalDouble());
+        assertEquals(OptionalDouble.empty(), new RestValue(null).asOptionalDouble());
+        assertEquals(OptionalDouble.empty(), new RestValue("abc").asOptionalDouble());
+        assertEquals(OptionalDouble.of(12.5d), new RestValue("12.5").asOptionalDouble());
+    }
+
+    @Test
+    public void primitiveValues_sameAsBoxed() throws Exception {
+        final Object[] values = {
+            (byte) 3, (short) -4, 5, 6l, 7.25f, 8.125d, new BigDecimal("-9.5"), "10", "11.5e1"
+        };
+        for (final Object value : values) {
+            final RestValue restValue = new RestValue(value);
+            assertEquals(restValue.asDouble(), restValue.doubleValue(-1d), 0d);
+            if (!(value instanceof String) || !((String) value).contains(".")) {
+                assertEquals(restValue.asLong().longValue(), restValue.longValue(-1l));
+                assertEquals(restValue.asInteger().intValue(), restValue.intValue(-1));
+            }
+        }
+    }
+
     @Test
     public void asInstant() throws Exception {
         final Instant expected = Instant.now();
@@ -109,6 +185,38 @@ public class RestValueTest {
         }
     }
 
+    @Test
+    public void asLongArray() throws Exception {
+        assertArrayEquals(new long[] {1l, 2l}, new RestValue(Arrays.asList(1, "2")).asLongArray());
+        assertNull(new RestValue(1l).asLongArray());
+    }
+
+    @Test
+    public void asIntArray() throws Exception {
+        assertArrayEquals(new int[] {1, 2}, new RestValue(new Long[] {1l, 2l}).asIntArray());
+    }
+
+    @Test
+    public void asDoubleArray() throws Exception {
+        assertArrayEquals(new double[] {1.5d, 2d}, new RestValue(Arrays.asList(1.5d, 2)).asDoubleArray(), 0d);
+    }
+
+    @Test
+    public void asLongStream() throws Exception {
+        assertEquals(6l, new RestValue(Arrays.asList(1, 2l, "3")).asLongStream().sum());
+        assertEquals(0l, new RestValue(true).asLongStream().count());
+    }
+
+    @Test
+    public void asIntStream() throws Exception {
+        assertEquals(6, new RestValue(Arrays.asList(1, 2l, "3")).asIntStream().sum());
+    }
+
+    @Test
+    public void asDoubleStream() throws Exception {
+        assertEquals(6.5d, new RestValue(Arrays.asList(1.5d, 2l, "3")).asDoubleStream().sum(), 0d);
+    }
+
     @Test
     public void asModel() throws Exception {
         final RestModel expected = new RestModel().permit("field1").value("field1", "test");
@@ -0,0 +1,80 @@
+package boxfish.commons.web.model.converters;
+
+import static java.lang.String.format;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class DecimalParserTest {
+    private static final String ALPHABET = "0123456789-.Ee+, x";
+
+    @Test
+    public void parse() {
+        assertEquals(new BigDecimal("12.134"), DecimalParser.parse("12.134"));
+        assertEquals(new BigDecimal("-0.5"), DecimalParser.parse("-.5"));
+        assertEquals(new BigDecimal("1.5E+3"), DecimalParser.parse("1.5E3"));
+        assertEquals(new BigDecimal("0.00001"), DecimalParser.parse("1E-5"));
+        assertEquals(new BigDecimal("1"), DecimalParser.parse("1,234.5"));
+        assertEquals(new BigDecimal("9999999999999999999999.99999999999"), DecimalParser.parse("9999999999999999999999.99999999999"));
+        assertNull(DecimalParser.parse(""));
+        assertNull(DecimalParser.parse("-"));
+        assertNull(DecimalParser.parse(" 12"));
+        assertNull(DecimalParser.parse("+12"));
+    }
+
+    @Test
+    public void parse_sameAsDecimalFormat_examples() {
+        final List<String> examples = asList(
+            "12.134", "1,234.5", "1.2.3", "12abc", " 12", "-12", "+12", "1e5", "1E5", "1E-5", "1.5E+3",
+            "1E", "1Ex", "-0", "0.000", "NaN", ".5", "5.", "", "-", "1.50", "00012", "abc", "12 34",
+            "--1", "-.5", "1E5.5", "1.e3", "1E2E3", "-1.5E-3x", "0x10", ",5", "1.0E2", "12.5E-1",
+            "1E99999", "E5", ".E5", ".", "-.", "0.5E1", "1E-", "0012.3400", "1E05", "-0.0",
+            "123456789012345678", "1234567890123456789", "-98765432109876543210.0123456789");
+
+        for (final String example : examples)
+            assertEquals(
+                format("Diverged from DecimalFormat for '%s'", example),
+                decimalFormatParse(example),
+                new ValueToBigDecimal(example).parse());
+    }
+
+    @Test
+    public void parse_sameAsDecimalFormat_randomised() {
+        final Random random = new Random(20170519L);
+        for (int i = 0; i < 20000; i++) {
+            final StringBuilder example = new StringBuilder();
+            final int length = random.nextInt(12);
+            for (int j = 0; j < length; j++)
+                example.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+
+            assertEquals(
+                format("Diverged from DecimalFormat for '%s'", example),
+                decimalFormatParse(example.toString()),
+                new ValueToBigDecimal(example.toString()).parse());
+        }
+    }
+
+    /**
+     * The original java.text parsing, kept as the reference
+     * against which the dedicated parser is checked.
+     */
+    private BigDecimal decimalFormatParse(final String value) {
+        final DecimalFormat format = new DecimalFormat("0.0", new DecimalFormatSymbols(Locale.US));
+        format.setParseBigDecimal(true);
+        try {
+            return ((BigDecimal) format.parse(value)).stripTrailingZeros();
+        }
+        catch (final Exception e) {
+            return BigDecimal.ZERO.stripTrailingZeros();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package boxfish.commons.web.model.converters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import org.junit.After;
+import org.junit.Test;
+
+import boxfish.commons.web.model.RestModel;
+import boxfish.commons.web.model.RestValue;
+
+public class ValueConvertersTest {
+
+    @After
+    public void forgetRegistrations() {
+        ValueConverters.reset();
+    }
+
+    @Test
+    public void convert_builtIn() throws Exception {
+        assertEquals(Long.valueOf(12), ValueConverters.convert("12", Long.class));
+        assertEquals(Integer.valueOf(12), ValueConverters.convert(12.7d, Integer.class));
+        assertEquals(new BigDecimal("1.5"), ValueConverters.convert("1.50", BigDecimal.class));
+        assertEquals(Instant.ofEpochMilli(15), ValueConverters.convert(15L, Instant.class));
+        assertEquals("15", ValueConverters.convert(15L, String.class));
+    }
+
+    @Test
+    public void convert_null() throws Exception {
+        assertNull(ValueConverters.convert(null, Long.class));
+        assertNull(ValueConverters.convert(null, String.class));
+        final RestModel model = ValueConverters.convert(null, RestModel.class);
+        assertNotNull(model);
+        assertTrue(model.isEmpty());
+    }
+
+    @Test
+    public void convert_unknownSource() throws Exception {
+        assertNull(ValueConverters.convert(new StringBuilder("21"), Long.class));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void convert_unknownTarget() throws Exception {
+        ValueConverters.convert(1L, Celsius.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void register_null() throws Exception {
+        ValueConverters.register(Kelvin.class, Long.class, null);
+    }
+
+    @Test
+    public void register_customSource() throws Exception {
+        ValueConverters.register(Kelvin.class, Double.class, k -> k.degrees - 273.15d);
+        assertEquals(Double.valueOf(26.85d), new RestValue(new Kelvin(300)).asDouble(), 0.0001d);
+    }
+
+    @Test
+    public void register_replacesResolved() throws Exception {
+        assertNull(new RestValue(new Kelvin(300)).asShort());
+        ValueConverters.register(Kelvin.class, Short.class, k -> (short) k.degrees);
+        assertEquals(Short.valueOf((short) 300), new RestValue(new Kelvin(300)).asShort());
+    }
+
+    @Test
+    public void register_superclass() throws Exception {
+        ValueConverters.register(Temperature.class, Integer.class, t -> t.degrees);
+        assertEquals(Integer.valueOf(21), new ValueToInteger(new Celsius(21)).parse());
+        assertEquals(Integer.valueOf(300), new ValueToInteger(new Kelvin(300)).parse());
+    }
+
+    @Test
+    public void reset() throws Exception {
+        ValueConverters.register(Kelvin.class, Short.class, k -> (short) k.degrees);
+        ValueConverters.register(Celsius.class, Fahrenheit.class, c -> new Fahrenheit(c.degrees * 9 / 5 + 32));
+        assertEquals(Short.valueOf((short) 300), new RestValue(new Kelvin(300)).asShort());
+        ValueConverters.reset();
+        assertNull(new RestValue(new Kelvin(300)).asShort());
+        assertFalse(ValueConverters.isConvertibleTo(Fahrenheit.class));
+        assertEquals(Short.valueOf((short) 12), new RestValue("12").asShort());
+    }
+
+    @Test
+    public void register_customTarget() throws Exception {
+        assertFalse(ValueConverters.isConvertibleTo(Fahrenheit.class));
+        ValueConverters.register(Celsius.class, Fahrenheit.class, c -> new Fahrenheit(c.degrees * 9 / 5 + 32));
+        assertTrue(ValueConverters.isConvertibleTo(Fahrenheit.class));
+        assertEquals(212, new RestValue(new Celsius(100)).as(Fahrenheit.class).degrees);
+        assertNull(new RestValue("100").as(Fahrenheit.class));
+    }
+
+    @Test
+    public void convertToLong_registered() throws Exception {
+        assertEquals(-1l, ValueConverters.convertToLong(new Celsius(7), -1l));
+        ValueConverters.register(Celsius.class, Long.class, c -> (long) c.degrees);
+        assertEquals(7l, ValueConverters.convertToLong(new Celsius(7), -1l));
+    }
+
+    private static abstract class Temperature {
+        final int degrees;
+
+        Temperature(final int degrees) {
+            this.degrees = degrees;
+        }
+    }
+
+    private static class Celsius extends Temperature {
+        Celsius(final int degrees) {
+            super(degrees);
+        }
+    }
+
+    private static class Kelvin extends Temperature {
+        Kelvin(final int degrees) {
+            super(degrees);
+        }
+    }
+
+    private static class Fahrenheit extends Temperature {
+        Fahrenheit(final int degrees) {
+            super(degrees);
+        }
+    }
+}
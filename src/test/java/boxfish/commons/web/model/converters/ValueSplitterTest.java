@@ -0,0 +1,109 @@
+package boxfish.commons.web.model.converters;
+
+import static java.util.Arrays.asList;
+import static java.util.Arrays.stream;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class ValueSplitterTest {
+
+    @Test
+    public void split_default_comma() throws Exception {
+        assertEquals(asList("1", "2", "3"), ValueSplitter.defaultSplitter().split("1, 2 ,3"));
+    }
+
+    @Test
+    public void split_default_semicolonFirst() throws Exception {
+        assertEquals(asList("a,b", "c"), ValueSplitter.defaultSplitter().split("[a,b; c]"));
+    }
+
+    @Test
+    public void split_default_single() throws Exception {
+        assertEquals(asList("item"), ValueSplitter.defaultSplitter().split("  item  "));
+        assertEquals(asList(""), ValueSplitter.defaultSplitter().split("[]"));
+    }
+
+    @Test
+    public void split_default_trailingEmpty() throws Exception {
+        assertEquals(asList("", "a"), ValueSplitter.defaultSplitter().split(",a,,"));
+        assertEquals(emptyList(), ValueSplitter.defaultSplitter().split(",,"));
+        assertEquals(asList("a", ""), ValueSplitter.defaultSplitter().split("[a, ]"));
+    }
+
+    @Test
+    public void split_customDelimiters() throws Exception {
+        assertEquals(asList("a", "b;c"), ValueSplitter.splitOn('|').split("a|b;c"));
+        assertEquals(asList("a b", "c"), ValueSplitter.splitOn('|', ' ').split("a b|c"));
+        assertEquals(asList("a", "b"), ValueSplitter.splitOn('|', ' ').split("a b"));
+    }
+
+    @Test
+    public void split_quoted() throws Exception {
+        final ValueSplitter splitter = ValueSplitter.splitOn(',').quotedBy('"');
+        assertEquals(asList("a,b", "c", " d "), splitter.split("\"a,b\", c, \" d \""));
+    }
+
+    @Test
+    public void split_quoted_priority() throws Exception {
+        final ValueSplitter splitter = ValueSplitter.defaultSplitter().quotedBy('\'');
+        assertEquals(asList("a;b", "c"), splitter.split("'a;b',c"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void splitOn_nothing() throws Exception {
+        ValueSplitter.splitOn();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void quotedBy_delimiter() throws Exception {
+        ValueSplitter.splitOn(',').quotedBy(',');
+    }
+
+    @Test
+    public void split_default_sameAsRegex() throws Exception {
+        final char[] alphabet = {'a', '1', ' ', ',', ';', '[', ']', '\t'};
+        final Random random = new Random(15L);
+        for (int i = 0; i < 20000; i++) {
+            final char[] text = new char[random.nextInt(12)];
+            for (int j = 0; j < text.length; j++)
+                text[j] = alphabet[random.nextInt(alphabet.length)];
+            final String value = new String(text);
+            assertEquals(value, regexSplit(value), ValueSplitter.defaultSplitter().split(value));
+        }
+    }
+
+    @Test
+    public void integerDigitsOf() throws Exception {
+        final ValueSplitter.Slices slices = ValueSplitter.defaultSplitter().slicesOf("12, -3, +4, 5.0, x, ");
+        assertEquals(2, slices.integerDigitsOf(0));
+        assertEquals(12L, slices.integerOf(0));
+        assertEquals(1, slices.integerDigitsOf(1));
+        assertEquals(-3L, slices.integerOf(1));
+        assertEquals(1, slices.integerDigitsOf(2));
+        assertEquals(4L, slices.integerOf(2));
+        assertEquals(0, slices.integerDigitsOf(3));
+        assertEquals(0, slices.integerDigitsOf(4));
+        assertEquals(0, slices.integerDigitsOf(5));
+    }
+
+    /**
+     * The former implementation of ValueToList, kept as reference.
+     */
+    private static List<String> regexSplit(String value) {
+        value = value.trim().replaceAll("^\\[|\\]$", "");
+
+        String[] frags;
+        if (value.contains(";"))
+            frags = value.split(";");
+        else
+            frags = value.split(",");
+
+        return stream(frags).map(v -> v.trim()).collect(toList());
+    }
+}
@@ -0,0 +1,80 @@
+package boxfish.commons.web.model.converters;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNull;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedList;
+
+import org.junit.Test;
+
+public class ValueToDoubleArrayTest {
+
+    @Test
+    public void parse_from_null() throws Exception {
+        assertArrayEquals(new double[0], new ValueToDoubleArray(null).parse(), 0d);
+    }
+
+    @Test
+    public void parse_from_scalar() throws Exception {
+        assertNull(new ValueToDoubleArray(12l).parse());
+        assertNull(new ValueToDoubleArray(true).parse());
+    }
+
+    @Test
+    public void parse_from_list() throws Exception {
+        final double[] expected = {1, 2, 3, 4};
+        assertArrayEquals(expected, new ValueToDoubleArray(Arrays.asList(1, 2l, "3", new BigDecimal("4"))).parse(), 0d);
+        assertArrayEquals(expected, new ValueToDoubleArray(new LinkedList<>(Arrays.asList(1, 2, 3, 4))).parse(), 0d);
+    }
+
+    @Test
+    public void parse_from_boxedArray() throws Exception {
+        final double[] expected = {5, 6};
+        assertArrayEquals(expected, new ValueToDoubleArray(new Long[] {5l, 6l}).parse(), 0d);
+        assertArrayEquals(expected, new ValueToDoubleArray(new Object[] {(short) 5, 6.0d}).parse(), 0d);
+    }
+
+    @Test
+    public void parse_from_primitiveArray() throws Exception {
+        final double[] expected = {7, 8};
+        assertArrayEquals(expected, new ValueToDoubleArray(new double[] {7, 8}).parse(), 0d);
+        assertArrayEquals(expected, new ValueToDoubleArray(new int[] {7, 8}).parse(), 0d);
+        assertArrayEquals(expected, new ValueToDoubleArray(new byte[] {7, 8}).parse(), 0d);
+        assertArrayEquals(expected, new ValueToDoubleArray(new float[] {7f, 8f}).parse(), 0d);
+    }
+
+    @Test
+    public void parse_from_primitiveArray_copied() throws Exception {
+        final double[] original = {7, 8};
+        final double[] parsed = new ValueToDoubleArray(original).parse();
+        parsed[0] = 9;
+        assertArrayEquals(new double[] {7, 8}, original, 0d);
+    }
+
+    @Test
+    public void parse_from_string() throws Exception {
+        assertArrayEquals(new double[] {9, 10, 11}, new ValueToDoubleArray("[9, 10, 11]").parse(), 0d);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void parse_from_list_nullItem() throws Exception {
+        new ValueToDoubleArray(Arrays.asList(1, null)).parse();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void parse_from_list_invalidItem() throws Exception {
+        new ValueToDoubleArray(Arrays.asList(1, true)).parse();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void parse_from_string_emptySlice() throws Exception {
+        new ValueToDoubleArray("1,,2").parse();
+    }
+
+    @Test
+    public void parse_from_list_fractions() throws Exception {
+        assertArrayEquals(new double[] {1.5d, 2.25d}, new ValueToDoubleArray(Arrays.asList(1.5f, "2.25")).parse(), 0d);
+    }
+}
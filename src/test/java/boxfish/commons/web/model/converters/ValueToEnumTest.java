@@ -19,6 +19,23 @@ public class ValueToEnumTest {
         assertEquals(State.BLOCKED, new ValueToEnum<>(expected, State.class).parse());
     }
 
+    @Test
+    public void parse_from_string_caseInsensitive() throws Exception {
+        assertEquals(State.BLOCKED, new ValueToEnum<>("Blocked", State.class, EnumMatching.CASE_INSENSITIVE).parse());
+    }
+
+    @Test
+    public void parse_from_string_flexibleKey() throws Exception {
+        assertEquals(State.TIMED_WAITING, new ValueToEnum<>("timedWaiting", State.class, EnumMatching.FLEXIBLE_KEY).parse());
+        assertEquals(State.TIMED_WAITING, new ValueToEnum<>("timed-waiting", State.class, EnumMatching.FLEXIBLE_KEY).parse());
+    }
+
+    @Test
+    public void parse_from_outOfRangeOrdinal() throws Exception {
+        assertNull(new ValueToEnum<>(-1, State.class).parse());
+        assertNull(new ValueToEnum<>(State.values().length, State.class).parse());
+    }
+
     @Test
     public void parse_from_boolean() throws Exception {
         final Boolean expected = true;
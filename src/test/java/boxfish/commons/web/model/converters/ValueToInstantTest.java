@@ -6,6 +6,10 @@ import static org.junit.Assert.assertNull;
 import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
 
 import org.junit.Test;
 
@@ -19,6 +23,75 @@ public class ValueToInstantTest {
         assertEquals(Instant.parse(expected), new ValueToInstant(expected).parse());
     }
 
+    @Test
+    public void parse_from_string_fraction() throws Exception {
+        assertEquals(Instant.parse("2016-03-21T23:32:59.1Z"), new ValueToInstant("2016-03-21T23:32:59.1Z").parse());
+        assertEquals(Instant.parse("2016-03-21T23:32:59.123Z"), new ValueToInstant("2016-03-21T23:32:59.123Z").parse());
+        assertEquals(Instant.parse("2016-03-21T23:32:59.123456789Z"), new ValueToInstant("2016-03-21T23:32:59.123456789Z").parse());
+    }
+
+    @Test
+    public void parse_from_string_offset() throws Exception {
+        assertEquals(
+            OffsetDateTime.parse("2016-03-21T23:32:59+05:30").toInstant(),
+            new ValueToInstant("2016-03-21T23:32:59+05:30").parse());
+        assertEquals(
+            OffsetDateTime.parse("2016-03-21T23:32:59.5-03:00").toInstant(),
+            new ValueToInstant("2016-03-21T23:32:59.5-0300").parse());
+    }
+
+    @Test
+    public void parse_from_string_lowercase() throws Exception {
+        assertEquals(Instant.parse("2016-03-21T23:32:59Z"), new ValueToInstant("2016-03-21t23:32:59z").parse());
+    }
+
+    @Test
+    public void parse_from_string_leapDay() throws Exception {
+        assertEquals(Instant.parse("2016-02-29T00:00:00Z"), new ValueToInstant("2016-02-29T00:00:00Z").parse());
+    }
+
+    @Test(expected = DateTimeParseException.class)
+    public void parse_from_string_invalidDay() throws Exception {
+        new ValueToInstant("2015-02-29T00:00:00Z").parse();
+    }
+
+    @Test(expected = DateTimeParseException.class)
+    public void parse_from_string_invalid() throws Exception {
+        new ValueToInstant("21/03/2016 23:32:59").parse();
+    }
+
+    @Test
+    public void parse_from_string_epochMillis() throws Exception {
+        assertEquals(Instant.ofEpochMilli(1458603179123L), new ValueToInstant("1458603179123").parse());
+        assertEquals(Instant.ofEpochMilli(-1000L), new ValueToInstant("-1000").parse());
+    }
+
+    @Test
+    public void parse_from_string_epochSeconds() throws Exception {
+        assertEquals(
+            Instant.ofEpochSecond(1458603179L),
+            new ValueToInstant("1458603179", ChronoUnit.SECONDS).parse());
+    }
+
+    @Test
+    public void parse_from_long_epochSeconds() throws Exception {
+        assertEquals(
+            Instant.ofEpochSecond(1458603179L),
+            new ValueToInstant(1458603179L, ChronoUnit.SECONDS).parse());
+    }
+
+    @Test
+    public void parse_from_string_sameAsInstantParse() throws Exception {
+        final Random random = new Random(20160321L);
+        for (int i = 0; i < 20000; i++) {
+            final Instant original = Instant.ofEpochSecond(
+                random.nextLong() % 253402300799L,
+                random.nextBoolean() ? 0 : random.nextInt(1000000000));
+            final String text = original.toString();
+            assertEquals(text, Instant.parse(text), new ValueToInstant(text).parse());
+        }
+    }
+
     @Test
     public void parse_from_boolean() throws Exception {
         final Boolean expected = true;
@@ -0,0 +1,88 @@
+package boxfish.commons.web.model.converters;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedList;
+
+import org.junit.Test;
+
+public class ValueToIntArrayTest {
+
+    @Test
+    public void parse_from_null() throws Exception {
+        assertArrayEquals(new int[0], new ValueToIntArray(null).parse());
+    }
+
+    @Test
+    public void parse_from_scalar() throws Exception {
+        assertNull(new ValueToIntArray(12l).parse());
+        assertNull(new ValueToIntArray(true).parse());
+    }
+
+    @Test
+    public void parse_from_list() throws Exception {
+        final int[] expected = {1, 2, 3, 4};
+        assertArrayEquals(expected, new ValueToIntArray(Arrays.asList(1, 2l, "3", new BigDecimal("4"))).parse());
+        assertArrayEquals(expected, new ValueToIntArray(new LinkedList<>(Arrays.asList(1, 2, 3, 4))).parse());
+    }
+
+    @Test
+    public void parse_from_boxedArray() throws Exception {
+        final int[] expected = {5, 6};
+        assertArrayEquals(expected, new ValueToIntArray(new Long[] {5l, 6l}).parse());
+        assertArrayEquals(expected, new ValueToIntArray(new Object[] {(short) 5, 6.0d}).parse());
+    }
+
+    @Test
+    public void parse_from_primitiveArray() throws Exception {
+        final int[] expected = {7, 8};
+        assertArrayEquals(expected, new ValueToIntArray(new int[] {7, 8}).parse());
+        assertArrayEquals(expected, new ValueToIntArray(new int[] {7, 8}).parse());
+        assertArrayEquals(expected, new ValueToIntArray(new byte[] {7, 8}).parse());
+        assertArrayEquals(expected, new ValueToIntArray(new float[] {7f, 8f}).parse());
+    }
+
+    @Test
+    public void parse_from_primitiveArray_copied() throws Exception {
+        final int[] original = {7, 8};
+        final int[] parsed = new ValueToIntArray(original).parse();
+        parsed[0] = 9;
+        assertArrayEquals(new int[] {7, 8}, original);
+    }
+
+    @Test
+    public void parse_from_string() throws Exception {
+        assertArrayEquals(new int[] {9, 10, 11}, new ValueToIntArray("[9, 10, 11]").parse());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void parse_from_list_nullItem() throws Exception {
+        new ValueToIntArray(Arrays.asList(1, null)).parse();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void parse_from_list_invalidItem() throws Exception {
+        new ValueToIntArray(Arrays.asList(1, true)).parse();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void parse_from_string_overflow() throws Exception {
+        new ValueToIntArray("1,99999999999").parse();
+    }
+
+    @Test
+    public void parse_from_string_invalidSlices() throws Exception {
+        try {
+            new ValueToIntArray("1,,x").parse();
+        }
+        catch (final IllegalStateException e) {
+            assertTrue(e.getMessage().startsWith("The item 1 "));
+            return;
+        }
+        throw new AssertionError("The invalid slice was converted.");
+    }
+}
@@ -7,11 +7,14 @@ import static org.junit.Assert.assertNull;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
 import java.util.List;
 
 import org.junit.Test;
 
 import boxfish.commons.web.model.RestModel;
+import boxfish.commons.web.model.RestValue;
 
 public class ValueToListTest {
     @Test
@@ -223,4 +226,58 @@ public class ValueToListTest {
         assertEquals(expected.get(0), new ValueToList(expected).parse().get(0).asBigDecimal());
         assertEquals(expected.get(1), new ValueToList(expected).parse().get(1).asBigDecimal());
     }
+
+    @Test
+    public void parse_from_array_instant() throws Exception {
+        final Instant[] expected = new Instant[] {Instant.EPOCH};
+        assertEquals(expected[0], new ValueToList(expected).parse().get(0).asInstant());
+    }
+
+    @Test
+    public void parse_from_array_primitive() throws Exception {
+        assertEquals(Integer.valueOf(3), new ValueToList(new int[] {1, 3}).parse().get(1).asInteger());
+        assertEquals(Long.valueOf(3l), new ValueToList(new long[] {1l, 3l}).parse().get(1).asLong());
+        assertEquals(Double.valueOf(3d), new ValueToList(new double[] {1d, 3d}).parse().get(1).asDouble());
+        assertEquals(Float.valueOf(3f), new ValueToList(new float[] {1f, 3f}).parse().get(1).asFloat());
+        assertEquals(Short.valueOf((short) 3), new ValueToList(new short[] {1, 3}).parse().get(1).asShort());
+        assertEquals(Byte.valueOf((byte) 3), new ValueToList(new byte[] {1, 3}).parse().get(1).asByte());
+        assertEquals(Boolean.TRUE, new ValueToList(new boolean[] {false, true}).parse().get(1).asBoolean());
+        assertEquals(2, new ValueToList(new int[] {1, 3}).parse().size());
+    }
+
+    @Test
+    public void parse_from_array_isView() throws Exception {
+        final long[] expected = new long[] {1l, 3l};
+        final List<RestValue> parsed = new ValueToList(expected).parse();
+        expected[1] = 5l;
+        assertEquals(Long.valueOf(5l), parsed.get(1).asLong());
+    }
+
+    @Test
+    public void parse_from_list_isView() throws Exception {
+        final List<Integer> expected = new ArrayList<>(Arrays.asList(1, 3));
+        final List<RestValue> parsed = new ValueToList(expected).parse();
+        expected.add(5);
+        assertEquals(3, parsed.size());
+        assertEquals(Integer.valueOf(5), parsed.get(2).asInteger());
+    }
+
+    @Test
+    public void parse_from_linkedList() throws Exception {
+        final List<Integer> expected = new LinkedList<>(Arrays.asList(1, 3, 5));
+        final List<Integer> iterated = new ArrayList<>();
+        for (final RestValue value : new ValueToList(expected).parse())
+            iterated.add(value.asInteger());
+        assertEquals(expected, iterated);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void parse_from_list_readOnly() throws Exception {
+        new ValueToList(new ArrayList<>(Arrays.asList(1, 3))).parse().add(new RestValue(5));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void parse_from_array_outOfBounds() throws Exception {
+        new ValueToList(new int[] {1, 3}).parse().get(2);
+    }
 }
@@ -0,0 +1,80 @@
+package boxfish.commons.web.model.converters;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNull;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedList;
+
+import org.junit.Test;
+
+public class ValueToLongArrayTest {
+
+    @Test
+    public void parse_from_null() throws Exception {
+        assertArrayEquals(new long[0], new ValueToLongArray(null).parse());
+    }
+
+    @Test
+    public void parse_from_scalar() throws Exception {
+        assertNull(new ValueToLongArray(12l).parse());
+        assertNull(new ValueToLongArray(true).parse());
+    }
+
+    @Test
+    public void parse_from_list() throws Exception {
+        final long[] expected = {1, 2, 3, 4};
+        assertArrayEquals(expected, new ValueToLongArray(Arrays.asList(1, 2l, "3", new BigDecimal("4"))).parse());
+        assertArrayEquals(expected, new ValueToLongArray(new LinkedList<>(Arrays.asList(1, 2, 3, 4))).parse());
+    }
+
+    @Test
+    public void parse_from_boxedArray() throws Exception {
+        final long[] expected = {5, 6};
+        assertArrayEquals(expected, new ValueToLongArray(new Long[] {5l, 6l}).parse());
+        assertArrayEquals(expected, new ValueToLongArray(new Object[] {(short) 5, 6.0d}).parse());
+    }
+
+    @Test
+    public void parse_from_primitiveArray() throws Exception {
+        final long[] expected = {7, 8};
+        assertArrayEquals(expected, new ValueToLongArray(new long[] {7, 8}).parse());
+        assertArrayEquals(expected, new ValueToLongArray(new int[] {7, 8}).parse());
+        assertArrayEquals(expected, new ValueToLongArray(new byte[] {7, 8}).parse());
+        assertArrayEquals(expected, new ValueToLongArray(new float[] {7f, 8f}).parse());
+    }
+
+    @Test
+    public void parse_from_primitiveArray_copied() throws Exception {
+        final long[] original = {7, 8};
+        final long[] parsed = new ValueToLongArray(original).parse();
+        parsed[0] = 9;
+        assertArrayEquals(new long[] {7, 8}, original);
+    }
+
+    @Test
+    public void parse_from_string() throws Exception {
+        assertArrayEquals(new long[] {9, 10, 11}, new ValueToLongArray("[9, 10, 11]").parse());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void parse_from_list_nullItem() throws Exception {
+        new ValueToLongArray(Arrays.asList(1, null)).parse();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void parse_from_list_invalidItem() throws Exception {
+        new ValueToLongArray(Arrays.asList(1, true)).parse();
+    }
+
+    @Test
+    public void parse_from_string_signed() throws Exception {
+        assertArrayEquals(new long[] {-9, 10, 123456789012345678L}, new ValueToLongArray("-9;+10;123456789012345678").parse());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void parse_from_string_invalidItem() throws Exception {
+        new ValueToLongArray("1,x").parse();
+    }
+}
@@ -0,0 +1,111 @@
+package boxfish.commons.web.model.sanitization;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.Test;
+
+import boxfish.commons.web.model.RestModel;
+
+public class JsonParserTest {
+    private static final String JSON = "{\"id\": 12, \"price\": -1.5e2, \"big\": 123456789012345678901234,"
+                                       + " \"active\": true, \"deleted\": false, \"note\": null,"
+                                       + " \"name\": \"a \\\"quoted\\\" \\u00e9 name\", \"zip\": \"007\","
+                                       + " \"tags\": [\"x\", 1, [2, 3], {\"k\": \"v\"}],"
+                                       + " \"nested\": {\"deeper\": {\"value\": \"found\"}}}";
+
+    @Test
+    public void parse_string() {
+        assertParsed(JsonParser.parse(JSON));
+    }
+
+    @Test
+    public void parse_chars() {
+        assertParsed(JsonParser.parse(JSON.toCharArray()));
+    }
+
+    @Test
+    public void parse_reader() throws Exception {
+        assertParsed(JsonParser.parse(new StringReader(JSON)));
+    }
+
+    @Test
+    public void parse_inputStream() throws Exception {
+        assertParsed(JsonParser.parse(new ByteArrayInputStream(JSON.getBytes(UTF_8))));
+    }
+
+    @Test
+    public void parse_lenient() {
+        final RestModel parsed = (RestModel) JsonParser.parse("{naked: value with spaces\n 'single': 'quoted' \"noComma\": 1}");
+        parsed.permit("naked", "single", "no_comma");
+        assertEquals("value with spaces", parsed.get("naked").asString());
+        assertEquals("quoted", parsed.get("single").asString());
+        assertEquals(Long.valueOf(1), parsed.get("no_comma").asOriginal());
+    }
+
+    @Test
+    public void parse_array() {
+        final Object parsed = JsonParser.parse(" [1, \"2\", 3.0] ");
+        assertThat(parsed, instanceOf(List.class));
+        assertEquals(3, ((List<?>) parsed).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_unterminated() {
+        JsonParser.parse("{\"field\": [1, 2");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_tooDeep() {
+        JsonParser.parse(deeplyNested(50000));
+    }
+
+    @Test
+    public void parse_deepWithinLimit() {
+        assertThat(JsonParser.parse(deeplyNested(500)), instanceOf(RestModel.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_trailingContent() {
+        JsonParser.parse("{\"field\": 1} {\"field\": 2}");
+    }
+
+    private void assertParsed(final Object actual) {
+        assertThat(actual, instanceOf(RestModel.class));
+        final RestModel parsed = ((RestModel) actual).permitAll();
+        assertEquals(Long.valueOf(12), parsed.get("id").asOriginal());
+        assertEquals(new BigDecimal("-1.5e2"), parsed.get("price").asOriginal());
+        assertEquals(new BigDecimal("123456789012345678901234"), parsed.get("big").asOriginal());
+        assertEquals(Boolean.TRUE, parsed.get("active").asOriginal());
+        assertEquals(Boolean.FALSE, parsed.get("deleted").asOriginal());
+        assertNull(parsed.get("note").asOriginal());
+        assertEquals("a \"quoted\" \u00e9 name", parsed.get("name").asString());
+        assertEquals("007", parsed.get("zip").asString());
+
+        final List<Object> tags = parsed.get("tags").asListOf(Object.class);
+        assertEquals(4, tags.size());
+        assertEquals("x", tags.get(0));
+        assertEquals(Long.valueOf(1), tags.get(1));
+        assertThat(tags.get(2), instanceOf(List.class));
+        assertThat(tags.get(3), instanceOf(RestModel.class));
+
+        assertEquals("found", parsed.get("nested").asModel().permitAll().get("deeper").asModel().permitAll().get("value").asString());
+    }
+
+    static String deeplyNested(final int levels) {
+        final StringBuilder json = new StringBuilder("{a:");
+        for (int i = 0; i < levels; i++)
+            json.append('[');
+        for (int i = 0; i < levels; i++)
+            json.append(']');
+        return json.append('}').toString();
+    }
+}
@@ -50,4 +50,17 @@ public class SanitizerForJsonTest {
         assertEquals("whatever", parsed.get("endField").asString());
         assertEquals(new Boolean(false), parsed.get("field4").asModel().permit("sub-field-1").get("sub-field-1").asBoolean());
     }
+
+    @Test
+    public void sanitize_notReallyJson() {
+        final String original = "{this: is} just {a text}";
+        assertEquals(original, new SanitizerForJson(original).sanitize());
+    }
+
+    @Test
+    public void sanitize_tooDeep() {
+        final String original = JsonParserTest.deeplyNested(50000);
+        assertEquals(original, new SanitizerForJson(original).sanitize());
+        assertEquals(original, RestModel.newRestModel().permitAll().value("json", original).get("json").asString());
+    }
 }
@@ -4,8 +4,10 @@ import static java.time.Instant.now;
 import static java.util.Arrays.asList;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 import java.lang.Thread.State;
 import java.math.BigDecimal;
@@ -14,6 +16,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import org.junit.Test;
 
@@ -75,6 +78,20 @@ public class SanitizerTest {
             parsedItem.permit("field_1").get("field_1").asString());
     }
 
+    @Test
+    public void mapsAndListsOfAnyImplementation() throws Exception {
+        final Map<String, Object> treeMap = new TreeMap<>();
+        treeMap.put("field1", 1);
+        final LinkedList<Object> linkedList = new LinkedList<>();
+        linkedList.add(treeMap);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(new Sanitizer(treeMap).sanitize(), instanceOf(RestModel.class));
+            assertThat(((List<?>) new Sanitizer(linkedList).sanitize()).get(0), instanceOf(RestModel.class));
+            assertEquals("{not json}", new Sanitizer("{not json}").sanitize());
+        }
+    }
+
     @Test
     public void unaffectedValues() throws Exception {
         final List<Object> unnafected = asList(
@@ -94,4 +111,15 @@ public class SanitizerTest {
         for (final Object value : unnafected)
             assertEquals(value, new Sanitizer(value).sanitize());
     }
+
+    @Test
+    public void requiresSanitization() throws Exception {
+        assertTrue(Sanitizer.requiresSanitization(new HashMap<>()));
+        assertTrue(Sanitizer.requiresSanitization(new ArrayList<>()));
+        assertTrue(Sanitizer.requiresSanitization("{\"a\": 1}"));
+        assertFalse(Sanitizer.requiresSanitization("text"));
+        assertFalse(Sanitizer.requiresSanitization(RestModel.newRestModel()));
+        assertFalse(Sanitizer.requiresSanitization(BigDecimal.ONE));
+        assertFalse(Sanitizer.requiresSanitization(null));
+    }
 }
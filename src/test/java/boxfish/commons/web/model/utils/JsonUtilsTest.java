@@ -15,7 +15,9 @@ public class JsonUtilsTest {
     public void isJsonObject_positive() {
         final List<String> valids = asList(
             "{\"field\": \"value\"}",
-            "{\"field\": \"value\", \"field2\": 482345.1234}");
+            "{\"field\": \"value\", \"field2\": 482345.1234}",
+            "  {a:b}\n",
+            "{\n  \"field\": {\"sub\": 1}\n}");
 
         for (final String valid : valids)
             assertTrue(
@@ -29,7 +31,13 @@ public class JsonUtilsTest {
             "{\"field\"}",
             "[{\"field\": \"value\", \"field2\": 482345.1234}]",
             "akfuasdf",
-            "[\"sdfadf\", \"34225\"]");
+            "[\"sdfadf\", \"34225\"]",
+            "",
+            "   ",
+            "{:}",
+            "{a:}",
+            "{}",
+            "a text that ends with {a:b}");
 
         for (final String valid : valids)
             assertFalse(
@@ -0,0 +1,121 @@
+package boxfish.commons.web.model.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+public class ModelErrorsTest {
+
+    @Test
+    public void empty() {
+        final ModelErrors errors = new ModelErrors();
+        assertFalse(errors.hasErrors());
+        assertEquals(0, (int) errors.size());
+        assertFalse(errors.iterator().hasNext());
+    }
+
+    @Test
+    public void addError_same_field_and_message_once() {
+        final ModelErrors errors = new ModelErrors();
+        errors.addError("name", "is required");
+        errors.addError("name", "is required");
+        errors.addError("name", "is too short");
+        assertTrue(errors.hasErrors());
+        assertEquals(2, (int) errors.size());
+    }
+
+    @Test
+    public void sorted_as_field_and_message_joined() {
+        final ModelErrors errors = new ModelErrors();
+        errors.addError("name", "z");
+        errors.addError("name_", "a");
+        errors.addError("nam", "e");
+        errors.addError("name", "a");
+        errors.addError("age", "x");
+
+        final List<String> keys = new ArrayList<>();
+        for (final ModelError error : errors)
+            keys.add(error.getFieldName() + "_" + error.getErrorMessage());
+
+        final List<String> expected = new ArrayList<>(keys);
+        expected.sort(null);
+        assertEquals(expected, keys);
+        assertEquals("age", errors.get(0).getFieldName());
+    }
+
+    @Test
+    public void sorted_once_until_changed() {
+        final ModelErrors errors = new ModelErrors();
+        errors.addError("b", "b");
+        errors.addError("a", "a");
+        final ModelError first = errors.get(0);
+        assertSame(first, errors.get(0));
+        assertEquals("a", first.getFieldName());
+
+        errors.addError("a", "a");
+        assertSame(first, errors.get(0));
+
+        errors.addError("0", "0");
+        assertEquals("0", errors.get(0).getFieldName());
+        assertEquals("a", errors.get(1).getFieldName());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void iterator_read_only() {
+        final ModelErrors errors = new ModelErrors();
+        errors.addError("a", "a");
+        final Iterator<ModelError> iterator = errors.iterator();
+        iterator.next();
+        iterator.remove();
+    }
+
+    @Test
+    public void copy_independent() {
+        final ModelErrors errors = new ModelErrors();
+        errors.addError("a", "a");
+        final ModelErrors copy = errors.copy();
+        copy.addError("b", "b");
+        assertEquals(1, (int) errors.size());
+        assertEquals(2, (int) copy.size());
+        assertEquals("b", copy.get(1).getFieldName());
+    }
+
+    @Test
+    public void addError_concurrently() throws Exception {
+        final ModelErrors errors = new ModelErrors();
+        final int threads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++)
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 1000; i++)
+                        errors.addError("items[" + i + "]", "is invalid");
+                    return null;
+                }));
+            start.countDown();
+            for (final Future<?> future : futures)
+                future.get();
+        }
+        finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1000, (int) errors.size());
+        assertEquals("items[0]", errors.get(0).getFieldName());
+        assertEquals("items[9]", errors.get(999).getFieldName());
+    }
+}
@@ -1,9 +1,13 @@
 package boxfish.commons.web.model.validation;
 
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
@@ -49,6 +53,24 @@ public class ModelValidatorTest {
         assertTrue(validator.isValid());
     }
 
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void isValid_withoutMessages() {
+        final Validator rule = mock(Validator.class);
+        when(rule.accepts(Integer.class)).thenReturn(true);
+        when(rule.isValid(model, 35)).thenReturn(false);
+        when(value.getValueClass()).thenReturn((Class) Integer.class);
+        when(value.asOriginal()).thenReturn(35);
+        when(model.containsKey("field_name")).thenReturn(true);
+        when(model.get("field_name")).thenReturn(value);
+        rules.put("field_name", asList(rule, rule));
+
+        validator = new ModelValidator(model, requireds, rules, childreenRules);
+        assertFalse(validator.isValid());
+        verify(rule, times(1)).isValid(model, 35);
+        verify(rule, never()).errorMessage();
+    }
+
     @Test
     public void validate() throws Exception {
         final String field = "field_name";
@@ -66,4 +88,22 @@ public class ModelValidatorTest {
         assertEquals(0, errors.size().intValue());
     }
 
+    @Test
+    public void validate_cached() {
+        final String field = "field_name";
+
+        requireds.add(field);
+        final ValidationCache cache = new ValidationCache();
+        validator = new ModelValidator(model, requireds, rules, childreenRules);
+        assertEquals(1, validator.validate(cache).size().intValue());
+
+        when(value.asOriginal()).thenReturn(35);
+        when(model.containsKey(field)).thenReturn(true);
+        when(model.get(field)).thenReturn(value);
+        assertFalse(validator.isValid(cache));
+
+        cache.changed(field);
+        assertTrue(validator.isValid(cache));
+        assertEquals(0, validator.validate(cache).size().intValue());
+    }
 }
@@ -0,0 +1,54 @@
+package boxfish.commons.web.model.validation;
+
+import static boxfish.commons.web.model.validation.ParallelValidation.parallelAbove;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+public class ParallelValidationTest {
+
+    @Test
+    public void parallelAbove_commonPool() {
+        final ParallelValidation parallel = parallelAbove(100);
+        assertEquals(100, parallel.getThreshold());
+        assertSame(ForkJoinPool.commonPool(), parallel.getExecutor());
+    }
+
+    @Test
+    public void on() {
+        final Executor executor = Runnable::run;
+        final ParallelValidation parallel = parallelAbove(100).on(executor);
+        assertEquals(100, parallel.getThreshold());
+        assertSame(executor, parallel.getExecutor());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parallelAbove_zero() {
+        parallelAbove(0);
+    }
+
+    @Test
+    public void appliesTo() {
+        assertFalse(parallelAbove(100).appliesTo(99));
+        assertTrue(parallelAbove(100).appliesTo(100));
+    }
+
+    @Test
+    public void chunkSizeOf() {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            final ParallelValidation parallel = parallelAbove(1).on(pool);
+            assertEquals(256, parallel.chunkSizeOf(1000));
+            assertEquals(6250, parallel.chunkSizeOf(50000));
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package boxfish.commons.web.model.validation;
+
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import boxfish.commons.web.model.validation.ValidationCache.Outcome;
+
+public class ValidationCacheTest {
+    private ValidationCache cache;
+
+    @Before
+    public void setup() {
+        cache = new ValidationCache();
+    }
+
+    @Test
+    public void recording() {
+        cache.read("ignored");
+        cache.startRecording("a");
+        cache.read("b");
+        cache.stopRecording();
+        final Set<String> reads = cache.getRecorded();
+        assertEquals(2, reads.size());
+        assertTrue(reads.contains("a"));
+        assertTrue(reads.contains("b"));
+    }
+
+    @Test
+    public void recording_all() {
+        cache.startRecording("a");
+        cache.readAll();
+        cache.stopRecording();
+        assertNull(cache.getRecorded());
+    }
+
+    @Test
+    public void changed() {
+        remember("a", "a", "b");
+        remember("c", "c");
+        cache.setErrors(new ModelErrors());
+
+        cache.changed("b");
+        assertNull(cache.getRules().get("a"));
+        assertNotNull(cache.getRules().get("c"));
+        assertNull(cache.getErrors());
+    }
+
+    @Test
+    public void changed_unrelated() {
+        remember("a", "a");
+        cache.setErrors(new ModelErrors());
+
+        cache.changed("z");
+        assertNotNull(cache.getRules().get("a"));
+        assertNotNull(cache.getErrors());
+    }
+
+    @Test
+    public void changedAll() {
+        remember("a", "a");
+        cache.setErrors(new ModelErrors());
+
+        cache.changedAll();
+        assertTrue(cache.getRules().isEmpty());
+        assertNull(cache.getErrors());
+    }
+
+    private void remember(final String field, final String... dependencies) {
+        final Set<String> reads = new HashSet<>();
+        for (final String dependency : dependencies)
+            reads.add(dependency);
+        cache.remember(new Outcome(cache.getRules(), field, emptyList(), reads));
+    }
+}